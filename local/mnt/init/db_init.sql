@@ -6,43 +6,57 @@ CREATE TABLE IF NOT EXISTS releases
     version           VARCHAR,
     release_timestamp TIMESTAMP,
     id                BIGINT GENERATED ALWAYS AS IDENTITY UNIQUE,
+    -- optional information
+    release_name      VARCHAR,
+    description       VARCHAR,
+    changes           VARCHAR,
+    responsibility    VARCHAR,
+    build_location    VARCHAR,
+    -- stamped by the next_release_revision trigger
+    revision          BIGINT,
+    revision_xid      XID8,
 
     PRIMARY KEY (application, environment, version, release_timestamp)
 );
 CREATE INDEX IF NOT EXISTS application_idx ON releases (application);
 CREATE INDEX IF NOT EXISTS version_idx ON releases (version);
+-- keyset pagination indexes, ordered by (release_timestamp, id)
+CREATE INDEX IF NOT EXISTS release_timestamp_id_idx ON releases (release_timestamp, id);
+CREATE INDEX IF NOT EXISTS application_release_timestamp_id_idx ON releases (application, release_timestamp, id);
+CREATE INDEX IF NOT EXISTS application_environment_release_timestamp_id_idx
+    ON releases (application, environment, release_timestamp, id);
+-- versions of an application across environments, within an environment the primary key is used
+CREATE INDEX IF NOT EXISTS application_version_release_timestamp_id_idx
+    ON releases (application, version, release_timestamp, id);
 
--- release names table
-CREATE TABLE IF NOT EXISTS release_names
-(
-    release_id BIGINT references releases (id) UNIQUE,
-    name       VARCHAR
-);
-
--- descriptions table
-CREATE TABLE IF NOT EXISTS descriptions
-(
-    release_id  BIGINT references releases (id) UNIQUE,
-    description VARCHAR
-);
+-- revisions of inserted and updated releases and the transactions that wrote them, read model snapshots replay the
+-- releases written since the oldest transaction that was running when they were taken
+CREATE SEQUENCE IF NOT EXISTS release_revisions;
+CREATE INDEX IF NOT EXISTS revision_xid_idx ON releases (revision_xid);
+CREATE OR REPLACE FUNCTION next_release_revision() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.revision := nextval('release_revisions');
+    NEW.revision_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+CREATE OR REPLACE TRIGGER next_release_revision BEFORE INSERT OR UPDATE ON releases
+    FOR EACH ROW EXECUTE FUNCTION next_release_revision();
 
--- changes table
-CREATE TABLE IF NOT EXISTS changes
+-- current release projections, kept by the insert paths, rebuild with migration/rebuild_current_releases.sql
+CREATE TABLE IF NOT EXISTS current_releases
 (
-    release_id BIGINT references releases (id) UNIQUE,
-    changes    VARCHAR
-);
+    application       VARCHAR,
+    environment       VARCHAR,
+    release_timestamp TIMESTAMP NOT NULL,
+    release_id        BIGINT references releases (id) NOT NULL,
 
--- responsibility table
-CREATE TABLE IF NOT EXISTS responsibility
-(
-    release_id     BIGINT references releases (id) UNIQUE,
-    responsibility VARCHAR
+    PRIMARY KEY (application, environment)
 );
-
--- build location table
-CREATE TABLE IF NOT EXISTS build_location
+CREATE TABLE IF NOT EXISTS current_application_releases
 (
-    release_id     BIGINT references releases (id) UNIQUE,
-    build_location VARCHAR
+    application       VARCHAR PRIMARY KEY,
+    release_timestamp TIMESTAMP NOT NULL,
+    release_id        BIGINT references releases (id) NOT NULL
 );
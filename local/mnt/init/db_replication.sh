@@ -0,0 +1,4 @@
+#!/usr/bin/env bash
+# Allow streaming replication connections for the optional local replica (see composefile profile "replica")
+set -euo pipefail
+echo "host replication all all scram-sha-256" >> "${PGDATA}/pg_hba.conf"
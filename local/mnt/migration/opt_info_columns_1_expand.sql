@@ -0,0 +1,87 @@
+-- Move the optional information tables into columns of releases, step 1 of 3: expand
+-- Adds the columns and mirrors writes between them and the tables until step 3, in both directions: older
+-- application versions keep reading the tables during the rolling deploy and a rollback loses no write
+-- Adding nullable columns without default only changes the catalog, releases is not rewritten
+BEGIN;
+
+ALTER TABLE releases
+    ADD COLUMN IF NOT EXISTS release_name   VARCHAR,
+    ADD COLUMN IF NOT EXISTS description    VARCHAR,
+    ADD COLUMN IF NOT EXISTS changes        VARCHAR,
+    ADD COLUMN IF NOT EXISTS responsibility VARCHAR,
+    ADD COLUMN IF NOT EXISTS build_location VARCHAR;
+
+-- Tables to columns, for writes of older application versions
+-- TG_ARGV: column of releases, column of the optional information table
+CREATE OR REPLACE FUNCTION mirror_opt_info() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        EXECUTE format('UPDATE releases SET %I = NULL WHERE id = $1', TG_ARGV[0]) USING OLD.release_id;
+        RETURN OLD;
+    END IF;
+    EXECUTE format('UPDATE releases SET %I = $1.%I WHERE id = $1.release_id', TG_ARGV[0], TG_ARGV[1]) USING NEW;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS mirror_opt_info ON release_names;
+CREATE TRIGGER mirror_opt_info AFTER INSERT OR UPDATE OR DELETE ON release_names
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0) EXECUTE FUNCTION mirror_opt_info('release_name', 'name');
+DROP TRIGGER IF EXISTS mirror_opt_info ON descriptions;
+CREATE TRIGGER mirror_opt_info AFTER INSERT OR UPDATE OR DELETE ON descriptions
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0) EXECUTE FUNCTION mirror_opt_info('description', 'description');
+DROP TRIGGER IF EXISTS mirror_opt_info ON changes;
+CREATE TRIGGER mirror_opt_info AFTER INSERT OR UPDATE OR DELETE ON changes
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0) EXECUTE FUNCTION mirror_opt_info('changes', 'changes');
+DROP TRIGGER IF EXISTS mirror_opt_info ON responsibility;
+CREATE TRIGGER mirror_opt_info AFTER INSERT OR UPDATE OR DELETE ON responsibility
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0) EXECUTE FUNCTION mirror_opt_info('responsibility', 'responsibility');
+DROP TRIGGER IF EXISTS mirror_opt_info ON build_location;
+CREATE TRIGGER mirror_opt_info AFTER INSERT OR UPDATE OR DELETE ON build_location
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0) EXECUTE FUNCTION mirror_opt_info('build_location', 'build_location');
+
+-- Columns to tables, for writes of the application version reading the columns
+-- Both directions only fire for statements of the application, a mirrored write is never mirrored back
+-- TG_ARGV: column of releases, optional information table, column of the optional information table
+CREATE OR REPLACE FUNCTION mirror_opt_info_column() RETURNS TRIGGER AS
+$$
+DECLARE
+    value VARCHAR := to_jsonb(NEW) ->> TG_ARGV[0];
+BEGIN
+    IF TG_OP = 'UPDATE' AND value IS NOT DISTINCT FROM to_jsonb(OLD) ->> TG_ARGV[0] THEN
+        RETURN NULL;
+    END IF;
+    IF value IS NULL THEN
+        EXECUTE format('DELETE FROM %I WHERE release_id = $1', TG_ARGV[1]) USING NEW.id;
+        RETURN NULL;
+    END IF;
+    EXECUTE format('INSERT INTO %1$I (release_id, %2$I) VALUES ($1, $2) ON CONFLICT (release_id) '
+                       || 'DO UPDATE SET %2$I = EXCLUDED.%2$I WHERE %1$I.%2$I IS DISTINCT FROM EXCLUDED.%2$I',
+                   TG_ARGV[1], TG_ARGV[2]) USING NEW.id, value;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS mirror_release_name ON releases;
+CREATE TRIGGER mirror_release_name AFTER INSERT OR UPDATE OF release_name ON releases
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0)
+    EXECUTE FUNCTION mirror_opt_info_column('release_name', 'release_names', 'name');
+DROP TRIGGER IF EXISTS mirror_description ON releases;
+CREATE TRIGGER mirror_description AFTER INSERT OR UPDATE OF description ON releases
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0)
+    EXECUTE FUNCTION mirror_opt_info_column('description', 'descriptions', 'description');
+DROP TRIGGER IF EXISTS mirror_changes ON releases;
+CREATE TRIGGER mirror_changes AFTER INSERT OR UPDATE OF changes ON releases
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0)
+    EXECUTE FUNCTION mirror_opt_info_column('changes', 'changes', 'changes');
+DROP TRIGGER IF EXISTS mirror_responsibility ON releases;
+CREATE TRIGGER mirror_responsibility AFTER INSERT OR UPDATE OF responsibility ON releases
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0)
+    EXECUTE FUNCTION mirror_opt_info_column('responsibility', 'responsibility', 'responsibility');
+DROP TRIGGER IF EXISTS mirror_build_location ON releases;
+CREATE TRIGGER mirror_build_location AFTER INSERT OR UPDATE OF build_location ON releases
+    FOR EACH ROW WHEN (pg_trigger_depth() = 0)
+    EXECUTE FUNCTION mirror_opt_info_column('build_location', 'build_location', 'build_location');
+
+COMMIT;
@@ -0,0 +1,43 @@
+-- Move the optional information tables into columns of releases, step 2 of 3: backfill
+-- Copies existing values in id ranges, each range is its own short transaction to keep locks and WAL bursts small
+-- Values already set by the mirror triggers are newer and kept, running it again only fills what is still missing
+-- Copied values are mirrored back into the tables, where they are already present and left unchanged
+-- Has to be run outside of a transaction block; deploy the application version reading the columns afterwards
+CREATE OR REPLACE PROCEDURE backfill_opt_info(batch_size BIGINT DEFAULT 10000)
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    last_id BIGINT := 0;
+    max_id  BIGINT;
+BEGIN
+    SELECT COALESCE(MAX(id), 0) INTO max_id FROM releases;
+    WHILE last_id < max_id
+        LOOP
+            UPDATE releases r
+            SET release_name   = COALESCE(r.release_name, rn.name),
+                description    = COALESCE(r.description, d.description),
+                changes        = COALESCE(r.changes, c.changes),
+                responsibility = COALESCE(r.responsibility, rs.responsibility),
+                build_location = COALESCE(r.build_location, bl.build_location)
+            FROM releases b
+                     LEFT JOIN release_names rn ON b.id = rn.release_id
+                     LEFT JOIN descriptions d ON b.id = d.release_id
+                     LEFT JOIN changes c ON b.id = c.release_id
+                     LEFT JOIN responsibility rs ON b.id = rs.release_id
+                     LEFT JOIN build_location bl ON b.id = bl.release_id
+            WHERE r.id = b.id
+              AND b.id > last_id
+              AND b.id <= last_id + batch_size
+              AND ((r.release_name IS NULL AND rn.name IS NOT NULL)
+                OR (r.description IS NULL AND d.description IS NOT NULL)
+                OR (r.changes IS NULL AND c.changes IS NOT NULL)
+                OR (r.responsibility IS NULL AND rs.responsibility IS NOT NULL)
+                OR (r.build_location IS NULL AND bl.build_location IS NOT NULL));
+            last_id := last_id + batch_size;
+            COMMIT;
+        END LOOP;
+END;
+$$;
+
+CALL backfill_opt_info();
+DROP PROCEDURE backfill_opt_info(BIGINT);
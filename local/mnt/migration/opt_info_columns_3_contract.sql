@@ -0,0 +1,15 @@
+-- Move the optional information tables into columns of releases, step 3 of 3: contract
+-- Only run once no instance of an application version writing the optional information tables is left
+-- Rolling back to such a version afterwards is no longer possible
+BEGIN;
+
+DROP TRIGGER IF EXISTS mirror_release_name ON releases;
+DROP TRIGGER IF EXISTS mirror_description ON releases;
+DROP TRIGGER IF EXISTS mirror_changes ON releases;
+DROP TRIGGER IF EXISTS mirror_responsibility ON releases;
+DROP TRIGGER IF EXISTS mirror_build_location ON releases;
+DROP FUNCTION IF EXISTS mirror_opt_info_column();
+DROP TABLE IF EXISTS release_names, descriptions, changes, responsibility, build_location;
+DROP FUNCTION IF EXISTS mirror_opt_info();
+
+COMMIT;
@@ -0,0 +1,39 @@
+-- Rebuild the current release projections from all releases
+-- Safe to run repeatedly and next to running applications, a projection row is only replaced by a later release
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS current_releases
+(
+    application       VARCHAR,
+    environment       VARCHAR,
+    release_timestamp TIMESTAMP NOT NULL,
+    release_id        BIGINT references releases (id) NOT NULL,
+
+    PRIMARY KEY (application, environment)
+);
+CREATE TABLE IF NOT EXISTS current_application_releases
+(
+    application       VARCHAR PRIMARY KEY,
+    release_timestamp TIMESTAMP NOT NULL,
+    release_id        BIGINT references releases (id) NOT NULL
+);
+
+INSERT INTO current_releases(application, environment, release_timestamp, release_id)
+SELECT DISTINCT ON (application, environment) application, environment, release_timestamp, id
+FROM releases
+ORDER BY application, environment, release_timestamp DESC, id DESC
+ON CONFLICT (application, environment) DO UPDATE
+SET release_timestamp = EXCLUDED.release_timestamp, release_id = EXCLUDED.release_id
+WHERE (current_releases.release_timestamp, current_releases.release_id)
+    < (EXCLUDED.release_timestamp, EXCLUDED.release_id);
+
+INSERT INTO current_application_releases(application, release_timestamp, release_id)
+SELECT DISTINCT ON (application) application, release_timestamp, id
+FROM releases
+ORDER BY application, release_timestamp DESC, id DESC
+ON CONFLICT (application) DO UPDATE
+SET release_timestamp = EXCLUDED.release_timestamp, release_id = EXCLUDED.release_id
+WHERE (current_application_releases.release_timestamp, current_application_releases.release_id)
+    < (EXCLUDED.release_timestamp, EXCLUDED.release_id);
+
+COMMIT;
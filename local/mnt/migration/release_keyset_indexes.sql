@@ -0,0 +1,7 @@
+-- Keyset pagination of the list endpoints, ordered by (release_timestamp, id) in both directions
+-- Outside of a transaction, building the indexes does not block writes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS release_timestamp_id_idx ON releases (release_timestamp, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS application_release_timestamp_id_idx
+    ON releases (application, release_timestamp, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS application_environment_release_timestamp_id_idx
+    ON releases (application, environment, release_timestamp, id);
@@ -0,0 +1,22 @@
+-- Stamp the writing transaction next to the revision, read model snapshots replay the releases written since the
+-- oldest transaction that was running when they were taken instead of waiting for every writer on an advisory lock
+-- Existing releases keep a NULL transaction, they are committed before any read model is loaded by the new version
+-- Adding a nullable column without default only changes the catalog, releases is not rewritten
+BEGIN;
+
+ALTER TABLE releases ADD COLUMN IF NOT EXISTS revision_xid XID8;
+
+CREATE OR REPLACE FUNCTION next_release_revision() RETURNS TRIGGER AS
+$$
+BEGIN
+    NEW.revision := nextval('release_revisions');
+    NEW.revision_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMIT;
+
+-- Outside of the transaction, building and dropping the indexes does not block writes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS revision_xid_idx ON releases (revision_xid);
+DROP INDEX CONCURRENTLY IF EXISTS revision_idx;
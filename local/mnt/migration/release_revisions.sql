@@ -0,0 +1,26 @@
+-- Track a revision for every inserted and updated release, read model snapshots replay the releases after theirs
+-- Existing releases keep a NULL revision, they are part of every snapshot written after this migration
+-- Adding a nullable column without default only changes the catalog, releases is not rewritten
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS release_revisions;
+ALTER TABLE releases ADD COLUMN IF NOT EXISTS revision BIGINT;
+
+-- Writers hold the advisory lock shared until commit, the exclusive lock waits until no revision is uncommitted
+CREATE OR REPLACE FUNCTION next_release_revision() RETURNS TRIGGER AS
+$$
+BEGIN
+    PERFORM pg_advisory_xact_lock_shared(hashtext('release_revisions'));
+    NEW.revision := nextval('release_revisions');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS next_release_revision ON releases;
+CREATE TRIGGER next_release_revision BEFORE INSERT OR UPDATE ON releases
+    FOR EACH ROW EXECUTE FUNCTION next_release_revision();
+
+COMMIT;
+
+-- Outside of the transaction, building the index does not block writes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS revision_idx ON releases (revision);
@@ -0,0 +1,4 @@
+-- Range scans of the releases of an application version across environments, used by the version list filter
+-- Outside of a transaction, building the index does not block writes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS application_version_release_timestamp_id_idx
+    ON releases (application, version, release_timestamp, id);
@@ -30,12 +30,15 @@ public class ReleaseTrackerApplication implements AutoCloseable {
         Runtime.getRuntime().addShutdownHook(Thread.ofVirtual().unstarted(this::onShutdown));
         WebServer.builder()
                 .port(port)
-                .routing(routing -> routing.get("/", (req, res) -> res.send("Release Tracker"))
+                .routing(routing -> routing.addFilter(httpServices.readConsistencyFilter)
+                        .get("/", (req, res) -> res.send("Release Tracker"))
                         .get("/health", (req, res) -> res.send("OK"))
                         .register("/v1/release", httpServices.releaseHttpServiceV1)
                         .register("/v1/current", httpServices.currentHttpServiceV1)
                         .register("/v1/information", httpServices.releaseOptInfoHttpServiceV1)
-                        .register("/v1/util", httpServices.utilHttpServiceV1))
+                        .register("/v1/util", httpServices.utilHttpServiceV1)
+                        .register("/v1/metrics", httpServices.metricsHttpServiceV1)
+                        .register("/v1/stream", httpServices.streamHttpServiceV1))
                 .build()
                 .start();
         shutdownLatch.await();
@@ -2,7 +2,13 @@ package de.iu.bniebes.application;
 
 import static de.iu.bniebes.constant.GlobalConstants.*;
 
+import de.iu.bniebes.configuration.CacheConfiguration;
+import de.iu.bniebes.configuration.CompressionConfiguration;
 import de.iu.bniebes.configuration.DBConfiguration;
+import de.iu.bniebes.configuration.ListCacheConfiguration;
+import de.iu.bniebes.configuration.ReadModelConfiguration;
+import de.iu.bniebes.configuration.ReleaseIdCacheConfiguration;
+import de.iu.bniebes.configuration.StreamConfiguration;
 import de.iu.bniebes.configuration.WebServerConfiguration;
 import lombok.extern.slf4j.Slf4j;
 
@@ -10,7 +16,13 @@ import lombok.extern.slf4j.Slf4j;
 public class Configuration {
 
     public final WebServerConfiguration webServerConfiguration;
+    public final CompressionConfiguration compressionConfiguration;
     public final DBConfiguration dbConfiguration;
+    public final CacheConfiguration cacheConfiguration;
+    public final ListCacheConfiguration listCacheConfiguration;
+    public final ReleaseIdCacheConfiguration releaseIdCacheConfiguration;
+    public final ReadModelConfiguration readModelConfiguration;
+    public final StreamConfiguration streamConfiguration;
 
     public Configuration(final EnvironmentAccessor environmentAccessor) {
         log.atInfo()
@@ -18,6 +30,12 @@ public class Configuration {
                 .setMessage("Load configuration")
                 .log();
         this.webServerConfiguration = WebServerConfiguration.from(environmentAccessor);
+        this.compressionConfiguration = CompressionConfiguration.from(environmentAccessor);
         this.dbConfiguration = DBConfiguration.from(environmentAccessor);
+        this.cacheConfiguration = CacheConfiguration.from(environmentAccessor);
+        this.listCacheConfiguration = ListCacheConfiguration.from(environmentAccessor);
+        this.releaseIdCacheConfiguration = ReleaseIdCacheConfiguration.from(environmentAccessor);
+        this.readModelConfiguration = ReadModelConfiguration.from(environmentAccessor);
+        this.streamConfiguration = StreamConfiguration.from(environmentAccessor);
     }
 }
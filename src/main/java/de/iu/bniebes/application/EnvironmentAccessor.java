@@ -58,6 +58,12 @@ public class EnvironmentAccessor {
         }
     }
 
+    public static boolean mapToBoolean(final String entry) {
+        if ("true".equalsIgnoreCase(entry)) return true;
+        if ("false".equalsIgnoreCase(entry)) return false;
+        throw new IllegalStateException("Can not convert %s to boolean".formatted(entry));
+    }
+
     public String loadSecret(final String pathEnvKey, final String defaultPath)
             throws IllegalArgumentException, IllegalStateException {
         final var path = Path.of(getOrDefault(pathEnvKey, defaultPath));
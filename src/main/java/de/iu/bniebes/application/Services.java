@@ -3,12 +3,31 @@ package de.iu.bniebes.application;
 import static de.iu.bniebes.constant.GlobalConstants.*;
 
 import de.iu.bniebes.service.external.db.DBClientService;
+import de.iu.bniebes.service.external.db.ReleaseChangeDBService;
 import de.iu.bniebes.service.external.db.ReleaseDBService;
+import de.iu.bniebes.service.external.db.ReleaseExportDBService;
+import de.iu.bniebes.service.external.db.ReleaseImportDBService;
 import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
+import de.iu.bniebes.service.internal.CacheInvalidationService;
+import de.iu.bniebes.service.internal.CompressionService;
+import de.iu.bniebes.service.internal.CurrentReleaseCacheService;
 import de.iu.bniebes.service.internal.InputSanitizationService;
+import de.iu.bniebes.service.internal.MetricsService;
+import de.iu.bniebes.service.internal.ReadConsistencyService;
 import de.iu.bniebes.service.internal.ReleaseAccessService;
 import de.iu.bniebes.service.internal.ReleaseCreationService;
+import de.iu.bniebes.service.internal.ReleaseETagService;
+import de.iu.bniebes.service.internal.ReleaseEventService;
+import de.iu.bniebes.service.internal.ReleaseExportService;
+import de.iu.bniebes.service.internal.ReleaseIdCacheService;
+import de.iu.bniebes.service.internal.ReleaseImportService;
+import de.iu.bniebes.service.internal.ReleaseListCacheService;
+import de.iu.bniebes.service.internal.ReleaseMultiGetService;
 import de.iu.bniebes.service.internal.ReleaseOptInfoService;
+import de.iu.bniebes.service.internal.ReleaseReadModelService;
+import de.iu.bniebes.service.internal.ReleaseSnapshotService;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import java.nio.file.Path;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -16,28 +35,116 @@ public class Services implements AutoCloseable {
 
     public final DBClientService dbClientService;
 
+    public final StringDictionaryService stringDictionaryService;
     public final ReleaseDBService releaseDBService;
+    public final ReleaseDBService readReleaseDBService;
     public final ReleaseOptInfoDBService releaseOptInfoDBService;
+    public final ReleaseImportDBService releaseImportDBService;
+    public final ReleaseExportDBService releaseExportDBService;
+    public final ReleaseChangeDBService releaseChangeDBService;
+    public final CurrentReleaseCacheService currentReleaseCacheService;
+    public final ReleaseListCacheService releaseListCacheService;
+    public final ReleaseReadModelService releaseReadModelService;
+    public final ReleaseETagService releaseETagService;
+    public final ReleaseEventService releaseEventService;
+    public final CacheInvalidationService cacheInvalidationService;
+    public final ReleaseIdCacheService releaseIdCacheService;
+    public final CompressionService compressionService;
     public final InputSanitizationService inputSanitizationService;
     public final ReleaseCreationService releaseCreationService;
     public final ReleaseAccessService releaseAccessService;
+    public final ReleaseMultiGetService releaseMultiGetService;
     public final ReleaseOptInfoService releaseOptInfoService;
+    public final MetricsService metricsService;
+    public final ReadConsistencyService readConsistencyService;
+    public final ReleaseImportService releaseImportService;
+    public final ReleaseExportService releaseExportService;
 
     public Services(final Configuration configuration) {
         log.atInfo().addMarker(Markers.APPLICATION).setMessage("Set-Up").log();
         this.dbClientService = new DBClientService(configuration.dbConfiguration);
 
-        this.releaseDBService = new ReleaseDBService(dbClientService.jdbi);
-        this.releaseOptInfoDBService = new ReleaseOptInfoDBService(dbClientService.jdbi);
+        this.stringDictionaryService = new StringDictionaryService();
+        this.releaseDBService = new ReleaseDBService(dbClientService.jdbi, stringDictionaryService);
+        this.readReleaseDBService = new ReleaseDBService(dbClientService.readJdbi, stringDictionaryService);
+        this.releaseOptInfoDBService = new ReleaseOptInfoDBService(dbClientService.jdbi, stringDictionaryService);
+        this.releaseImportDBService = new ReleaseImportDBService(dbClientService.jdbi);
+        this.releaseExportDBService = new ReleaseExportDBService(dbClientService.readJdbi);
+        this.releaseChangeDBService = new ReleaseChangeDBService(dbClientService.jdbi);
+        this.currentReleaseCacheService = new CurrentReleaseCacheService(configuration.cacheConfiguration);
+        this.releaseListCacheService = new ReleaseListCacheService(configuration.listCacheConfiguration);
+        // Loads from the primary, replica lag must not leave changes missing once the listener resyncs
+        this.releaseReadModelService = new ReleaseReadModelService(
+                configuration.readModelConfiguration,
+                releaseDBService,
+                readReleaseDBService,
+                new ReleaseSnapshotService(
+                        Path.of(configuration.readModelConfiguration.snapshotPath()), stringDictionaryService));
+        this.releaseETagService = new ReleaseETagService();
+        this.releaseEventService = new ReleaseEventService(configuration.streamConfiguration);
+        this.cacheInvalidationService = new CacheInvalidationService(
+                currentReleaseCacheService,
+                releaseListCacheService,
+                releaseReadModelService,
+                releaseChangeDBService,
+                releaseEventService);
+        dbClientService.listen(
+                ReleaseChangeDBService.CHANNEL,
+                cacheInvalidationService::onReleaseChange,
+                cacheInvalidationService::resync);
+        this.releaseIdCacheService = new ReleaseIdCacheService(configuration.releaseIdCacheConfiguration);
+        this.compressionService = new CompressionService(configuration.compressionConfiguration);
         this.inputSanitizationService = new InputSanitizationService();
-        this.releaseCreationService =
-                new ReleaseCreationService(releaseDBService, releaseOptInfoDBService, inputSanitizationService);
-        this.releaseAccessService = new ReleaseAccessService(releaseDBService, releaseOptInfoDBService);
-        this.releaseOptInfoService = new ReleaseOptInfoService(releaseDBService, releaseOptInfoDBService);
+        this.releaseCreationService = new ReleaseCreationService(
+                releaseDBService,
+                releaseOptInfoDBService,
+                inputSanitizationService,
+                cacheInvalidationService,
+                releaseIdCacheService,
+                releaseReadModelService,
+                releaseEventService);
+        final var releaseReader =
+                configuration.readModelConfiguration.enabled() ? releaseReadModelService : readReleaseDBService;
+        // Cached responses live until the next change, they are refilled from the primary like the read model
+        final var cacheReleaseReader =
+                configuration.readModelConfiguration.enabled() ? releaseReadModelService : releaseDBService;
+        this.releaseAccessService = new ReleaseAccessService(
+                releaseReader,
+                cacheReleaseReader,
+                currentReleaseCacheService,
+                releaseListCacheService,
+                releaseIdCacheService,
+                compressionService,
+                releaseETagService);
+        this.releaseMultiGetService = new ReleaseMultiGetService(releaseReader, inputSanitizationService);
+        this.releaseOptInfoService = new ReleaseOptInfoService(
+                releaseDBService,
+                releaseOptInfoDBService,
+                cacheInvalidationService,
+                releaseIdCacheService,
+                releaseReadModelService,
+                releaseEventService);
+        this.metricsService = new MetricsService(
+                dbClientService,
+                currentReleaseCacheService,
+                releaseListCacheService,
+                releaseIdCacheService,
+                releaseReadModelService,
+                compressionService,
+                releaseEventService);
+        this.readConsistencyService = new ReadConsistencyService(dbClientService);
+        this.releaseImportService =
+                new ReleaseImportService(releaseImportDBService, inputSanitizationService, cacheInvalidationService);
+        this.releaseExportService = new ReleaseExportService(releaseExportDBService);
     }
 
     @Override
     public void close() throws Exception {
+        // Ends the open streams first, they must not outlive the services their events come from
+        releaseEventService.close();
+        currentReleaseCacheService.close();
+        cacheInvalidationService.close();
+        releaseReadModelService.close();
         dbClientService.close();
     }
 }
@@ -0,0 +1,32 @@
+package de.iu.bniebes.configuration;
+
+import de.iu.bniebes.application.EnvironmentAccessor;
+
+public record CacheConfiguration(int maximumSize, long ttlMillis, long refreshAheadMillis, long staleMillis) {
+
+    private static final String COMMON_PREFIX = "cache.current.";
+
+    public static final String KEY_MAXIMUM_SIZE = COMMON_PREFIX + "maximum-size";
+    public static final String KEY_TTL_MILLIS = COMMON_PREFIX + "ttl-ms";
+    public static final String KEY_REFRESH_AHEAD_MILLIS = COMMON_PREFIX + "refresh-ahead-ms";
+    public static final String KEY_STALE_MILLIS = COMMON_PREFIX + "stale-ms";
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final long DEFAULT_TTL_MILLIS = 5_000L;
+    public static final long DEFAULT_REFRESH_AHEAD_MILLIS = 1_000L;
+    public static final long DEFAULT_STALE_MILLIS = 30_000L;
+
+    public static CacheConfiguration from(final EnvironmentAccessor environmentAccessor) {
+        return new CacheConfiguration(
+                environmentAccessor.getOrDefault(KEY_MAXIMUM_SIZE, DEFAULT_MAXIMUM_SIZE, EnvironmentAccessor::mapToInt),
+                environmentAccessor.getOrDefault(KEY_TTL_MILLIS, DEFAULT_TTL_MILLIS, EnvironmentAccessor::mapToLong),
+                environmentAccessor.getOrDefault(
+                        KEY_REFRESH_AHEAD_MILLIS, DEFAULT_REFRESH_AHEAD_MILLIS, EnvironmentAccessor::mapToLong),
+                environmentAccessor.getOrDefault(
+                        KEY_STALE_MILLIS, DEFAULT_STALE_MILLIS, EnvironmentAccessor::mapToLong));
+    }
+
+    public boolean enabled() {
+        return maximumSize > 0 && ttlMillis > 0;
+    }
+}
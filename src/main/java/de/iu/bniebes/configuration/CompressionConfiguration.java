@@ -0,0 +1,21 @@
+package de.iu.bniebes.configuration;
+
+import de.iu.bniebes.application.EnvironmentAccessor;
+
+public record CompressionConfiguration(boolean enabled, int minimumBytes) {
+
+    private static final String COMMON_PREFIX = "webserver.compression.";
+
+    public static final String KEY_ENABLED = COMMON_PREFIX + "enabled";
+    public static final String KEY_MINIMUM_BYTES = COMMON_PREFIX + "minimum-bytes";
+
+    public static final boolean DEFAULT_ENABLED = true;
+    public static final int DEFAULT_MINIMUM_BYTES = 1024;
+
+    public static CompressionConfiguration from(final EnvironmentAccessor environmentAccessor) {
+        return new CompressionConfiguration(
+                environmentAccessor.getOrDefault(KEY_ENABLED, DEFAULT_ENABLED, EnvironmentAccessor::mapToBoolean),
+                environmentAccessor.getOrDefault(
+                        KEY_MINIMUM_BYTES, DEFAULT_MINIMUM_BYTES, EnvironmentAccessor::mapToInt));
+    }
+}
@@ -3,22 +3,42 @@ package de.iu.bniebes.configuration;
 import de.iu.bniebes.application.EnvironmentAccessor;
 import de.iu.bniebes.constant.GlobalConstants;
 
-public record DBConfiguration(String jdbcUrl, String user, String password) {
+public record DBConfiguration(
+        String jdbcUrl,
+        String replicaJdbcUrl,
+        long replicaRetryMillis,
+        String user,
+        String password,
+        DBPoolConfiguration pool) {
 
     private static final String COMMON_PREFIX = "db.jdbc.";
 
     public static final String KEY_DB_JDBC_URL = COMMON_PREFIX + "url";
-    public static final String KEY_DB_JDBC_USER = COMMON_PREFIX + "url";
+    public static final String KEY_DB_JDBC_REPLICA_URL = COMMON_PREFIX + "replica-url";
+    public static final String KEY_DB_JDBC_REPLICA_RETRY_MILLIS = COMMON_PREFIX + "replica-retry-ms";
+    public static final String KEY_DB_JDBC_USER = COMMON_PREFIX + "user";
     public static final String KEY_DB_JDBC_PASSWORD_PATH = COMMON_PREFIX + "password";
 
     public static final String DEFAULT_DB_JDBC_URL = "jdbc:postgresql://pgsql:5432/release_tracker";
+    public static final String DEFAULT_DB_JDBC_REPLICA_URL = "";
+    public static final long DEFAULT_DB_JDBC_REPLICA_RETRY_MILLIS = 10_000L;
     public static final String DEFAULT_DB_JDBC_USER = "release-tracker";
     public static final String DEFAULT_DB_JDBC_PASSWORD_PATH = GlobalConstants.Directories.SECRET + "/db_jdbc_password";
 
     public static DBConfiguration from(final EnvironmentAccessor environmentAccessor) {
         return new DBConfiguration(
                 environmentAccessor.getOrDefault(KEY_DB_JDBC_URL, DEFAULT_DB_JDBC_URL),
+                environmentAccessor.getOrDefault(KEY_DB_JDBC_REPLICA_URL, DEFAULT_DB_JDBC_REPLICA_URL),
+                environmentAccessor.getOrDefault(
+                        KEY_DB_JDBC_REPLICA_RETRY_MILLIS,
+                        DEFAULT_DB_JDBC_REPLICA_RETRY_MILLIS,
+                        EnvironmentAccessor::mapToLong),
                 environmentAccessor.getOrDefault(KEY_DB_JDBC_USER, DEFAULT_DB_JDBC_USER),
-                environmentAccessor.loadSecret(KEY_DB_JDBC_PASSWORD_PATH, DEFAULT_DB_JDBC_PASSWORD_PATH));
+                environmentAccessor.loadSecret(KEY_DB_JDBC_PASSWORD_PATH, DEFAULT_DB_JDBC_PASSWORD_PATH),
+                DBPoolConfiguration.from(environmentAccessor));
+    }
+
+    public boolean hasReplica() {
+        return !replicaJdbcUrl.isBlank();
     }
 }
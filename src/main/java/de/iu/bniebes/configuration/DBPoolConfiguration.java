@@ -0,0 +1,57 @@
+package de.iu.bniebes.configuration;
+
+import de.iu.bniebes.application.EnvironmentAccessor;
+
+public record DBPoolConfiguration(
+        int maximumPoolSize,
+        int minimumIdle,
+        long connectionTimeoutMillis,
+        long idleTimeoutMillis,
+        long maxLifetimeMillis,
+        long leakDetectionThresholdMillis,
+        int prepareThreshold,
+        int defaultRowFetchSize) {
+
+    private static final String COMMON_PREFIX = "db.pool.";
+
+    public static final String KEY_MAXIMUM_POOL_SIZE = COMMON_PREFIX + "maximum-size";
+    public static final String KEY_MINIMUM_IDLE = COMMON_PREFIX + "minimum-idle";
+    public static final String KEY_CONNECTION_TIMEOUT_MILLIS = COMMON_PREFIX + "connection-timeout-ms";
+    public static final String KEY_IDLE_TIMEOUT_MILLIS = COMMON_PREFIX + "idle-timeout-ms";
+    public static final String KEY_MAX_LIFETIME_MILLIS = COMMON_PREFIX + "max-lifetime-ms";
+    public static final String KEY_LEAK_DETECTION_THRESHOLD_MILLIS = COMMON_PREFIX + "leak-detection-threshold-ms";
+    public static final String KEY_PREPARE_THRESHOLD = "db.jdbc.prepare-threshold";
+    public static final String KEY_DEFAULT_ROW_FETCH_SIZE = "db.jdbc.default-row-fetch-size";
+
+    public static final int DEFAULT_MAXIMUM_POOL_SIZE = 20;
+    public static final int DEFAULT_MINIMUM_IDLE = DEFAULT_MAXIMUM_POOL_SIZE;
+    public static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 5_000L;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000L;
+    public static final long DEFAULT_MAX_LIFETIME_MILLIS = 1_800_000L;
+    public static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS = 0L;
+    public static final int DEFAULT_PREPARE_THRESHOLD = 5;
+    public static final int DEFAULT_DEFAULT_ROW_FETCH_SIZE = 0;
+
+    public static DBPoolConfiguration from(final EnvironmentAccessor environmentAccessor) {
+        final var maximumPoolSize = environmentAccessor.getOrDefault(
+                KEY_MAXIMUM_POOL_SIZE, DEFAULT_MAXIMUM_POOL_SIZE, EnvironmentAccessor::mapToInt);
+        return new DBPoolConfiguration(
+                maximumPoolSize,
+                environmentAccessor.getOrDefault(
+                        KEY_MINIMUM_IDLE, Math.min(DEFAULT_MINIMUM_IDLE, maximumPoolSize), EnvironmentAccessor::mapToInt),
+                environmentAccessor.getOrDefault(
+                        KEY_CONNECTION_TIMEOUT_MILLIS, DEFAULT_CONNECTION_TIMEOUT_MILLIS, EnvironmentAccessor::mapToLong),
+                environmentAccessor.getOrDefault(
+                        KEY_IDLE_TIMEOUT_MILLIS, DEFAULT_IDLE_TIMEOUT_MILLIS, EnvironmentAccessor::mapToLong),
+                environmentAccessor.getOrDefault(
+                        KEY_MAX_LIFETIME_MILLIS, DEFAULT_MAX_LIFETIME_MILLIS, EnvironmentAccessor::mapToLong),
+                environmentAccessor.getOrDefault(
+                        KEY_LEAK_DETECTION_THRESHOLD_MILLIS,
+                        DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS,
+                        EnvironmentAccessor::mapToLong),
+                environmentAccessor.getOrDefault(
+                        KEY_PREPARE_THRESHOLD, DEFAULT_PREPARE_THRESHOLD, EnvironmentAccessor::mapToInt),
+                environmentAccessor.getOrDefault(
+                        KEY_DEFAULT_ROW_FETCH_SIZE, DEFAULT_DEFAULT_ROW_FETCH_SIZE, EnvironmentAccessor::mapToInt));
+    }
+}
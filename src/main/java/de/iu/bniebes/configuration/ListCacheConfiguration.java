@@ -0,0 +1,26 @@
+package de.iu.bniebes.configuration;
+
+import de.iu.bniebes.application.EnvironmentAccessor;
+
+public record ListCacheConfiguration(long maximumBytes, long maximumEntryBytes) {
+
+    private static final String COMMON_PREFIX = "cache.list.";
+
+    public static final String KEY_MAXIMUM_BYTES = COMMON_PREFIX + "maximum-bytes";
+    public static final String KEY_MAXIMUM_ENTRY_BYTES = COMMON_PREFIX + "maximum-entry-bytes";
+
+    public static final long DEFAULT_MAXIMUM_BYTES = 32L * 1024 * 1024;
+    public static final long DEFAULT_MAXIMUM_ENTRY_BYTES = 1024L * 1024;
+
+    public static ListCacheConfiguration from(final EnvironmentAccessor environmentAccessor) {
+        return new ListCacheConfiguration(
+                environmentAccessor.getOrDefault(
+                        KEY_MAXIMUM_BYTES, DEFAULT_MAXIMUM_BYTES, EnvironmentAccessor::mapToLong),
+                environmentAccessor.getOrDefault(
+                        KEY_MAXIMUM_ENTRY_BYTES, DEFAULT_MAXIMUM_ENTRY_BYTES, EnvironmentAccessor::mapToLong));
+    }
+
+    public boolean enabled() {
+        return maximumBytes > 0 && maximumEntryBytes > 0;
+    }
+}
@@ -0,0 +1,28 @@
+package de.iu.bniebes.configuration;
+
+import de.iu.bniebes.application.EnvironmentAccessor;
+
+public record ReadModelConfiguration(boolean enabled, String snapshotPath, long snapshotIntervalMillis) {
+
+    private static final String COMMON_PREFIX = "read-model.";
+
+    public static final String KEY_ENABLED = COMMON_PREFIX + "enabled";
+    public static final String KEY_SNAPSHOT_PATH = COMMON_PREFIX + "snapshot.path";
+    public static final String KEY_SNAPSHOT_INTERVAL_MILLIS = COMMON_PREFIX + "snapshot.interval-ms";
+
+    public static final boolean DEFAULT_ENABLED = false;
+    public static final String DEFAULT_SNAPSHOT_PATH = "/opt/release-tracker/data/read-model.snapshot";
+    public static final long DEFAULT_SNAPSHOT_INTERVAL_MILLIS = 300_000L;
+
+    public static ReadModelConfiguration from(final EnvironmentAccessor environmentAccessor) {
+        return new ReadModelConfiguration(
+                environmentAccessor.getOrDefault(KEY_ENABLED, DEFAULT_ENABLED, EnvironmentAccessor::mapToBoolean),
+                environmentAccessor.getOrDefault(KEY_SNAPSHOT_PATH, DEFAULT_SNAPSHOT_PATH),
+                environmentAccessor.getOrDefault(
+                        KEY_SNAPSHOT_INTERVAL_MILLIS, DEFAULT_SNAPSHOT_INTERVAL_MILLIS, EnvironmentAccessor::mapToLong));
+    }
+
+    public boolean snapshotEnabled() {
+        return enabled && !snapshotPath.isBlank() && snapshotIntervalMillis > 0;
+    }
+}
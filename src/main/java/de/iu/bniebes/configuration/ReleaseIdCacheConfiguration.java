@@ -0,0 +1,19 @@
+package de.iu.bniebes.configuration;
+
+import de.iu.bniebes.application.EnvironmentAccessor;
+
+public record ReleaseIdCacheConfiguration(int maximumSize) {
+
+    public static final String KEY_MAXIMUM_SIZE = "cache.release-id.maximum-size";
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 65_536;
+
+    public static ReleaseIdCacheConfiguration from(final EnvironmentAccessor environmentAccessor) {
+        return new ReleaseIdCacheConfiguration(environmentAccessor.getOrDefault(
+                KEY_MAXIMUM_SIZE, DEFAULT_MAXIMUM_SIZE, EnvironmentAccessor::mapToInt));
+    }
+
+    public boolean enabled() {
+        return maximumSize > 0;
+    }
+}
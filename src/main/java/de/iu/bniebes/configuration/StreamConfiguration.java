@@ -0,0 +1,25 @@
+package de.iu.bniebes.configuration;
+
+import de.iu.bniebes.application.EnvironmentAccessor;
+
+public record StreamConfiguration(int bufferSize, int maximumSubscribers, long heartbeatMillis) {
+
+    private static final String COMMON_PREFIX = "stream.";
+
+    public static final String KEY_BUFFER_SIZE = COMMON_PREFIX + "buffer-size";
+    public static final String KEY_MAXIMUM_SUBSCRIBERS = COMMON_PREFIX + "maximum-subscribers";
+    public static final String KEY_HEARTBEAT_MILLIS = COMMON_PREFIX + "heartbeat-ms";
+
+    public static final int DEFAULT_BUFFER_SIZE = 64;
+    public static final int DEFAULT_MAXIMUM_SUBSCRIBERS = 20_000;
+    public static final long DEFAULT_HEARTBEAT_MILLIS = 15_000L;
+
+    public static StreamConfiguration from(final EnvironmentAccessor environmentAccessor) {
+        return new StreamConfiguration(
+                environmentAccessor.getOrDefault(KEY_BUFFER_SIZE, DEFAULT_BUFFER_SIZE, EnvironmentAccessor::mapToInt),
+                environmentAccessor.getOrDefault(
+                        KEY_MAXIMUM_SUBSCRIBERS, DEFAULT_MAXIMUM_SUBSCRIBERS, EnvironmentAccessor::mapToInt),
+                environmentAccessor.getOrDefault(
+                        KEY_HEARTBEAT_MILLIS, DEFAULT_HEARTBEAT_MILLIS, EnvironmentAccessor::mapToLong));
+    }
+}
@@ -14,6 +14,10 @@ public class GlobalConstants {
         public static final Marker SERVICE = MarkerFactory.getMarker("service");
     }
 
+    public static class Headers {
+        public static final String LSN = "X-Release-Tracker-LSN";
+    }
+
     public static class Directories {
         public static final String SECRET = "/run/secrets";
     }
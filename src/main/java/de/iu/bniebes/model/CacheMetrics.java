@@ -0,0 +1,12 @@
+package de.iu.bniebes.model;
+
+public record CacheMetrics(
+        int size,
+        int maximumSize,
+        long hits,
+        long staleHits,
+        long misses,
+        long refreshes,
+        long invalidations,
+        long evictions,
+        long loadErrors) {}
@@ -0,0 +1,4 @@
+package de.iu.bniebes.model;
+
+public record CompressionMetrics(
+        long compressed, long uncompressedBytes, long compressedBytes, long compressionMicros, long streamed) {}
@@ -0,0 +1,11 @@
+package de.iu.bniebes.model;
+
+public record ListCacheMetrics(
+        int entries,
+        long bytes,
+        long maximumBytes,
+        long hits,
+        long misses,
+        long invalidations,
+        long evictions,
+        long oversized) {}
@@ -0,0 +1,13 @@
+package de.iu.bniebes.model;
+
+public record ReadModelMetrics(
+        boolean loaded,
+        long releases,
+        long applications,
+        long reads,
+        long fallbackReads,
+        long updates,
+        long reloads,
+        long reloadErrors,
+        long snapshots,
+        long snapshotErrors) {}
@@ -0,0 +1,3 @@
+package de.iu.bniebes.model;
+
+public record ReleaseIdCacheMetrics(int slots, long hits, long misses) {}
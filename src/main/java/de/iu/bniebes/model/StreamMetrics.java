@@ -0,0 +1,3 @@
+package de.iu.bniebes.model;
+
+public record StreamMetrics(long subscribers, long published, long delivered, long dropped, long rejected) {}
@@ -1,5 +1,3 @@
 package de.iu.bniebes.model.db;
 
-import java.math.BigInteger;
-
-public record BuildLocation(BigInteger id, String name) {}
+public record BuildLocation(long id, String name) {}
@@ -1,5 +1,3 @@
 package de.iu.bniebes.model.db;
 
-import java.math.BigInteger;
-
-public record Changes(BigInteger id, String changes) {}
+public record Changes(long id, String changes) {}
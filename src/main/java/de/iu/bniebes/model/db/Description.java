@@ -1,5 +1,3 @@
 package de.iu.bniebes.model.db;
 
-import java.math.BigInteger;
-
-public record Description(BigInteger id, String description) {}
+public record Description(long id, String description) {}
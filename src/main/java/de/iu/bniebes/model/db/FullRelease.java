@@ -1,10 +1,9 @@
 package de.iu.bniebes.model.db;
 
-import java.math.BigInteger;
 import java.time.Instant;
 
 public record FullRelease(
-        BigInteger id,
+        long id,
         String application,
         String environment,
         String version,
@@ -13,4 +12,5 @@ public record FullRelease(
         String description,
         String changes,
         String responsibility,
-        String buildLocation) {}
+        String buildLocation,
+        long revision) {}
@@ -0,0 +1,3 @@
+package de.iu.bniebes.model.db;
+
+public record ImportedReleases(long imported, long created) {}
@@ -0,0 +1,5 @@
+package de.iu.bniebes.model.db;
+
+import de.iu.bniebes.model.OptInfo;
+
+public record OptInfoValue(long releaseId, OptInfo optInfo, String value) {}
@@ -0,0 +1,14 @@
+package de.iu.bniebes.model.db;
+
+public record PoolMetrics(
+        int active,
+        int idle,
+        int pending,
+        int total,
+        int maximum,
+        long acquisitions,
+        long timeouts,
+        WaitTimeMicros waitTimeMicros) {
+
+    public record WaitTimeMicros(long p50, long p90, long p99, long p999, long max) {}
+}
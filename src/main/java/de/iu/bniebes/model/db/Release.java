@@ -1,7 +1,5 @@
 package de.iu.bniebes.model.db;
 
-import java.math.BigInteger;
 import java.time.Instant;
 
-public record Release(
-        String application, String environment, String version, Instant releaseTimestamp, BigInteger id) {}
+public record Release(String application, String environment, String version, Instant releaseTimestamp, long id) {}
@@ -0,0 +1,7 @@
+package de.iu.bniebes.model.db;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Without application every release may have changed
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReleaseChange(String instance, String application, String environment) {}
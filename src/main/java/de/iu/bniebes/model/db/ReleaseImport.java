@@ -0,0 +1,14 @@
+package de.iu.bniebes.model.db;
+
+import java.time.Instant;
+
+public record ReleaseImport(
+        String application,
+        String environment,
+        String version,
+        Instant releaseTimestamp,
+        String releaseName,
+        String description,
+        String changes,
+        String responsibility,
+        String buildLocation) {}
@@ -1,5 +1,3 @@
 package de.iu.bniebes.model.db;
 
-import java.math.BigInteger;
-
-public record ReleaseName(BigInteger id, String name) {}
+public record ReleaseName(long id, String name) {}
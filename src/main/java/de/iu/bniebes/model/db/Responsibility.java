@@ -1,5 +1,3 @@
 package de.iu.bniebes.model.db;
 
-import java.math.BigInteger;
-
-public record Responsibility(BigInteger id, String name) {}
+public record Responsibility(long id, String name) {}
@@ -0,0 +1,3 @@
+package de.iu.bniebes.model.db;
+
+public record UpsertedRelease(long id, boolean created, FullRelease fullRelease) {}
@@ -6,11 +6,10 @@ import static de.iu.bniebes.util.ResponseUtil.respondBadRequest;
 import de.iu.bniebes.service.internal.InputSanitizationService;
 import io.helidon.webserver.http.ServerRequest;
 import io.helidon.webserver.http.ServerResponse;
-import java.math.BigInteger;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
-public record AllParameters(String app, String env, String ver, BigInteger zeu) {
+public record AllParameters(String app, String env, String ver, long zeu) {
 
     public static Optional<AllParameters> fromRequestResponding(
             final InputSanitizationService inputSanitizationService,
@@ -21,14 +20,14 @@ public record AllParameters(String app, String env, String ver, BigInteger zeu)
             final var maybeApp = inputSanitizationService.safeString(parameters.get("app"));
             final var maybeEnv = inputSanitizationService.safeString(parameters.get("env"));
             final var maybeVer = inputSanitizationService.safeString(parameters.get("ver"));
-            final var maybeZet = inputSanitizationService.bigInteger(parameters.get("zeu"));
+            final var maybeZet = inputSanitizationService.zuluEpochMicros(parameters.get("zeu"));
 
             if (maybeApp.isEmpty() || maybeEnv.isEmpty() || maybeVer.isEmpty() || maybeZet.isEmpty()) {
                 respondBadRequest(response);
                 return Optional.empty();
             }
 
-            return Optional.of(new AllParameters(maybeApp.get(), maybeEnv.get(), maybeVer.get(), maybeZet.get()));
+            return Optional.of(new AllParameters(maybeApp.get(), maybeEnv.get(), maybeVer.get(), maybeZet.getAsLong()));
         } catch (NoSuchElementException nseEx) {
             onNoSuchElementException(nseEx, response);
             return Optional.empty();
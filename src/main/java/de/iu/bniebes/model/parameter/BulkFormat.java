@@ -0,0 +1,29 @@
+package de.iu.bniebes.model.parameter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum BulkFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    public final String label;
+    public final String mediaType;
+
+    BulkFormat(final String label, final String mediaType) {
+        this.label = label;
+        this.mediaType = mediaType;
+    }
+
+    public static Optional<BulkFormat> ofLabel(final String label) {
+        return Arrays.stream(values())
+                .filter(format -> format.label.equalsIgnoreCase(label))
+                .findFirst();
+    }
+
+    public static Optional<BulkFormat> ofMediaType(final String mediaType) {
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.equalsIgnoreCase(mediaType))
+                .findFirst();
+    }
+}
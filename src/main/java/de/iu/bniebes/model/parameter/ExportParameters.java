@@ -0,0 +1,49 @@
+package de.iu.bniebes.model.parameter;
+
+import static de.iu.bniebes.util.ResponseUtil.respondBadRequest;
+
+import de.iu.bniebes.service.internal.InputSanitizationService;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+public record ExportParameters(String application, String environment, Instant from, Instant to, BulkFormat format) {
+
+    public static Optional<ExportParameters> fromRequestResponding(
+            final InputSanitizationService inputSanitizationService,
+            final ServerRequest request,
+            final ServerResponse response) {
+        final var query = request.query();
+        final var rawApp = query.first("app").asOptional();
+        final var rawEnv = query.first("env").asOptional();
+        final var rawFrom = query.first("from").asOptional();
+        final var rawTo = query.first("to").asOptional();
+        final var rawFormat = query.first("format").asOptional();
+
+        final var maybeApp = rawApp.flatMap(inputSanitizationService::safeString);
+        final var maybeEnv = rawEnv.flatMap(inputSanitizationService::safeString);
+        final var maybeFrom = rawFrom.map(inputSanitizationService::zuluEpochMicros).orElseGet(OptionalLong::empty);
+        final var maybeTo = rawTo.map(inputSanitizationService::zuluEpochMicros).orElseGet(OptionalLong::empty);
+        final var maybeFormat =
+                rawFormat.isPresent() ? BulkFormat.ofLabel(rawFormat.get()) : Optional.of(BulkFormat.NDJSON);
+
+        if ((rawApp.isPresent() && maybeApp.isEmpty())
+                || (rawEnv.isPresent() && maybeEnv.isEmpty())
+                || (rawFrom.isPresent() && maybeFrom.isEmpty())
+                || (rawTo.isPresent() && maybeTo.isEmpty())
+                || maybeFormat.isEmpty()) {
+            respondBadRequest(response);
+            return Optional.empty();
+        }
+
+        return Optional.of(new ExportParameters(
+                maybeApp.orElse(null),
+                maybeEnv.orElse(null),
+                maybeFrom.isPresent() ? ZuluEpochMicros.toInstant(maybeFrom.getAsLong()) : null,
+                maybeTo.isPresent() ? ZuluEpochMicros.toInstant(maybeTo.getAsLong()) : null,
+                maybeFormat.get()));
+    }
+}
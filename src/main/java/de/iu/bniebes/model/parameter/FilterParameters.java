@@ -0,0 +1,49 @@
+package de.iu.bniebes.model.parameter;
+
+import static de.iu.bniebes.util.ResponseUtil.respondBadRequest;
+
+import de.iu.bniebes.service.internal.InputSanitizationService;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+public record FilterParameters(String version, Instant from, Instant to, ReleaseOrder order) {
+
+    private static final FilterParameters UNFILTERED = new FilterParameters(null, null, null, null);
+
+    public static Optional<FilterParameters> fromRequestResponding(
+            final InputSanitizationService inputSanitizationService,
+            final ServerRequest request,
+            final ServerResponse response) {
+        final var query = request.query();
+        final var rawVersion = query.first("version").asOptional();
+        final var rawFrom = query.first("from").asOptional();
+        final var rawTo = query.first("to").asOptional();
+        final var rawOrder = query.first("order").asOptional();
+        if (rawVersion.isEmpty() && rawFrom.isEmpty() && rawTo.isEmpty() && rawOrder.isEmpty()) {
+            return Optional.of(UNFILTERED);
+        }
+
+        final var maybeVersion = rawVersion.flatMap(inputSanitizationService::safeString);
+        final var maybeFrom = rawFrom.map(inputSanitizationService::zuluEpochMicros).orElseGet(OptionalLong::empty);
+        final var maybeTo = rawTo.map(inputSanitizationService::zuluEpochMicros).orElseGet(OptionalLong::empty);
+        final var maybeOrder = rawOrder.flatMap(ReleaseOrder::ofLabel);
+
+        if ((rawVersion.isPresent() && maybeVersion.isEmpty())
+                || (rawFrom.isPresent() && maybeFrom.isEmpty())
+                || (rawTo.isPresent() && maybeTo.isEmpty())
+                || (rawOrder.isPresent() && maybeOrder.isEmpty())) {
+            respondBadRequest(response);
+            return Optional.empty();
+        }
+
+        return Optional.of(new FilterParameters(
+                maybeVersion.orElse(null),
+                maybeFrom.isPresent() ? ZuluEpochMicros.toInstant(maybeFrom.getAsLong()) : null,
+                maybeTo.isPresent() ? ZuluEpochMicros.toInstant(maybeTo.getAsLong()) : null,
+                maybeOrder.orElse(null)));
+    }
+}
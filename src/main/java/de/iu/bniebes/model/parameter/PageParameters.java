@@ -0,0 +1,42 @@
+package de.iu.bniebes.model.parameter;
+
+import static de.iu.bniebes.util.ResponseUtil.respondBadRequest;
+
+import de.iu.bniebes.service.internal.InputSanitizationService;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.util.Optional;
+
+public record PageParameters(int limit, ReleaseCursor after) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final PageParameters UNPAGINATED = new PageParameters(0, null);
+
+    public boolean paginated() {
+        return limit > 0;
+    }
+
+    public static Optional<PageParameters> fromRequestResponding(
+            final InputSanitizationService inputSanitizationService,
+            final ServerRequest request,
+            final ServerResponse response) {
+        final var query = request.query();
+        final var rawLimit = query.first("limit").asOptional();
+        final var rawAfter = query.first("after").asOptional();
+        if (rawLimit.isEmpty() && rawAfter.isEmpty()) return Optional.of(UNPAGINATED);
+
+        final var maybeLimit = rawLimit.isPresent()
+                ? inputSanitizationService.positiveInt(rawLimit.get(), MAX_LIMIT)
+                : Optional.of(DEFAULT_LIMIT);
+        final var maybeAfter = rawAfter.flatMap(inputSanitizationService::releaseCursor);
+
+        if (maybeLimit.isEmpty() || (rawAfter.isPresent() && maybeAfter.isEmpty())) {
+            respondBadRequest(response);
+            return Optional.empty();
+        }
+
+        return Optional.of(new PageParameters(maybeLimit.get(), maybeAfter.orElse(null)));
+    }
+}
@@ -0,0 +1,21 @@
+package de.iu.bniebes.model.parameter;
+
+import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.time.Instant;
+
+public record ReleaseCursor(Instant releaseTimestamp, long id) {
+
+    public static final String SEPARATOR = "-";
+
+    public static ReleaseCursor of(final FullRelease fullRelease) {
+        return new ReleaseCursor(fullRelease.releaseTimestamp(), fullRelease.id());
+    }
+
+    public String value() {
+        return ZuluEpochMicros.appendTo(new StringBuilder(), releaseTimestamp)
+                .append(SEPARATOR)
+                .append(id)
+                .toString();
+    }
+}
@@ -0,0 +1,5 @@
+package de.iu.bniebes.model.parameter;
+
+import java.time.Instant;
+
+public record ReleaseKey(String application, String environment, String version, Instant releaseTimestamp) {}
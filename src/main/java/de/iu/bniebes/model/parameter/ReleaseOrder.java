@@ -0,0 +1,21 @@
+package de.iu.bniebes.model.parameter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum ReleaseOrder {
+    ASC("asc"),
+    DESC("desc");
+
+    public final String label;
+
+    ReleaseOrder(final String label) {
+        this.label = label;
+    }
+
+    public static Optional<ReleaseOrder> ofLabel(final String label) {
+        return Arrays.stream(values())
+                .filter(order -> order.label.equalsIgnoreCase(label))
+                .findFirst();
+    }
+}
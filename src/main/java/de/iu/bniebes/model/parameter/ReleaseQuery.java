@@ -0,0 +1,48 @@
+package de.iu.bniebes.model.parameter;
+
+import java.time.Instant;
+
+// Without an order only pages are sorted ascending, a stream returns the releases as the source reads them
+public record ReleaseQuery(
+        String application,
+        String environment,
+        String version,
+        Instant from,
+        Instant to,
+        ReleaseOrder order,
+        int limit,
+        ReleaseCursor after) {
+
+    public static ReleaseQuery all() {
+        return new ReleaseQuery(null, null, null, null, null, null, 0, null);
+    }
+
+    public static ReleaseQuery byApplication(final String application) {
+        return new ReleaseQuery(application, null, null, null, null, null, 0, null);
+    }
+
+    public static ReleaseQuery byApplicationAndEnvironment(final String application, final String environment) {
+        return new ReleaseQuery(application, environment, null, null, null, null, 0, null);
+    }
+
+    public ReleaseQuery filter(final FilterParameters filterParameters) {
+        return new ReleaseQuery(
+                application,
+                environment,
+                filterParameters.version(),
+                filterParameters.from(),
+                filterParameters.to(),
+                filterParameters.order(),
+                limit,
+                after);
+    }
+
+    public ReleaseQuery page(final PageParameters pageParameters) {
+        return new ReleaseQuery(
+                application, environment, version, from, to, order, pageParameters.limit(), pageParameters.after());
+    }
+
+    public boolean descending() {
+        return order == ReleaseOrder.DESC;
+    }
+}
@@ -0,0 +1,12 @@
+package de.iu.bniebes.model.request;
+
+public record ReleaseImportRow(
+        String application,
+        String environment,
+        String version,
+        String zuluEpochMicros,
+        String releaseName,
+        String description,
+        String changes,
+        String responsibility,
+        String buildLocation) {}
@@ -0,0 +1,8 @@
+package de.iu.bniebes.model.request;
+
+import java.util.List;
+
+public record ReleaseMultiGetRequest(List<Key> keys) {
+
+    public record Key(String application, String environment, String version, String zuluEpochMicros) {}
+}
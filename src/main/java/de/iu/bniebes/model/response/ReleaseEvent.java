@@ -0,0 +1,37 @@
+package de.iu.bniebes.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import de.iu.bniebes.model.OptInfo;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReleaseEvent(
+        String type,
+        String application,
+        String environment,
+        String version,
+        Long zuluEpochMicros,
+        String information) {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String CHANGED = "changed";
+
+    public static ReleaseEvent created(final String app, final String env, final String ver, final long zeu) {
+        return new ReleaseEvent(CREATED, app, env, ver, zeu, null);
+    }
+
+    public static ReleaseEvent updated(final String app, final String env, final String ver, final long zeu) {
+        return new ReleaseEvent(UPDATED, app, env, ver, zeu, null);
+    }
+
+    public static ReleaseEvent deleted(
+            final String app, final String env, final String ver, final long zeu, final OptInfo optInfo) {
+        return new ReleaseEvent(DELETED, app, env, ver, zeu, optInfo.label);
+    }
+
+    // Changes written by other instances or imports, without an application everything may have changed
+    public static ReleaseEvent changed(final String app, final String env) {
+        return new ReleaseEvent(CHANGED, app, env, null, null, null);
+    }
+}
@@ -0,0 +1,5 @@
+package de.iu.bniebes.model.response;
+
+import java.util.List;
+
+public record ReleaseImportResponse(long imported, long created, long rejected, List<Long> rejectedLines) {}
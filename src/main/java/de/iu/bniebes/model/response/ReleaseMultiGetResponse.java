@@ -0,0 +1,6 @@
+package de.iu.bniebes.model.response;
+
+import java.util.List;
+
+// Releases in request order, null and listed in missing where a key has no release
+public record ReleaseMultiGetResponse(List<ReleaseResponse> releases, List<Integer> missing) {}
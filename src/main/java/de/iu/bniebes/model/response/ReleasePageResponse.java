@@ -0,0 +1,7 @@
+package de.iu.bniebes.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReleasePageResponse(List<ReleaseResponse> releases, String next) {}
@@ -1,11 +1,9 @@
 package de.iu.bniebes.model.response;
 
-import static de.iu.bniebes.util.TimestampUtils.zuluEpochMicrosOf;
-
 import com.fasterxml.jackson.annotation.JsonInclude;
 import de.iu.bniebes.model.db.*;
 import de.iu.bniebes.model.result.Result;
-import java.math.BigInteger;
+import de.iu.bniebes.util.ZuluEpochMicros;
 import java.util.Objects;
 
 @JsonInclude(JsonInclude.Include.NON_EMPTY)
@@ -13,7 +11,7 @@ public record ReleaseResponse(
         String application,
         String environment,
         String version,
-        BigInteger zuluEpochMicros,
+        long zuluEpochMicros,
         String releaseName,
         String description,
         String changes,
@@ -32,7 +30,7 @@ public record ReleaseResponse(
                 release.application(),
                 release.environment(),
                 release.version(),
-                zuluEpochMicrosOf(release.releaseTimestamp()),
+                ZuluEpochMicros.of(release.releaseTimestamp()),
                 releaseNameResult.isPresent() ? releaseNameResult.get().name() : "",
                 descriptionResult.isPresent() ? descriptionResult.get().description() : "",
                 changesResult.isPresent() ? changesResult.get().changes() : "",
@@ -45,7 +43,7 @@ public record ReleaseResponse(
                 fullRelease.application(),
                 fullRelease.environment(),
                 fullRelease.version(),
-                zuluEpochMicrosOf(fullRelease.releaseTimestamp()),
+                ZuluEpochMicros.of(fullRelease.releaseTimestamp()),
                 valueOrBlank(fullRelease.releaseName()),
                 valueOrBlank(fullRelease.description()),
                 valueOrBlank(fullRelease.changes()),
@@ -3,35 +3,142 @@ package de.iu.bniebes.service.external.db;
 import com.zaxxer.hikari.HikariDataSource;
 import de.iu.bniebes.configuration.DBConfiguration;
 import de.iu.bniebes.constant.GlobalConstants;
+import de.iu.bniebes.model.db.PoolMetrics;
+import de.iu.bniebes.model.result.Result;
+import java.sql.DriverManager;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
 
 @Slf4j
 public class DBClientService implements AutoCloseable {
 
+    private static final String POOL_NAME = "release-tracker";
+    private static final String REPLICA_POOL_NAME = "release-tracker-replica";
+    private static final String LISTENER_APPLICATION_NAME = "release-tracker-listener";
+
+    private final PoolMetricsTracker poolMetricsTracker = new PoolMetricsTracker();
+    private final PoolMetricsTracker replicaPoolMetricsTracker = new PoolMetricsTracker();
     private final HikariDataSource hikariDataSource;
+    private final HikariDataSource replicaHikariDataSource;
+    private final DBConfiguration dbConfiguration;
+    private ReleaseChangeListener releaseChangeListener;
 
     public final Jdbi jdbi;
+    public final Jdbi readJdbi;
 
     public DBClientService(final DBConfiguration dbConfiguration) {
-        this.hikariDataSource = dataSource(dbConfiguration);
+        this.dbConfiguration = dbConfiguration;
+        this.hikariDataSource = dataSource(dbConfiguration, dbConfiguration.jdbcUrl(), POOL_NAME, poolMetricsTracker);
         this.jdbi = Jdbi.create(hikariDataSource);
+        if (dbConfiguration.hasReplica()) {
+            this.replicaHikariDataSource = dataSource(
+                    dbConfiguration, dbConfiguration.replicaJdbcUrl(), REPLICA_POOL_NAME, replicaPoolMetricsTracker);
+            this.readJdbi = Jdbi.create(new ReplicaRoutingDataSource(
+                    hikariDataSource, replicaHikariDataSource, dbConfiguration.replicaRetryMillis()));
+        } else {
+            this.replicaHikariDataSource = null;
+            this.readJdbi = jdbi;
+        }
     }
 
-    private HikariDataSource dataSource(final DBConfiguration dbConfiguration) {
+    private HikariDataSource dataSource(
+            final DBConfiguration dbConfiguration,
+            final String jdbcUrl,
+            final String poolName,
+            final PoolMetricsTracker metricsTracker) {
+        final var pool = dbConfiguration.pool();
+        log.atInfo()
+                .addMarker(GlobalConstants.Markers.SERVICE)
+                .setMessage("Configure hikari data source {}: {}")
+                .addArgument(poolName)
+                .addArgument(pool)
+                .log();
         final var hikariDataSource = new HikariDataSource();
-        hikariDataSource.setJdbcUrl(dbConfiguration.jdbcUrl());
+        hikariDataSource.setPoolName(poolName);
+        hikariDataSource.setJdbcUrl(jdbcUrl);
         hikariDataSource.setUsername(dbConfiguration.user());
         hikariDataSource.setPassword(dbConfiguration.password());
+        hikariDataSource.setMaximumPoolSize(pool.maximumPoolSize());
+        hikariDataSource.setMinimumIdle(pool.minimumIdle());
+        hikariDataSource.setConnectionTimeout(pool.connectionTimeoutMillis());
+        hikariDataSource.setIdleTimeout(pool.idleTimeoutMillis());
+        hikariDataSource.setMaxLifetime(pool.maxLifetimeMillis());
+        hikariDataSource.setLeakDetectionThreshold(pool.leakDetectionThresholdMillis());
+        hikariDataSource.addDataSourceProperty("prepareThreshold", pool.prepareThreshold());
+        hikariDataSource.addDataSourceProperty("defaultRowFetchSize", pool.defaultRowFetchSize());
+        hikariDataSource.addDataSourceProperty("reWriteBatchedInserts", true);
+        hikariDataSource.setMetricsTrackerFactory(metricsTracker);
         return hikariDataSource;
     }
 
+    public boolean hasReplica() {
+        return Objects.nonNull(replicaHikariDataSource);
+    }
+
+    public Result<String> currentWalLsn() {
+        try {
+            return jdbi.withHandle(handle -> handle.createQuery("SELECT CAST(pg_current_wal_lsn() AS TEXT)")
+                    .mapTo(String.class)
+                    .findOne()
+                    .map(Result::of)
+                    .orElseGet(Result::empty));
+        } catch (Exception ex) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not query current WAL LSN")
+                    .setCause(ex)
+                    .log();
+            return Result.error();
+        }
+    }
+
+    public void listen(final String channel, final Consumer<String> onNotification, final Runnable onResync) {
+        if (Objects.nonNull(releaseChangeListener)) throw new IllegalStateException("Already listening");
+        final var properties = new Properties();
+        properties.setProperty("user", dbConfiguration.user());
+        properties.setProperty("password", dbConfiguration.password());
+        properties.setProperty("ApplicationName", LISTENER_APPLICATION_NAME);
+        releaseChangeListener = new ReleaseChangeListener(
+                () -> DriverManager.getConnection(dbConfiguration.jdbcUrl(), properties),
+                channel,
+                onNotification,
+                onResync);
+    }
+
+    public PoolMetrics poolMetrics() {
+        return poolMetrics(hikariDataSource, poolMetricsTracker);
+    }
+
+    public Optional<PoolMetrics> replicaPoolMetrics() {
+        if (!hasReplica()) return Optional.empty();
+        return Optional.of(poolMetrics(replicaHikariDataSource, replicaPoolMetricsTracker));
+    }
+
+    private PoolMetrics poolMetrics(final HikariDataSource dataSource, final PoolMetricsTracker metricsTracker) {
+        final var poolMXBean = dataSource.getHikariPoolMXBean();
+        return new PoolMetrics(
+                poolMXBean.getActiveConnections(),
+                poolMXBean.getIdleConnections(),
+                poolMXBean.getThreadsAwaitingConnection(),
+                poolMXBean.getTotalConnections(),
+                dataSource.getMaximumPoolSize(),
+                metricsTracker.acquisitions(),
+                metricsTracker.timeouts(),
+                metricsTracker.waitTimeMicros());
+    }
+
     @Override
     public void close() throws Exception {
         log.atInfo()
                 .addMarker(GlobalConstants.Markers.SERVICE)
                 .setMessage("Closing hikari data source")
                 .log();
+        if (Objects.nonNull(releaseChangeListener)) releaseChangeListener.close();
         hikariDataSource.close();
+        if (hasReplica()) replicaHikariDataSource.close();
     }
 }
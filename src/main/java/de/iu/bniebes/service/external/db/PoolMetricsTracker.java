@@ -0,0 +1,83 @@
+package de.iu.bniebes.service.external.db;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import de.iu.bniebes.model.db.PoolMetrics;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PoolMetricsTracker implements MetricsTrackerFactory, IMetricsTracker {
+
+    static final long[] BUCKET_BOUNDS_MICROS = {
+        10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+        1_000_000, 2_500_000, 5_000_000, 10_000_000, 30_000_000
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0L);
+
+    @Override
+    public IMetricsTracker create(final String poolName, final PoolStats poolStats) {
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(final long elapsedAcquiredNanos) {
+        final var micros = TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos);
+        buckets.incrementAndGet(bucketIndex(micros));
+        acquisitions.increment();
+        maxMicros.accumulate(micros);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    public PoolMetrics.WaitTimeMicros waitTimeMicros() {
+        final var counts = new long[buckets.length()];
+        var total = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        final var max = maxMicros.get();
+        return new PoolMetrics.WaitTimeMicros(
+                percentile(counts, total, 0.5, max),
+                percentile(counts, total, 0.9, max),
+                percentile(counts, total, 0.99, max),
+                percentile(counts, total, 0.999, max),
+                max);
+    }
+
+    public long acquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    private static int bucketIndex(final long micros) {
+        for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+            if (micros <= BUCKET_BOUNDS_MICROS[i]) return i;
+        }
+        return BUCKET_BOUNDS_MICROS.length;
+    }
+
+    private static long percentile(final long[] counts, final long total, final double quantile, final long max) {
+        if (total == 0) return 0L;
+        final var rank = (long) Math.ceil(quantile * total);
+        var seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return i < BUCKET_BOUNDS_MICROS.length ? Math.min(BUCKET_BOUNDS_MICROS[i], max) : max;
+        }
+        return max;
+    }
+}
@@ -0,0 +1,22 @@
+package de.iu.bniebes.service.external.db;
+
+import java.util.Optional;
+
+public class ReadConsistency {
+
+    private static final ThreadLocal<String> MIN_LSN = new ThreadLocal<>();
+
+    private ReadConsistency() {}
+
+    public static void requireLsn(final String lsn) {
+        MIN_LSN.set(lsn);
+    }
+
+    public static Optional<String> minLsn() {
+        return Optional.ofNullable(MIN_LSN.get());
+    }
+
+    public static void clear() {
+        MIN_LSN.remove();
+    }
+}
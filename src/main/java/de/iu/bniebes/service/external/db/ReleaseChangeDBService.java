@@ -0,0 +1,33 @@
+package de.iu.bniebes.service.external.db;
+
+import de.iu.bniebes.constant.GlobalConstants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Jdbi;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseChangeDBService {
+
+    public static final String CHANNEL = "release_changes";
+
+    private static final String NOTIFY = "SELECT 1 FROM pg_notify('" + CHANNEL + "', :payload)";
+
+    private final Jdbi jdbi;
+
+    // Runs in its own transaction after the write committed, listeners never see a change before it is visible
+    public boolean publish(final String payload) {
+        try (final var handle = jdbi.open()) {
+            handle.createQuery(NOTIFY).bind("payload", payload).mapTo(Integer.class).one();
+            return true;
+        } catch (Exception ex) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not publish release change {}")
+                    .addArgument(payload)
+                    .setCause(ex)
+                    .log();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package de.iu.bniebes.service.external.db;
+
+import de.iu.bniebes.constant.GlobalConstants;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+
+// Holds one connection outside of the pool in LISTEN, the pool would retire it after its max lifetime
+@Slf4j
+public class ReleaseChangeListener implements AutoCloseable {
+
+    static final int POLL_TIMEOUT_MILLIS = 10_000;
+    static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    static final long MIN_RECONNECT_DELAY_MILLIS = 100L;
+    static final long MAX_RECONNECT_DELAY_MILLIS = 10_000L;
+
+    @FunctionalInterface
+    public interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private final ConnectionSupplier connectionSupplier;
+    private final String channel;
+    private final Consumer<String> onNotification;
+    private final Runnable onResync;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile Connection connection;
+
+    public ReleaseChangeListener(
+            final ConnectionSupplier connectionSupplier,
+            final String channel,
+            final Consumer<String> onNotification,
+            final Runnable onResync) {
+        this.connectionSupplier = connectionSupplier;
+        this.channel = channel;
+        this.onNotification = onNotification;
+        this.onResync = onResync;
+        this.thread = Thread.ofVirtual().name("release-change-listener").start(this::run);
+    }
+
+    private void run() {
+        var reconnectDelayMillis = MIN_RECONNECT_DELAY_MILLIS;
+        while (running) {
+            try (final var listenConnection = connectionSupplier.get()) {
+                connection = listenConnection;
+                listen(listenConnection);
+                // Everything committed before LISTEN was missed, only a full resync makes the caches trustworthy
+                onResync.run();
+                reconnectDelayMillis = MIN_RECONNECT_DELAY_MILLIS;
+                log.atInfo()
+                        .addMarker(GlobalConstants.Markers.DB)
+                        .setMessage("Listening on channel {}")
+                        .addArgument(channel)
+                        .log();
+                receive(listenConnection);
+            } catch (Exception ex) {
+                if (!running) return;
+                log.atError()
+                        .addMarker(GlobalConstants.Markers.DB)
+                        .setMessage("Listener on channel {} failed, reconnecting in {} ms")
+                        .addArgument(channel)
+                        .addArgument(reconnectDelayMillis)
+                        .setCause(ex)
+                        .log();
+                if (!sleep(reconnectDelayMillis)) return;
+                reconnectDelayMillis = Math.min(reconnectDelayMillis * 2, MAX_RECONNECT_DELAY_MILLIS);
+            }
+        }
+    }
+
+    private void listen(final Connection listenConnection) throws SQLException {
+        listenConnection.setAutoCommit(true);
+        try (final var statement = listenConnection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+    }
+
+    private void receive(final Connection listenConnection) throws SQLException {
+        final var pgConnection = listenConnection.unwrap(PGConnection.class);
+        while (running) {
+            final var notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (Objects.isNull(notifications) || notifications.length == 0) {
+                // A silently dropped connection does not fail the wait, validate it with a round trip
+                if (!listenConnection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                continue;
+            }
+            for (final var notification : notifications) {
+                onNotification.accept(notification.getParameter());
+            }
+        }
+    }
+
+    private boolean sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException iEx) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        running = false;
+        final var listenConnection = connection;
+        if (Objects.nonNull(listenConnection)) listenConnection.close();
+        thread.interrupt();
+        thread.join(MAX_RECONNECT_DELAY_MILLIS);
+    }
+}
@@ -3,35 +3,143 @@ package de.iu.bniebes.service.external.db;
 import de.iu.bniebes.constant.GlobalConstants;
 import de.iu.bniebes.model.db.FullRelease;
 import de.iu.bniebes.model.db.Release;
+import de.iu.bniebes.model.db.UpsertedRelease;
+import de.iu.bniebes.model.parameter.ReleaseKey;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
 import de.iu.bniebes.model.result.Result;
-import java.math.BigDecimal;
-import java.math.BigInteger;
+import de.iu.bniebes.service.internal.StringDictionaryService;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.Query;
 import org.jdbi.v3.core.statement.StatementContext;
 
 @Slf4j
 @RequiredArgsConstructor
-public class ReleaseDBService {
+public class ReleaseDBService implements ReleaseReader {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final String RELEASE_COLUMNS = "id, application, environment, version, release_timestamp";
+    private static final String WHERE_RELEASE_KEY =
+            "WHERE application = :app AND environment = :env AND version = :ver AND release_timestamp = :rts";
+    private static final String FULL_RELEASE_COLUMNS =
+            """
+            SELECT
+                releases.id, releases.application, releases.environment, releases.version, releases.release_timestamp,
+                releases.release_name, releases.description, releases.changes, releases.responsibility,
+                releases.build_location, releases.revision
+            """;
+    private static final String FULL_RELEASE_SELECT = FULL_RELEASE_COLUMNS + "FROM releases\n";
+    // Keeps the current release projections in the same statement, a row is only replaced by a later release
+    private static final String UPDATE_CURRENT_RELEASES =
+            """
+            , current_release AS (
+                INSERT INTO current_releases(application, environment, release_timestamp, release_id)
+                SELECT application, environment, release_timestamp, id FROM release WHERE created
+                ON CONFLICT (application, environment) DO UPDATE
+                SET release_timestamp = EXCLUDED.release_timestamp, release_id = EXCLUDED.release_id
+                WHERE (current_releases.release_timestamp, current_releases.release_id)
+                    < (EXCLUDED.release_timestamp, EXCLUDED.release_id)
+            ), current_application_release AS (
+                INSERT INTO current_application_releases(application, release_timestamp, release_id)
+                SELECT application, release_timestamp, id FROM release WHERE created
+                ON CONFLICT (application) DO UPDATE
+                SET release_timestamp = EXCLUDED.release_timestamp, release_id = EXCLUDED.release_id
+                WHERE (current_application_releases.release_timestamp, current_application_releases.release_id)
+                    < (EXCLUDED.release_timestamp, EXCLUDED.release_id)
+            )
+            """;
+
+    private static final String SELECT_RELEASE =
+            "SELECT %s FROM releases %s;".formatted(RELEASE_COLUMNS, WHERE_RELEASE_KEY);
+    private static final String SELECT_FULL_RELEASE = FULL_RELEASE_SELECT + WHERE_RELEASE_KEY + ";";
+    private static final String SELECT_RELEASE_BY_ID =
+            "SELECT %s FROM releases WHERE id = :id;".formatted(RELEASE_COLUMNS);
+    private static final String SELECT_RELEASE_ID = "SELECT id FROM releases %s;".formatted(WHERE_RELEASE_KEY);
+    private static final String SELECT_RELEASES =
+            "SELECT %s FROM releases WHERE application = :app AND environment = :env AND version = :ver;"
+                    .formatted(RELEASE_COLUMNS);
+    private static final String INSERT_RELEASE =
+            """
+            WITH release AS (
+                INSERT INTO releases(application, environment, version, release_timestamp)
+                VALUES (:app, :env, :ver, :rts)
+                RETURNING *, true AS created
+            )
+            """
+                    + UPDATE_CURRENT_RELEASES
+                    + "SELECT * FROM release;";
+    // An existing row is selected instead of rewritten, a repeated PUT writes no tuple and keeps its revision.
+    // Both statements return the full row with the revision the trigger stamped on it for the read model.
+    private static final String UPSERT_RELEASE =
+            """
+            WITH inserted AS (
+                INSERT INTO releases(application, environment, version, release_timestamp)
+                VALUES (:app, :env, :ver, :rts)
+                ON CONFLICT (application, environment, version, release_timestamp) DO NOTHING
+                RETURNING *, true AS created
+            ), release AS (
+                SELECT * FROM inserted
+                UNION ALL
+                SELECT *, false AS created FROM releases
+                WHERE application = :app AND environment = :env AND version = :ver AND release_timestamp = :rts
+                    AND NOT EXISTS (SELECT FROM inserted)
+            )
+            """
+                    + UPDATE_CURRENT_RELEASES
+                    + "SELECT * FROM release;";
+    private static final String SELECT_CURRENT_BY_APP = FULL_RELEASE_COLUMNS
+            + "FROM current_application_releases cur JOIN releases ON releases.id = cur.release_id\n"
+            + "WHERE cur.application = :app;";
+    private static final String SELECT_CURRENT_BY_APP_AND_ENV = FULL_RELEASE_COLUMNS
+            + "FROM current_releases cur JOIN releases ON releases.id = cur.release_id\n"
+            + "WHERE cur.application = :app AND cur.environment = :env;";
+    // All keys in one statement, the ordinality maps every row back to the position of its key
+    private static final String SELECT_FULL_RELEASES_BY_KEYS = FULL_RELEASE_COLUMNS.stripTrailing()
+            + ", keys.key_index\n"
+            + "FROM unnest(:apps, :envs, :vers, :rts)\n"
+            + "    WITH ORDINALITY AS keys(application, environment, version, release_timestamp, key_index)\n"
+            + "JOIN releases ON releases.application = keys.application\n"
+            + "    AND releases.environment = keys.environment AND releases.version = keys.version\n"
+            + "    AND releases.release_timestamp = keys.release_timestamp;";
+    // Also returns releases of later transactions that were already read, their revisions tell them apart
+    private static final String SELECT_FULL_RELEASES_WRITTEN_SINCE =
+            FULL_RELEASE_SELECT + "WHERE revision_xid >= CAST(CAST(:horizon AS text) AS xid8);";
+    // Every transaction older than the oldest one still running has finished, its releases are committed
+    private static final String SELECT_WRITE_HORIZON =
+            "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint);";
+
+    private static final int QUERY_APP = 1;
+    private static final int QUERY_ENV = 1 << 1;
+    private static final int QUERY_VERSION = 1 << 2;
+    private static final int QUERY_FROM = 1 << 3;
+    private static final int QUERY_TO = 1 << 4;
+    private static final int QUERY_AFTER = 1 << 5;
+    private static final int QUERY_ORDERED = 1 << 6;
+    private static final int QUERY_DESCENDING = 1 << 7;
+    private static final int QUERY_PAGINATED = 1 << 8;
+    private static final String[] FULL_RELEASES_QUERIES = fullReleasesQueries();
 
     private final Jdbi jdbi;
+    private final StringDictionaryService stringDictionaryService;
 
     public Result<Release> release(
             final String application, final String environment, final String version, final Instant releaseTimestamp) {
         try (final var handle = jdbi.open()) {
-            final var query =
-                    """
-                    SELECT *
-                    FROM releases
-                    WHERE application = :app AND environment = :env AND version = :ver AND release_timestamp = :rts;
-                    """;
-            return handle.createQuery(query)
+            return handle.createQuery(SELECT_RELEASE)
                     .bindMap(releaseBinds(application, environment, version, releaseTimestamp))
                     .map(this::toRelease)
                     .findOne()
@@ -47,10 +155,64 @@ public class ReleaseDBService {
         }
     }
 
-    public Result<Release> releaseById(final BigInteger id) {
+    @Override
+    public Result<FullRelease> fullRelease(
+            final String application, final String environment, final String version, final Instant releaseTimestamp) {
         try (final var handle = jdbi.open()) {
-            return handle.createQuery("SELECT * FROM releases WHERE id = :id;")
-                    .bind("id", new BigDecimal(id))
+            return handle.createQuery(SELECT_FULL_RELEASE)
+                    .bindMap(releaseBinds(application, environment, version, releaseTimestamp))
+                    .map(this::toFullRelease)
+                    .findOne()
+                    .map(Result::of)
+                    .orElseGet(Result::empty);
+        } catch (Exception ex) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not query a full release by [{}, {}, {}, {}]")
+                    .addArgument(application)
+                    .addArgument(environment)
+                    .addArgument(version)
+                    .addArgument(releaseTimestamp)
+                    .setCause(ex)
+                    .log();
+            return Result.error();
+        }
+    }
+
+    @Override
+    public Result<List<FullRelease>> fullReleases(final List<ReleaseKey> releaseKeys) {
+        if (releaseKeys.isEmpty()) return Result.of(List.of());
+        try (final var handle = jdbi.open()) {
+            // The driver converts the elements like the Instant binding of the single key statements
+            handle.registerArrayType(Timestamp.class, "timestamp");
+            final var releaseTimestamps = releaseKeys.stream()
+                    .map(ReleaseKey::releaseTimestamp)
+                    .map(Timestamp::from)
+                    .toList();
+            final var fullReleases = new FullRelease[releaseKeys.size()];
+            handle.createQuery(SELECT_FULL_RELEASES_BY_KEYS)
+                    .bindArray("apps", String.class, releaseKeys.stream().map(ReleaseKey::application).toList())
+                    .bindArray("envs", String.class, releaseKeys.stream().map(ReleaseKey::environment).toList())
+                    .bindArray("vers", String.class, releaseKeys.stream().map(ReleaseKey::version).toList())
+                    .bindArray("rts", Timestamp.class, releaseTimestamps)
+                    .map((rs, ctx) -> Map.entry(rs.getInt("key_index"), toFullRelease(rs, ctx)))
+                    .forEach(entry -> fullReleases[entry.getKey() - 1] = entry.getValue());
+            return Result.of(Arrays.asList(fullReleases));
+        } catch (Exception ex) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not query {} full releases by key")
+                    .addArgument(releaseKeys.size())
+                    .setCause(ex)
+                    .log();
+            return Result.error();
+        }
+    }
+
+    public Result<Release> releaseById(final long id) {
+        try (final var handle = jdbi.open()) {
+            return handle.createQuery(SELECT_RELEASE_BY_ID)
+                    .bind("id", id)
                     .map(this::toRelease)
                     .findOne()
                     .map(Result::of)
@@ -66,18 +228,12 @@ public class ReleaseDBService {
         }
     }
 
-    public Result<BigInteger> releaseId(
+    public Result<Long> releaseId(
             final String application, final String environment, final String version, final Instant releaseTimestamp) {
         try (final var handle = jdbi.open()) {
-            final var query =
-                    """
-                    SELECT id
-                    FROM releases
-                    WHERE application = :app AND environment = :env AND version = :ver AND release_timestamp = :rts;
-                    """;
-            return handle.createQuery(query)
+            return handle.createQuery(SELECT_RELEASE_ID)
                     .bindMap(releaseBinds(application, environment, version, releaseTimestamp))
-                    .map((rs, ctx) -> rs.getBigDecimal("id").toBigInteger())
+                    .map((rs, ctx) -> rs.getLong("id"))
                     .findOne()
                     .map(Result::of)
                     .orElse(Result.empty());
@@ -97,13 +253,7 @@ public class ReleaseDBService {
 
     public Result<Set<Release>> releases(final String application, final String environment, final String version) {
         try (final var handle = jdbi.open()) {
-            final var query =
-                    """
-                    SELECT *
-                    FROM releases
-                    WHERE application = :app AND environment = :env AND version = :ver;
-                    """;
-            final var result = handle.createQuery(query)
+            final var result = handle.createQuery(SELECT_RELEASES)
                     .bind("app", application)
                     .bind("env", environment)
                     .bind("ver", version)
@@ -123,18 +273,12 @@ public class ReleaseDBService {
         }
     }
 
-    public Result<BigInteger> insert(
+    public Result<FullRelease> insert(
             final String application, final String environment, final String version, final Instant releaseTimestamp) {
         try (final var handle = jdbi.open()) {
-            final var updateStatement =
-                    """
-                    INSERT INTO releases(application, environment, version, release_timestamp)
-                    VALUES (:app, :env, :ver, :rts);
-                    """;
-            return handle.createUpdate(updateStatement)
+            return handle.createQuery(INSERT_RELEASE)
                     .bindMap(releaseBinds(application, environment, version, releaseTimestamp))
-                    .executeAndReturnGeneratedKeys("id")
-                    .map((rs, ctx) -> rs.getBigDecimal("id").toBigInteger())
+                    .map(this::toFullRelease)
                     .findOne()
                     .map(Result::of)
                     .orElse(Result.empty());
@@ -148,113 +292,77 @@ public class ReleaseDBService {
         }
     }
 
-    public Result<Set<FullRelease>> fullReleases() {
-        final var query =
-                """
-                SELECT
-                    id, application, environment, version, release_timestamp,
-                    rn.name, d.description, c.changes, r.responsibility, bl.build_location
-                FROM releases
-                    LEFT JOIN release_names rn on releases.id = rn.release_id
-                    LEFT JOIN descriptions d on releases.id = d.release_id
-                    LEFT JOIN changes c on releases.id = c.release_id
-                    LEFT JOIN responsibility r on c.release_id = r.release_id
-                    LEFT JOIN build_location bl on releases.id = bl.release_id
-                """;
+    public Result<UpsertedRelease> upsert(
+            final String application, final String environment, final String version, final Instant releaseTimestamp) {
+        final var binds = releaseBinds(application, environment, version, releaseTimestamp);
         try (final var handle = jdbi.open()) {
-            final var fullReleases =
-                    handle.createQuery(query).map(this::toFullRelease).collectIntoSet();
-            return fullReleases.isEmpty() ? Result.empty() : Result.of(fullReleases);
+            // A conflicting row committed after the snapshot of the statement is neither inserted nor visible to it,
+            // the second attempt sees it
+            return upsert(handle, binds)
+                    .or(() -> upsert(handle, binds))
+                    .map(Result::of)
+                    .orElse(Result.error());
         } catch (Exception ex) {
             log.atError()
                     .addMarker(GlobalConstants.Markers.DB)
-                    .setMessage("Could not query fullReleases")
+                    .setMessage("Could not upsert release [{}, {}, {}, {}]")
+                    .addArgument(application)
+                    .addArgument(environment)
+                    .addArgument(version)
+                    .addArgument(releaseTimestamp)
                     .setCause(ex)
                     .log();
             return Result.error();
         }
     }
 
-    public Result<Set<FullRelease>> fullReleasesByApplication(final String application) {
-        final var query =
-                """
-                SELECT
-                    id, application, environment, version, release_timestamp,
-                    rn.name, d.description, c.changes, r.responsibility, bl.build_location
-                FROM releases
-                    LEFT JOIN release_names rn on releases.id = rn.release_id
-                    LEFT JOIN descriptions d on releases.id = d.release_id
-                    LEFT JOIN changes c on releases.id = c.release_id
-                    LEFT JOIN responsibility r on c.release_id = r.release_id
-                    LEFT JOIN build_location bl on releases.id = bl.release_id
-                WHERE application = :app;
-                """;
+    @Override
+    public Result<List<FullRelease>> fullReleasesPage(final ReleaseQuery releaseQuery) {
         try (final var handle = jdbi.open()) {
-            final var fullReleases = handle.createQuery(query)
-                    .bind("app", application)
+            final var query = handle.createQuery(fullReleasesQuery(releaseQuery, true));
+            bindReleaseQuery(query, releaseQuery, true);
+            return Result.of(query.bind("limit", releaseQuery.limit() + 1)
                     .map(this::toFullRelease)
-                    .collectIntoSet();
-            return fullReleases.isEmpty() ? Result.empty() : Result.of(fullReleases);
+                    .list());
         } catch (Exception ex) {
             log.atError()
                     .addMarker(GlobalConstants.Markers.DB)
-                    .setMessage("Could not query fullReleases")
+                    .setMessage("Could not query a page of fullReleases by {}")
+                    .addArgument(releaseQuery)
                     .setCause(ex)
                     .log();
             return Result.error();
         }
     }
 
-    public Result<Set<FullRelease>> fullReleasesByApplicationAndEnvironment(
-            final String application, final String environment) {
-        final var query =
-                """
-                SELECT
-                    id, application, environment, version, release_timestamp,
-                    rn.name, d.description, c.changes, r.responsibility, bl.build_location
-                FROM releases
-                    LEFT JOIN release_names rn on releases.id = rn.release_id
-                    LEFT JOIN descriptions d on releases.id = d.release_id
-                    LEFT JOIN changes c on releases.id = c.release_id
-                    LEFT JOIN responsibility r on c.release_id = r.release_id
-                    LEFT JOIN build_location bl on releases.id = bl.release_id
-                WHERE application = :app AND environment = :env;
-                """;
-        try (final var handle = jdbi.open()) {
-            final var fullReleases = handle.createQuery(query)
-                    .bind("app", application)
-                    .bind("env", environment)
-                    .map(this::toFullRelease)
-                    .collectIntoSet();
-            return fullReleases.isEmpty() ? Result.empty() : Result.of(fullReleases);
+    @Override
+    public Result<Long> forEachFullRelease(final ReleaseQuery releaseQuery, final Consumer<FullRelease> consumer) {
+        try {
+            return jdbi.inTransaction(handle -> {
+                final var query = handle.createQuery(fullReleasesQuery(releaseQuery, false));
+                bindReleaseQuery(query, releaseQuery, false);
+                final var count = new long[] {0L};
+                query.setFetchSize(STREAM_FETCH_SIZE).map(this::toFullRelease).forEach(fullRelease -> {
+                    consumer.accept(fullRelease);
+                    count[0]++;
+                });
+                return count[0] == 0 ? Result.<Long>empty() : Result.of(count[0]);
+            });
         } catch (Exception ex) {
             log.atError()
                     .addMarker(GlobalConstants.Markers.DB)
-                    .setMessage("Could not query fullReleases")
+                    .setMessage("Could not stream fullReleases by {}")
+                    .addArgument(releaseQuery)
                     .setCause(ex)
                     .log();
             return Result.error();
         }
     }
 
+    @Override
     public Result<FullRelease> currentReleaseByApplication(final String application) {
-        final var query =
-                """
-                SELECT
-                    id, application, environment, version, release_timestamp,
-                    rn.name, d.description, c.changes, r.responsibility, bl.build_location
-                FROM releases
-                         LEFT JOIN release_names rn on releases.id = rn.release_id
-                         LEFT JOIN descriptions d on releases.id = d.release_id
-                         LEFT JOIN changes c on releases.id = c.release_id
-                         LEFT JOIN responsibility r on c.release_id = r.release_id
-                         LEFT JOIN build_location bl on releases.id = bl.release_id
-                WHERE application = :app
-                ORDER BY release_timestamp DESC
-                LIMIT 1;
-                """;
         try (final var handle = jdbi.open()) {
-            final var maybeFullRelease = handle.createQuery(query)
+            final var maybeFullRelease = handle.createQuery(SELECT_CURRENT_BY_APP)
                     .bind("app", application)
                     .map(this::toFullRelease)
                     .findOne();
@@ -270,25 +378,11 @@ public class ReleaseDBService {
         }
     }
 
+    @Override
     public Result<FullRelease> currentReleaseByApplicationAndEnvironment(
             final String application, final String environment) {
-        final var query =
-                """
-                SELECT
-                    id, application, environment, version, release_timestamp,
-                    rn.name, d.description, c.changes, r.responsibility, bl.build_location
-                FROM releases
-                         LEFT JOIN release_names rn on releases.id = rn.release_id
-                         LEFT JOIN descriptions d on releases.id = d.release_id
-                         LEFT JOIN changes c on releases.id = c.release_id
-                         LEFT JOIN responsibility r on c.release_id = r.release_id
-                         LEFT JOIN build_location bl on releases.id = bl.release_id
-                WHERE application = :app AND environment = :env
-                ORDER BY release_timestamp DESC
-                LIMIT 1;
-                """;
         try (final var handle = jdbi.open()) {
-            final var maybeFullRelease = handle.createQuery(query)
+            final var maybeFullRelease = handle.createQuery(SELECT_CURRENT_BY_APP_AND_ENV)
                     .bind("app", application)
                     .bind("env", environment)
                     .map(this::toFullRelease)
@@ -306,6 +400,98 @@ public class ReleaseDBService {
         }
     }
 
+    // Only reads the snapshot of the statement, writers are never waited for
+    public Result<Long> writeHorizon() {
+        try (final var handle = jdbi.open()) {
+            return Result.of(handle.createQuery(SELECT_WRITE_HORIZON).mapTo(Long.class).one());
+        } catch (Exception ex) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not query the write horizon")
+                    .setCause(ex)
+                    .log();
+            return Result.error();
+        }
+    }
+
+    public Result<Long> forEachFullReleaseWrittenSince(final long horizon, final Consumer<FullRelease> consumer) {
+        try {
+            return jdbi.inTransaction(handle -> {
+                final var count = new long[] {0L};
+                handle.createQuery(SELECT_FULL_RELEASES_WRITTEN_SINCE)
+                        .bind("horizon", horizon)
+                        .setFetchSize(STREAM_FETCH_SIZE)
+                        .map(this::toFullRelease)
+                        .forEach(fullRelease -> {
+                            consumer.accept(fullRelease);
+                            count[0]++;
+                        });
+                return count[0] == 0 ? Result.<Long>empty() : Result.of(count[0]);
+            });
+        } catch (Exception ex) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not stream fullReleases written since transaction {}")
+                    .addArgument(horizon)
+                    .setCause(ex)
+                    .log();
+            return Result.error();
+        }
+    }
+
+    private static String[] fullReleasesQueries() {
+        final var queries = new String[QUERY_PAGINATED << 1];
+        for (int flags = 0; flags < queries.length; flags++) {
+            final var descending = (flags & QUERY_DESCENDING) != 0;
+            final var conditions = new ArrayList<String>(6);
+            if ((flags & QUERY_APP) != 0) conditions.add("application = :app");
+            if ((flags & QUERY_ENV) != 0) conditions.add("environment = :env");
+            if ((flags & QUERY_VERSION) != 0) conditions.add("version = :ver");
+            if ((flags & QUERY_FROM) != 0) conditions.add("release_timestamp >= :from");
+            if ((flags & QUERY_TO) != 0) conditions.add("release_timestamp < :to");
+            if ((flags & QUERY_AFTER) != 0) {
+                conditions.add("(release_timestamp, id) %s (:after_rts, :after_id)".formatted(descending ? "<" : ">"));
+            }
+
+            // Both directions are range scans of the (application, environment, release_timestamp, id) indexes
+            final var query = new StringBuilder(FULL_RELEASE_SELECT);
+            if (!conditions.isEmpty()) query.append("WHERE ").append(String.join(" AND ", conditions));
+            if ((flags & QUERY_ORDERED) != 0) {
+                query.append(" ORDER BY ")
+                        .append(descending ? "release_timestamp DESC, id DESC" : "release_timestamp, id");
+            }
+            if ((flags & QUERY_PAGINATED) != 0) query.append(" LIMIT :limit");
+            queries[flags] = query.toString();
+        }
+        return queries;
+    }
+
+    private String fullReleasesQuery(final ReleaseQuery releaseQuery, final boolean paginated) {
+        var flags = 0;
+        if (Objects.nonNull(releaseQuery.application())) flags |= QUERY_APP;
+        if (Objects.nonNull(releaseQuery.environment())) flags |= QUERY_ENV;
+        if (Objects.nonNull(releaseQuery.version())) flags |= QUERY_VERSION;
+        if (Objects.nonNull(releaseQuery.from())) flags |= QUERY_FROM;
+        if (Objects.nonNull(releaseQuery.to())) flags |= QUERY_TO;
+        if (paginated && Objects.nonNull(releaseQuery.after())) flags |= QUERY_AFTER;
+        if (paginated || Objects.nonNull(releaseQuery.order())) flags |= QUERY_ORDERED;
+        if (releaseQuery.descending()) flags |= QUERY_DESCENDING;
+        if (paginated) flags |= QUERY_PAGINATED;
+        return FULL_RELEASES_QUERIES[flags];
+    }
+
+    private void bindReleaseQuery(final Query query, final ReleaseQuery releaseQuery, final boolean paginated) {
+        if (Objects.nonNull(releaseQuery.application())) query.bind("app", releaseQuery.application());
+        if (Objects.nonNull(releaseQuery.environment())) query.bind("env", releaseQuery.environment());
+        if (Objects.nonNull(releaseQuery.version())) query.bind("ver", releaseQuery.version());
+        if (Objects.nonNull(releaseQuery.from())) query.bind("from", releaseQuery.from());
+        if (Objects.nonNull(releaseQuery.to())) query.bind("to", releaseQuery.to());
+        if (paginated && Objects.nonNull(releaseQuery.after())) {
+            query.bind("after_rts", releaseQuery.after().releaseTimestamp());
+            query.bind("after_id", releaseQuery.after().id());
+        }
+    }
+
     private Map<String, ?> releaseBinds(
             final String application, final String environment, final String version, final Instant releaseTimestamp) {
         return Map.ofEntries(
@@ -317,24 +503,42 @@ public class ReleaseDBService {
 
     private Release toRelease(final ResultSet rs, final StatementContext ctx) throws SQLException {
         return new Release(
-                rs.getString("application"),
-                rs.getString("environment"),
-                rs.getString("version"),
+                stringDictionaryService.application(rs.getString("application")),
+                stringDictionaryService.environment(rs.getString("environment")),
+                stringDictionaryService.version(rs.getString("version")),
                 rs.getTimestamp("release_timestamp").toInstant(),
-                rs.getBigDecimal("id").toBigInteger());
+                rs.getLong("id"));
+    }
+
+    private Optional<UpsertedRelease> upsert(final Handle handle, final Map<String, ?> binds) {
+        return handle.createQuery(UPSERT_RELEASE)
+                .bindMap(binds)
+                .map(this::toUpsertedRelease)
+                .findOne();
+    }
+
+    private UpsertedRelease toUpsertedRelease(final ResultSet rs, final StatementContext ctx) throws SQLException {
+        return new UpsertedRelease(rs.getLong("id"), rs.getBoolean("created"), toFullRelease(rs, ctx));
     }
 
     private FullRelease toFullRelease(final ResultSet rs, final StatementContext ctx) throws SQLException {
+        return toFullRelease(rs, stringDictionaryService);
+    }
+
+    // Also maps the rows the optional information statements return, a NULL revision predates the revisions
+    static FullRelease toFullRelease(final ResultSet rs, final StringDictionaryService stringDictionaryService)
+            throws SQLException {
         return new FullRelease(
-                rs.getBigDecimal("id").toBigInteger(),
-                rs.getString("application"),
-                rs.getString("environment"),
-                rs.getString("version"),
+                rs.getLong("id"),
+                stringDictionaryService.application(rs.getString("application")),
+                stringDictionaryService.environment(rs.getString("environment")),
+                stringDictionaryService.version(rs.getString("version")),
                 rs.getTimestamp("release_timestamp").toInstant(),
-                rs.getString("name"),
+                rs.getString("release_name"),
                 rs.getString("description"),
                 rs.getString("changes"),
                 rs.getString("responsibility"),
-                rs.getString("build_location"));
+                rs.getString("build_location"),
+                rs.getLong("revision"));
     }
 }
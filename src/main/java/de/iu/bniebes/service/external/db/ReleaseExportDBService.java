@@ -0,0 +1,97 @@
+package de.iu.bniebes.service.external.db;
+
+import de.iu.bniebes.constant.GlobalConstants;
+import de.iu.bniebes.model.parameter.BulkFormat;
+import de.iu.bniebes.model.parameter.ExportParameters;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.TimeZone;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Jdbi;
+import org.postgresql.PGConnection;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseExportDBService {
+
+    // release_timestamp holds the wall time of the application time zone, see the Instant binding of Jdbi
+    private static final String TIME_ZONE = literal(TimeZone.getDefault().getID());
+    private static final String ZULU_EPOCH_MICROS =
+            "CAST(EXTRACT(EPOCH FROM release_timestamp AT TIME ZONE %s) * 1000000 AS BIGINT)".formatted(TIME_ZONE);
+    private static final String FROM_RELEASES = "FROM releases\n";
+    private static final String CSV_SELECT =
+            """
+            SELECT application, environment, version, %s AS "zuluEpochMicros",
+                release_name AS "releaseName", description, changes, responsibility,
+                build_location AS "buildLocation"
+            """
+                    .formatted(ZULU_EPOCH_MICROS);
+    private static final String NDJSON_SELECT =
+            """
+            SELECT json_strip_nulls(json_build_object(
+                'application', application, 'environment', environment, 'version', version,
+                'zuluEpochMicros', %s, 'releaseName', release_name, 'description', description,
+                'changes', changes, 'responsibility', responsibility, 'buildLocation', build_location))
+            """
+                    .formatted(ZULU_EPOCH_MICROS);
+    private static final String CSV_OPTIONS = "(FORMAT csv, HEADER true)";
+    // Json never contains raw control characters, with these quote and delimiter characters nothing gets quoted
+    private static final String NDJSON_OPTIONS = "(FORMAT csv, QUOTE e'\\x01', DELIMITER e'\\x02')";
+
+    private final Jdbi jdbi;
+
+    public Result<Long> export(final ExportParameters exportParameters, final OutputStream outputStream) {
+        try (final var handle = jdbi.open()) {
+            final var copyAPI = handle.getConnection().unwrap(PGConnection.class).getCopyAPI();
+            return Result.of(copyAPI.copyOut(copyStatement(exportParameters), outputStream));
+        } catch (Exception ex) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not export releases by {}")
+                    .addArgument(exportParameters)
+                    .setCause(ex)
+                    .log();
+            return Result.error();
+        }
+    }
+
+    static String copyStatement(final ExportParameters exportParameters) {
+        final var conditions = new ArrayList<String>(4);
+        if (Objects.nonNull(exportParameters.application())) {
+            conditions.add("application = " + literal(exportParameters.application()));
+        }
+        if (Objects.nonNull(exportParameters.environment())) {
+            conditions.add("environment = " + literal(exportParameters.environment()));
+        }
+        if (Objects.nonNull(exportParameters.from())) {
+            conditions.add("release_timestamp >= " + timestampLiteral(exportParameters.from()));
+        }
+        if (Objects.nonNull(exportParameters.to())) {
+            conditions.add("release_timestamp < " + timestampLiteral(exportParameters.to()));
+        }
+
+        final var csv = exportParameters.format() == BulkFormat.CSV;
+        final var query = new StringBuilder("COPY (");
+        query.append(csv ? CSV_SELECT : NDJSON_SELECT).append(FROM_RELEASES);
+        if (!conditions.isEmpty()) query.append("WHERE ").append(String.join(" AND ", conditions));
+        query.append(" ORDER BY release_timestamp, id) TO STDOUT WITH ");
+        query.append(csv ? CSV_OPTIONS : NDJSON_OPTIONS);
+        return query.toString();
+    }
+
+    // COPY does not support bind parameters, values are sanitized before and escaped here
+    private static String literal(final String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    // The inverse of ZULU_EPOCH_MICROS, computed by the database instead of formatting a wall time here
+    private static String timestampLiteral(final Instant instant) {
+        return "(TIMESTAMPTZ 'epoch' + INTERVAL '1 microsecond' * %d) AT TIME ZONE %s"
+                .formatted(ZuluEpochMicros.of(instant), TIME_ZONE);
+    }
+}
@@ -0,0 +1,165 @@
+package de.iu.bniebes.service.external.db;
+
+import de.iu.bniebes.constant.GlobalConstants;
+import de.iu.bniebes.model.db.ImportedReleases;
+import de.iu.bniebes.model.db.ReleaseImport;
+import de.iu.bniebes.model.result.Result;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseImportDBService {
+
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+    private static final String CREATE_STAGING_TABLE =
+            """
+            CREATE TEMPORARY TABLE release_import
+            (
+                line              BIGINT,
+                application       VARCHAR,
+                environment       VARCHAR,
+                version           VARCHAR,
+                release_timestamp TIMESTAMP,
+                release_name      VARCHAR,
+                description       VARCHAR,
+                changes           VARCHAR,
+                responsibility    VARCHAR,
+                build_location    VARCHAR
+            ) ON COMMIT DROP;
+            """;
+    private static final String COPY_STAGING_TABLE =
+            """
+            COPY release_import (line, application, environment, version, release_timestamp,
+                release_name, description, changes, responsibility, build_location)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+    // Per release and column the value of the last line wins, releases without new values are not rewritten
+    private static final String MERGE_RELEASES =
+            """
+            WITH merged AS (
+                INSERT INTO releases(application, environment, version, release_timestamp,
+                    release_name, description, changes, responsibility, build_location)
+                SELECT application, environment, version, release_timestamp,
+                    (array_agg(release_name ORDER BY line DESC) FILTER (WHERE release_name IS NOT NULL))[1],
+                    (array_agg(description ORDER BY line DESC) FILTER (WHERE description IS NOT NULL))[1],
+                    (array_agg(changes ORDER BY line DESC) FILTER (WHERE changes IS NOT NULL))[1],
+                    (array_agg(responsibility ORDER BY line DESC) FILTER (WHERE responsibility IS NOT NULL))[1],
+                    (array_agg(build_location ORDER BY line DESC) FILTER (WHERE build_location IS NOT NULL))[1]
+                FROM release_import
+                GROUP BY application, environment, version, release_timestamp
+                ON CONFLICT (application, environment, version, release_timestamp) DO UPDATE SET
+                    release_name = COALESCE(EXCLUDED.release_name, releases.release_name),
+                    description = COALESCE(EXCLUDED.description, releases.description),
+                    changes = COALESCE(EXCLUDED.changes, releases.changes),
+                    responsibility = COALESCE(EXCLUDED.responsibility, releases.responsibility),
+                    build_location = COALESCE(EXCLUDED.build_location, releases.build_location)
+                WHERE num_nonnulls(EXCLUDED.release_name, EXCLUDED.description, EXCLUDED.changes,
+                    EXCLUDED.responsibility, EXCLUDED.build_location) > 0
+                RETURNING (xmax = 0) AS created
+            )
+            SELECT count(*) FILTER (WHERE created) FROM merged;
+            """;
+    private static final String MERGE_CURRENT_RELEASES =
+            """
+            INSERT INTO current_releases(application, environment, release_timestamp, release_id)
+            SELECT DISTINCT ON (application, environment) application, environment, release_timestamp, r.id
+            FROM release_import s
+                JOIN releases r USING (application, environment, version, release_timestamp)
+            ORDER BY application, environment, release_timestamp DESC, r.id DESC
+            ON CONFLICT (application, environment) DO UPDATE
+            SET release_timestamp = EXCLUDED.release_timestamp, release_id = EXCLUDED.release_id
+            WHERE (current_releases.release_timestamp, current_releases.release_id)
+                < (EXCLUDED.release_timestamp, EXCLUDED.release_id);
+            """;
+    private static final String MERGE_CURRENT_APPLICATION_RELEASES =
+            """
+            INSERT INTO current_application_releases(application, release_timestamp, release_id)
+            SELECT DISTINCT ON (application) application, release_timestamp, r.id
+            FROM release_import s
+                JOIN releases r USING (application, environment, version, release_timestamp)
+            ORDER BY application, release_timestamp DESC, r.id DESC
+            ON CONFLICT (application) DO UPDATE
+            SET release_timestamp = EXCLUDED.release_timestamp, release_id = EXCLUDED.release_id
+            WHERE (current_application_releases.release_timestamp, current_application_releases.release_id)
+                < (EXCLUDED.release_timestamp, EXCLUDED.release_id);
+            """;
+
+    private final Jdbi jdbi;
+
+    public Result<ImportedReleases> importReleases(final Iterator<ReleaseImport> releaseImports) {
+        try {
+            return jdbi.inTransaction(handle -> {
+                handle.execute(CREATE_STAGING_TABLE);
+                final var imported = copy(handle, releaseImports);
+                if (imported == 0) return Result.of(new ImportedReleases(0L, 0L));
+
+                handle.execute("ANALYZE release_import;");
+                final long created = handle.createQuery(MERGE_RELEASES).mapTo(Long.class).one();
+                handle.execute(MERGE_CURRENT_RELEASES);
+                handle.execute(MERGE_CURRENT_APPLICATION_RELEASES);
+                return Result.of(new ImportedReleases(imported, created));
+            });
+        } catch (Exception ex) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not import releases")
+                    .setCause(ex)
+                    .log();
+            return Result.error();
+        }
+    }
+
+    private long copy(final Handle handle, final Iterator<ReleaseImport> releaseImports) throws Exception {
+        final var pgConnection = handle.getConnection().unwrap(PGConnection.class);
+        final var copyStream = new PGCopyOutputStream(pgConnection, COPY_STAGING_TABLE, COPY_BUFFER_SIZE);
+        final var writer =
+                new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+        try {
+            var line = 0L;
+            while (releaseImports.hasNext()) {
+                writeCsvRow(writer, ++line, releaseImports.next());
+            }
+            writer.flush();
+            return copyStream.endCopy();
+        } catch (Exception ex) {
+            if (copyStream.isActive()) copyStream.cancelCopy();
+            throw ex;
+        }
+    }
+
+    private void writeCsvRow(final Writer writer, final long line, final ReleaseImport releaseImport)
+            throws IOException {
+        writer.write(Long.toString(line));
+        writeCsvValue(writer, releaseImport.application());
+        writeCsvValue(writer, releaseImport.environment());
+        writeCsvValue(writer, releaseImport.version());
+        writeCsvValue(writer, Timestamp.from(releaseImport.releaseTimestamp()).toString());
+        writeCsvValue(writer, releaseImport.releaseName());
+        writeCsvValue(writer, releaseImport.description());
+        writeCsvValue(writer, releaseImport.changes());
+        writeCsvValue(writer, releaseImport.responsibility());
+        writeCsvValue(writer, releaseImport.buildLocation());
+        writer.write('\n');
+    }
+
+    private void writeCsvValue(final Writer writer, final String value) throws IOException {
+        writer.write(',');
+        if (Objects.isNull(value)) return;
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
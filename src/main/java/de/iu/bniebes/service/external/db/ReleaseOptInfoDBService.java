@@ -4,163 +4,211 @@ import de.iu.bniebes.constant.GlobalConstants;
 import de.iu.bniebes.model.OptInfo;
 import de.iu.bniebes.model.db.*;
 import de.iu.bniebes.model.result.Result;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.util.function.BiFunction;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.statement.StatementContext;
 
 @Slf4j
 @RequiredArgsConstructor
 public class ReleaseOptInfoDBService {
 
-    private static final String TABLE_RELEASE_NAME = "release_names";
-    private static final String COLUMN_RELEASE_NAME = "name";
-    private static final String TABLE_DESCRIPTION = "descriptions";
-    private static final String COLUMN_DESCRIPTION = "description";
-    private static final String TABLE_CHANGES = "changes";
-    private static final String COLUMN_CHANGES = "changes";
-    private static final String TABLE_RESPONSIBILITY = "responsibility";
-    private static final String COLUMN_RESPONSIBILITY = "responsibility";
-    private static final String TABLE_BUILD_LOCATION = "build_location";
-    private static final String COLUMN_BUILD_LOCATION = "build_location";
+    private record Statements(String column, String update, String selectById, String deleteById) {
+
+        private static Statements of(final String column) {
+            return new Statements(
+                    column,
+                    "UPDATE releases SET %s = :value WHERE id = :release_id;".formatted(column),
+                    "SELECT id, %1$s AS value FROM releases WHERE id = :id AND %1$s IS NOT NULL;".formatted(column),
+                    "UPDATE releases SET %1$s = NULL WHERE id = :id AND %1$s IS NOT NULL RETURNING *;"
+                            .formatted(column));
+        }
+    }
+
+    @FunctionalInterface
+    private interface OptInfoMapper<T> {
+        T map(long releaseId, String value);
+    }
+
+    private static final Map<OptInfo, Statements> STATEMENTS = statements();
+    // Absent values are bound as null and keep the stored value, so a release is written once for all values.
+    // The updated rows come back with their new revision, the read model applies them in commit order.
+    private static final String UPDATE_ALL =
+            """
+            UPDATE releases SET %s
+            FROM unnest(:ids, %s) AS v(id, %s)
+            WHERE releases.id = v.id
+            RETURNING releases.*;
+            """
+                    .formatted(columns("%1$s = COALESCE(v.%1$s, releases.%1$s)"), columns(":%s"), columns("%s"));
+
+    private static Map<OptInfo, Statements> statements() {
+        final var statements = new EnumMap<OptInfo, Statements>(OptInfo.class);
+        statements.put(OptInfo.RELEASE_NAME, Statements.of("release_name"));
+        statements.put(OptInfo.DESCRIPTION, Statements.of("description"));
+        statements.put(OptInfo.CHANGES, Statements.of("changes"));
+        statements.put(OptInfo.RESPONSIBILITY, Statements.of("responsibility"));
+        statements.put(OptInfo.BUILD_LOCATION, Statements.of("build_location"));
+        return Collections.unmodifiableMap(statements);
+    }
 
     private final Jdbi jdbi;
+    private final StringDictionaryService stringDictionaryService;
 
-    public boolean insertReleaseName(final BigInteger releaseId, final String name) {
-        return insertOptInfo(releaseId, TABLE_RELEASE_NAME, COLUMN_RELEASE_NAME, name);
+    private static String column(final OptInfo optInfo) {
+        return STATEMENTS.get(optInfo).column();
     }
 
-    public Result<ReleaseName> releaseNameById(final BigInteger releaseId) {
-        return queryByReleaseId(releaseId, TABLE_RELEASE_NAME, COLUMN_RELEASE_NAME, ReleaseName::new);
+    private static String columns(final String format) {
+        return Arrays.stream(OptInfo.values())
+                .map(optInfo -> format.formatted(column(optInfo)))
+                .collect(Collectors.joining(", "));
     }
 
-    public boolean insertDescription(final BigInteger releaseId, final String description) {
-        return insertOptInfo(releaseId, TABLE_DESCRIPTION, COLUMN_DESCRIPTION, description);
+    public boolean insertReleaseName(final long releaseId, final String name) {
+        return insertOptInfo(releaseId, OptInfo.RELEASE_NAME, name);
     }
 
-    public Result<Description> descriptionById(final BigInteger releaseId) {
-        return queryByReleaseId(releaseId, TABLE_DESCRIPTION, COLUMN_DESCRIPTION, Description::new);
+    public Result<ReleaseName> releaseNameById(final long releaseId) {
+        return queryByReleaseId(releaseId, OptInfo.RELEASE_NAME, ReleaseName::new);
     }
 
-    public boolean insertChanges(final BigInteger releaseId, final String changes) {
-        return insertOptInfo(releaseId, TABLE_CHANGES, COLUMN_CHANGES, changes);
+    public boolean insertDescription(final long releaseId, final String description) {
+        return insertOptInfo(releaseId, OptInfo.DESCRIPTION, description);
     }
 
-    public Result<Changes> changesById(final BigInteger releaseId) {
-        return queryByReleaseId(releaseId, TABLE_CHANGES, COLUMN_CHANGES, Changes::new);
+    public Result<Description> descriptionById(final long releaseId) {
+        return queryByReleaseId(releaseId, OptInfo.DESCRIPTION, Description::new);
     }
 
-    public boolean insertResponsibility(final BigInteger releaseId, final String responsibility) {
-        return insertOptInfo(releaseId, TABLE_RESPONSIBILITY, COLUMN_RESPONSIBILITY, responsibility);
+    public boolean insertChanges(final long releaseId, final String changes) {
+        return insertOptInfo(releaseId, OptInfo.CHANGES, changes);
     }
 
-    public Result<Responsibility> responsibilityById(final BigInteger releaseId) {
-        return queryByReleaseId(releaseId, TABLE_RESPONSIBILITY, COLUMN_RESPONSIBILITY, Responsibility::new);
+    public Result<Changes> changesById(final long releaseId) {
+        return queryByReleaseId(releaseId, OptInfo.CHANGES, Changes::new);
     }
 
-    public boolean insertBuildLocation(final BigInteger releaseId, final String buildLocation) {
-        return insertOptInfo(releaseId, TABLE_BUILD_LOCATION, COLUMN_BUILD_LOCATION, buildLocation);
+    public boolean insertResponsibility(final long releaseId, final String responsibility) {
+        return insertOptInfo(releaseId, OptInfo.RESPONSIBILITY, responsibility);
     }
 
-    public Result<BuildLocation> buildLocationById(final BigInteger releaseId) {
-        return queryByReleaseId(releaseId, TABLE_BUILD_LOCATION, COLUMN_BUILD_LOCATION, BuildLocation::new);
+    public Result<Responsibility> responsibilityById(final long releaseId) {
+        return queryByReleaseId(releaseId, OptInfo.RESPONSIBILITY, Responsibility::new);
     }
 
-    public Result<String> stringValueById(final BigInteger releaseId, final OptInfo optInfo) {
-        return switch (optInfo) {
-            case RELEASE_NAME -> queryStringValueById(releaseId, TABLE_RELEASE_NAME, COLUMN_RELEASE_NAME);
-            case DESCRIPTION -> queryStringValueById(releaseId, TABLE_DESCRIPTION, COLUMN_DESCRIPTION);
-            case CHANGES -> queryStringValueById(releaseId, TABLE_CHANGES, COLUMN_CHANGES);
-            case RESPONSIBILITY -> queryStringValueById(releaseId, TABLE_RESPONSIBILITY, COLUMN_RESPONSIBILITY);
-            case BUILD_LOCATION -> queryStringValueById(releaseId, TABLE_BUILD_LOCATION, COLUMN_BUILD_LOCATION);
-        };
+    public boolean insertBuildLocation(final long releaseId, final String buildLocation) {
+        return insertOptInfo(releaseId, OptInfo.BUILD_LOCATION, buildLocation);
     }
 
-    public Result<Boolean> deleteValueById(final BigInteger releaseId, final OptInfo optInfo) {
-        return switch (optInfo) {
-            case RELEASE_NAME -> deleteOptInfoById(releaseId, TABLE_RELEASE_NAME);
-            case DESCRIPTION -> deleteOptInfoById(releaseId, TABLE_DESCRIPTION);
-            case CHANGES -> deleteOptInfoById(releaseId, TABLE_CHANGES);
-            case RESPONSIBILITY -> deleteOptInfoById(releaseId, TABLE_RESPONSIBILITY);
-            case BUILD_LOCATION -> deleteOptInfoById(releaseId, TABLE_BUILD_LOCATION);
-        };
+    public Result<BuildLocation> buildLocationById(final long releaseId) {
+        return queryByReleaseId(releaseId, OptInfo.BUILD_LOCATION, BuildLocation::new);
     }
 
-    private boolean insertOptInfo(
-            final BigInteger id, final String table, final String columnName, final String value) {
-        try (final var handle = jdbi.open()) {
-            final var insertStatement =
-                    """
-                    INSERT INTO %s(release_id, %s) VALUES (:release_id, :value)
-                    ON CONFLICT (release_id) DO UPDATE SET %s = EXCLUDED.%s;
-                    """;
-            final var result = handle.createUpdate(insertStatement.formatted(table, columnName, columnName, columnName))
-                    .bind("release_id", new BigDecimal(id))
-                    .bind("value", value)
-                    .execute();
-            return result == 1;
+    public Result<List<FullRelease>> upsertAll(final Collection<OptInfoValue> optInfoValues) {
+        if (optInfoValues.isEmpty()) return Result.of(List.of());
+        final var valuesByReleaseId = new LinkedHashMap<Long, Map<OptInfo, String>>();
+        optInfoValues.forEach(optInfoValue -> valuesByReleaseId
+                .computeIfAbsent(optInfoValue.releaseId(), releaseId -> new EnumMap<>(OptInfo.class))
+                .put(optInfoValue.optInfo(), optInfoValue.value()));
+        try {
+            return Result.of(jdbi.inTransaction(handle -> {
+                final var update =
+                        handle.createQuery(UPDATE_ALL).bindArray("ids", Long.class, valuesByReleaseId.keySet());
+                for (final var optInfo : OptInfo.values()) {
+                    final var values = valuesByReleaseId.values().stream()
+                            .map(valuesByOptInfo -> valuesByOptInfo.get(optInfo))
+                            .toList();
+                    update.bindArray(column(optInfo), String.class, values);
+                }
+                final var fullReleases = update.map(this::toFullRelease).list();
+                if (fullReleases.size() != valuesByReleaseId.size()) {
+                    throw new IllegalStateException("Release not present");
+                }
+                return fullReleases;
+            }));
         } catch (Exception ex) {
             log.atError()
                     .addMarker(GlobalConstants.Markers.DB)
-                    .setMessage("Could not insert into {}")
-                    .addArgument(table)
+                    .setMessage("Could not upsert {} optional information values")
+                    .addArgument(optInfoValues.size())
                     .setCause(ex)
                     .log();
-            return false;
+            return Result.error();
         }
     }
 
-    private <T> Result<T> queryByReleaseId(
-            final BigInteger id,
-            final String table,
-            final String columnName,
-            final BiFunction<BigInteger, String, T> mappingFn) {
+    public Result<String> stringValueById(final long releaseId, final OptInfo optInfo) {
+        return queryByReleaseId(releaseId, optInfo, (id, value) -> value);
+    }
+
+    // Returns the release without the value, empty when there was no value to delete
+    public Result<FullRelease> deleteValueById(final long releaseId, final OptInfo optInfo) {
         try (final var handle = jdbi.open()) {
-            return handle.createQuery("SELECT * FROM %s WHERE release_id = :id;".formatted(table))
-                    .bind("id", new BigDecimal(id))
-                    .map((rs, ctx) ->
-                            mappingFn.apply(rs.getBigDecimal("release_id").toBigInteger(), rs.getString(columnName)))
+            return handle.createQuery(STATEMENTS.get(optInfo).deleteById())
+                    .bind("id", releaseId)
+                    .map(this::toFullRelease)
                     .findOne()
                     .map(Result::of)
                     .orElse(Result.empty());
         } catch (Exception ex) {
-            errorLog(id);
+            errorLog(releaseId, optInfo);
             return Result.error();
         }
     }
 
-    private Result<String> queryStringValueById(final BigInteger id, final String table, final String columnName) {
+    private boolean insertOptInfo(final long id, final OptInfo optInfo, final String value) {
         try (final var handle = jdbi.open()) {
-            return handle.createQuery("SELECT * FROM %s WHERE release_id = :id;".formatted(table))
-                    .bind("id", new BigDecimal(id))
-                    .map((rs, ctx) -> rs.getString(columnName))
-                    .findOne()
-                    .map(Result::of)
-                    .orElse(Result.empty());
+            final var result = handle.createUpdate(STATEMENTS.get(optInfo).update())
+                    .bind("release_id", id)
+                    .bind("value", value)
+                    .execute();
+            return result == 1;
         } catch (Exception ex) {
-            errorLog(id);
-            return Result.error();
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.DB)
+                    .setMessage("Could not insert {}")
+                    .addArgument(optInfo.label)
+                    .setCause(ex)
+                    .log();
+            return false;
         }
     }
 
-    private Result<Boolean> deleteOptInfoById(final BigInteger id, final String table) {
+    private <T> Result<T> queryByReleaseId(final long id, final OptInfo optInfo, final OptInfoMapper<T> mappingFn) {
         try (final var handle = jdbi.open()) {
-            final var deleteResult = handle.createUpdate("DELETE FROM %s WHERE release_id = :id;".formatted(table))
-                    .bind("id", new BigDecimal(id))
-                    .execute();
-            return deleteResult == 1 ? Result.of(Boolean.TRUE) : Result.empty();
+            return handle.createQuery(STATEMENTS.get(optInfo).selectById())
+                    .bind("id", id)
+                    .map((rs, ctx) -> mappingFn.map(rs.getLong(1), rs.getString(2)))
+                    .findOne()
+                    .map(Result::of)
+                    .orElse(Result.empty());
         } catch (Exception ex) {
-            errorLog(id);
+            errorLog(id, optInfo);
             return Result.error();
         }
     }
 
-    private void errorLog(final BigInteger id) {
+    private FullRelease toFullRelease(final ResultSet rs, final StatementContext ctx) throws SQLException {
+        return ReleaseDBService.toFullRelease(rs, stringDictionaryService);
+    }
+
+    private void errorLog(final long id, final OptInfo optInfo) {
         log.atError()
                 .addMarker(GlobalConstants.Markers.DB)
-                .setMessage("Could not query a release name by release id: {}")
+                .setMessage("Could not access {} by release id: {}")
+                .addArgument(optInfo.label)
                 .addArgument(id)
                 .log();
     }
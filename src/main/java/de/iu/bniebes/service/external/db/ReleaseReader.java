@@ -0,0 +1,25 @@
+package de.iu.bniebes.service.external.db;
+
+import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.model.parameter.ReleaseKey;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
+import de.iu.bniebes.model.result.Result;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ReleaseReader {
+
+    Result<FullRelease> fullRelease(String application, String environment, String version, Instant releaseTimestamp);
+
+    // In the order of the keys, null where a key has no release
+    Result<List<FullRelease>> fullReleases(List<ReleaseKey> releaseKeys);
+
+    Result<List<FullRelease>> fullReleasesPage(ReleaseQuery releaseQuery);
+
+    Result<Long> forEachFullRelease(ReleaseQuery releaseQuery, Consumer<FullRelease> consumer);
+
+    Result<FullRelease> currentReleaseByApplication(String application);
+
+    Result<FullRelease> currentReleaseByApplicationAndEnvironment(String application, String environment);
+}
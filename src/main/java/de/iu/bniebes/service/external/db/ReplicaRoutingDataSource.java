@@ -0,0 +1,155 @@
+package de.iu.bniebes.service.external.db;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+// Reads go to the primary while the replica is unavailable, without waiting for the connection timeout of the
+// replica pool on every read. A probe on a virtual thread checks whether the replica is back every retry interval.
+@Slf4j
+public class ReplicaRoutingDataSource implements DataSource {
+
+    static final String CAUGHT_UP_QUERY = """
+            SELECT CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END
+                >= CAST(? AS pg_lsn)
+            """;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryNanos;
+
+    private final AtomicBoolean available = new AtomicBoolean(true);
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile long nextProbeNanos;
+
+    public ReplicaRoutingDataSource(final DataSource primary, final DataSource replica, final long retryMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(retryMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!available.get()) {
+            probeIfDue();
+            return primary.getConnection();
+        }
+
+        final Connection replicaConnection;
+        try {
+            replicaConnection = replica.getConnection();
+        } catch (SQLException sqlEx) {
+            markUnavailable(sqlEx);
+            return primary.getConnection();
+        }
+
+        final var maybeMinLsn = ReadConsistency.minLsn();
+        if (maybeMinLsn.isEmpty() || caughtUp(replicaConnection, maybeMinLsn.get())) return replicaConnection;
+
+        replicaConnection.close();
+        return primary.getConnection();
+    }
+
+    private void markUnavailable(final SQLException sqlEx) {
+        nextProbeNanos = System.nanoTime() + retryNanos;
+        if (!available.compareAndSet(true, false)) return;
+        log.atWarn()
+                .addMarker(Markers.DB)
+                .setMessage("Replica unavailable, routing reads to primary until it is available again")
+                .setCause(sqlEx)
+                .log();
+    }
+
+    private void probeIfDue() {
+        if (System.nanoTime() - nextProbeNanos < 0 || !probing.compareAndSet(false, true)) return;
+        Thread.ofVirtual().name("replica-probe").start(this::probe);
+    }
+
+    private void probe() {
+        try (final var ignored = replica.getConnection()) {
+            if (available.compareAndSet(false, true)) {
+                log.atInfo()
+                        .addMarker(Markers.DB)
+                        .setMessage("Replica available again, routing reads to replica")
+                        .log();
+            }
+        } catch (SQLException sqlEx) {
+            nextProbeNanos = System.nanoTime() + retryNanos;
+            log.atDebug()
+                    .addMarker(Markers.DB)
+                    .setMessage("Replica still unavailable")
+                    .setCause(sqlEx)
+                    .log();
+        } finally {
+            probing.set(false);
+        }
+    }
+
+    private boolean caughtUp(final Connection replicaConnection, final String minLsn) {
+        try (final var statement = replicaConnection.prepareStatement(CAUGHT_UP_QUERY)) {
+            statement.setString(1, minLsn);
+            try (final var resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        } catch (SQLException sqlEx) {
+            log.atWarn()
+                    .addMarker(Markers.DB)
+                    .setMessage("Could not determine replica lag for LSN {}, routing read to primary")
+                    .addArgument(minLsn)
+                    .setCause(sqlEx)
+                    .log();
+            return false;
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+        replica.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+        replica.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for %s".formatted(iface));
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,183 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.model.db.ReleaseChange;
+import de.iu.bniebes.model.response.ReleaseEvent;
+import de.iu.bniebes.service.external.db.ReleaseChangeDBService;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+
+// Reloads run on their own thread, the listener and imports only queue them and return
+@Slf4j
+public class CacheInvalidationService implements AutoCloseable {
+
+    // pg_notify rejects payloads of 8000 bytes and more, names this long fall back to invalidating everything
+    static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private record ApplicationEnvironment(String application, String environment) {}
+
+    private final CurrentReleaseCacheService currentReleaseCacheService;
+    private final ReleaseListCacheService releaseListCacheService;
+    private final ReleaseReadModelService releaseReadModelService;
+    private final ReleaseChangeDBService releaseChangeDBService;
+    private final ReleaseEventService releaseEventService;
+    private final Executor reloadExecutor;
+
+    private final String instance = UUID.randomUUID().toString();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Changes queued while a reload runs are coalesced, a full reload covers every pending application
+    private final Set<ApplicationEnvironment> pendingReloads = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingFullReload = new AtomicBoolean();
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+
+    public CacheInvalidationService(
+            final CurrentReleaseCacheService currentReleaseCacheService,
+            final ReleaseListCacheService releaseListCacheService,
+            final ReleaseReadModelService releaseReadModelService,
+            final ReleaseChangeDBService releaseChangeDBService,
+            final ReleaseEventService releaseEventService) {
+        this(
+                currentReleaseCacheService,
+                releaseListCacheService,
+                releaseReadModelService,
+                releaseChangeDBService,
+                releaseEventService,
+                Executors.newSingleThreadExecutor(Thread.ofVirtual().name("release-change-reload").factory()));
+    }
+
+    CacheInvalidationService(
+            final CurrentReleaseCacheService currentReleaseCacheService,
+            final ReleaseListCacheService releaseListCacheService,
+            final ReleaseReadModelService releaseReadModelService,
+            final ReleaseChangeDBService releaseChangeDBService,
+            final ReleaseEventService releaseEventService,
+            final Executor reloadExecutor) {
+        this.currentReleaseCacheService = currentReleaseCacheService;
+        this.releaseListCacheService = releaseListCacheService;
+        this.releaseReadModelService = releaseReadModelService;
+        this.releaseChangeDBService = releaseChangeDBService;
+        this.releaseEventService = releaseEventService;
+        this.reloadExecutor = reloadExecutor;
+    }
+
+    public void invalidate(final String application, final String environment) {
+        invalidateLocally(application, environment);
+        publish(new ReleaseChange(instance, application, environment));
+    }
+
+    public void invalidateAll() {
+        publish(new ReleaseChange(instance, null, null));
+        pendingFullReload.set(true);
+        scheduleReloads();
+    }
+
+    public void onReleaseChange(final String payload) {
+        try {
+            final var releaseChange = mapper.readValue(payload, ReleaseChange.class);
+            if (instance.equals(releaseChange.instance())) return;
+            if (Objects.isNull(releaseChange.application())) {
+                pendingFullReload.set(true);
+            } else {
+                pendingReloads.add(
+                        new ApplicationEnvironment(releaseChange.application(), releaseChange.environment()));
+            }
+        } catch (JsonProcessingException jpEx) {
+            log.atError()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Could not read release change {}, invalidating all")
+                    .addArgument(payload)
+                    .setCause(jpEx)
+                    .log();
+            pendingFullReload.set(true);
+        }
+        scheduleReloads();
+    }
+
+    public void resync() {
+        log.atInfo()
+                .addMarker(Markers.SERVICE)
+                .setMessage("Resync caches after (re)connecting the release change listener")
+                .log();
+        execute(() -> {
+            releaseReadModelService.resync();
+            invalidateAllLocally();
+            releaseEventService.publish(ReleaseEvent.changed(null, null));
+        });
+    }
+
+    // Waits for the queued reloads
+    @Override
+    public void close() {
+        if (reloadExecutor instanceof ExecutorService executorService) executorService.close();
+    }
+
+    private void scheduleReloads() {
+        if (reloadScheduled.compareAndSet(false, true)) execute(this::reloadPending);
+    }
+
+    // The caches are refilled from the read model, it has to be reloaded before they are invalidated.
+    // Changes queued after the flag is cleared schedule the next run, none of them is left pending.
+    private void reloadPending() {
+        reloadScheduled.set(false);
+        if (pendingFullReload.getAndSet(false)) {
+            pendingReloads.clear();
+            releaseReadModelService.reload();
+            invalidateAllLocally();
+            releaseEventService.publish(ReleaseEvent.changed(null, null));
+            return;
+        }
+        for (final var pending : pendingReloads) {
+            pendingReloads.remove(pending);
+            releaseReadModelService.reload(pending.application(), pending.environment());
+            invalidateLocally(pending.application(), pending.environment());
+            releaseEventService.publish(ReleaseEvent.changed(pending.application(), pending.environment()));
+        }
+    }
+
+    private void execute(final Runnable reload) {
+        try {
+            reloadExecutor.execute(reload);
+        } catch (RejectedExecutionException reEx) {
+            log.atDebug()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Ignoring a release change after closing")
+                    .setCause(reEx)
+                    .log();
+        }
+    }
+
+    private void invalidateLocally(final String application, final String environment) {
+        currentReleaseCacheService.invalidate(application, environment);
+        releaseListCacheService.invalidate(application, environment);
+    }
+
+    private void invalidateAllLocally() {
+        currentReleaseCacheService.invalidateAll();
+        releaseListCacheService.invalidateAll();
+    }
+
+    private void publish(final ReleaseChange releaseChange) {
+        try {
+            final var payload = mapper.writeValueAsString(releaseChange);
+            releaseChangeDBService.publish(
+                    payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES
+                            ? payload
+                            : mapper.writeValueAsString(new ReleaseChange(instance, null, null)));
+        } catch (JsonProcessingException jpEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(jpEx).log();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package de.iu.bniebes.service.internal;
+
+import de.iu.bniebes.configuration.CompressionConfiguration;
+import de.iu.bniebes.model.CompressionMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+
+// Gzip of encoded responses, bodies below the minimum size cost more CPU than the bytes saved are worth
+@RequiredArgsConstructor
+public class CompressionService {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private final CompressionConfiguration configuration;
+
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressionNanos = new LongAdder();
+    private final LongAdder streamed = new LongAdder();
+
+    public boolean enabled() {
+        return configuration.enabled();
+    }
+
+    public boolean compressible(final int length) {
+        return configuration.enabled() && length >= configuration.minimumBytes();
+    }
+
+    // Null if the body is too small to be compressed
+    public byte[] gzip(final byte[] json) {
+        if (!compressible(json.length)) return null;
+        final var start = System.nanoTime();
+        final var output = new ByteArrayOutputStream(json.length / 4);
+        try (final var gzipOutput = new GZIPOutputStream(output, BUFFER_SIZE)) {
+            gzipOutput.write(json);
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+        final var gzip = output.toByteArray();
+        compressionNanos.add(System.nanoTime() - start);
+        compressed.increment();
+        uncompressedBytes.add(json.length);
+        compressedBytes.add(gzip.length);
+        return gzip;
+    }
+
+    // Streamed lists are not buffered, their size is unknown and they are compressed regardless of the minimum
+    public OutputStream gzip(final OutputStream outputStream) {
+        try {
+            streamed.increment();
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        } catch (IOException ioEx) {
+            throw new UncheckedIOException(ioEx);
+        }
+    }
+
+    public CompressionMetrics metrics() {
+        return new CompressionMetrics(
+                compressed.sum(),
+                uncompressedBytes.sum(),
+                compressedBytes.sum(),
+                compressionNanos.sum() / NANOS_PER_MICRO,
+                streamed.sum());
+    }
+}
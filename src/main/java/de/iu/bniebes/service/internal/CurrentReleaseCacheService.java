@@ -0,0 +1,194 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import de.iu.bniebes.configuration.CacheConfiguration;
+import de.iu.bniebes.model.CacheMetrics;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReadConsistency;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+// Fresh for the TTL, refreshed ahead of it in the background and served stale past it while revalidating
+@Slf4j
+public class CurrentReleaseCacheService implements AutoCloseable {
+
+    static final int EVICTION_SAMPLE_SIZE = 16;
+
+    private record Key(String application, String environment) {}
+
+    private static final class Entry {
+
+        private final Result<String> value;
+        private final long loadedNanos;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(final Result<String> value, final long loadedNanos) {
+            this.value = value;
+            this.loadedNanos = loadedNanos;
+        }
+    }
+
+    private final CacheConfiguration configuration;
+    private final LongSupplier nanoClock;
+    private final Executor refreshExecutor;
+
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final long staleNanos;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadErrors = new LongAdder();
+
+    public CurrentReleaseCacheService(final CacheConfiguration configuration) {
+        this(configuration, System::nanoTime, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    CurrentReleaseCacheService(
+            final CacheConfiguration configuration, final LongSupplier nanoClock, final Executor refreshExecutor) {
+        this.configuration = configuration;
+        this.nanoClock = nanoClock;
+        this.refreshExecutor = refreshExecutor;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(configuration.ttlMillis());
+        this.refreshAfterNanos =
+                ttlNanos - TimeUnit.MILLISECONDS.toNanos(Math.max(0L, configuration.refreshAheadMillis()));
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, configuration.staleMillis()));
+    }
+
+    public Result<String> byApplication(final String application, final Supplier<Result<String>> loader) {
+        return get(new Key(application, null), loader);
+    }
+
+    public Result<String> byApplicationAndEnvironment(
+            final String application, final String environment, final Supplier<Result<String>> loader) {
+        return get(new Key(application, environment), loader);
+    }
+
+    public void invalidate(final String application, final String environment) {
+        generation.incrementAndGet();
+        entries.remove(new Key(application, null));
+        entries.remove(new Key(application, environment));
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+        invalidations.increment();
+    }
+
+    public CacheMetrics metrics() {
+        return new CacheMetrics(
+                entries.size(),
+                configuration.maximumSize(),
+                hits.sum(),
+                staleHits.sum(),
+                misses.sum(),
+                refreshes.sum(),
+                invalidations.sum(),
+                evictions.sum(),
+                loadErrors.sum());
+    }
+
+    @Override
+    public void close() {
+        if (refreshExecutor instanceof ExecutorService executorService) executorService.close();
+    }
+
+    private Result<String> get(final Key key, final Supplier<Result<String>> loader) {
+        // A read-your-writes token has to reach the database routing, a cached value knows nothing about it
+        if (!configuration.enabled() || ReadConsistency.minLsn().isPresent()) return loader.get();
+
+        final var entry = entries.get(key);
+        if (Objects.nonNull(entry)) {
+            final var age = nanoClock.getAsLong() - entry.loadedNanos;
+            if (age < ttlNanos) {
+                hits.increment();
+                if (age >= refreshAfterNanos) refresh(key, entry, loader);
+                return entry.value;
+            }
+            if (age < ttlNanos + staleNanos) {
+                staleHits.increment();
+                refresh(key, entry, loader);
+                return entry.value;
+            }
+        }
+        misses.increment();
+        return load(key, loader);
+    }
+
+    private void refresh(final Key key, final Entry entry, final Supplier<Result<String>> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) return;
+        refreshes.increment();
+        try {
+            refreshExecutor.execute(() -> {
+                if (load(key, loader).isError()) entry.refreshing.set(false);
+            });
+        } catch (RejectedExecutionException reEx) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private Result<String> load(final Key key, final Supplier<Result<String>> loader) {
+        final var loadGeneration = generation.get();
+        final var result = loader.get();
+        if (result.isError()) {
+            loadErrors.increment();
+            return result;
+        }
+
+        final var entry = new Entry(result, nanoClock.getAsLong());
+        entries.put(key, entry);
+        // An invalidation that raced with the load may have seen the old entry, drop what was just loaded
+        if (generation.get() != loadGeneration) entries.remove(key, entry);
+        if (entries.size() > configuration.maximumSize()) evict();
+        return result;
+    }
+
+    private void evict() {
+        final var now = nanoClock.getAsLong();
+        Key oldestKey = null;
+        Entry oldestEntry = null;
+        var sampled = 0;
+        for (final var mapping : entries.entrySet()) {
+            final var candidate = mapping.getValue();
+            if (now - candidate.loadedNanos >= ttlNanos + staleNanos) {
+                if (entries.remove(mapping.getKey(), candidate)) evictions.increment();
+                continue;
+            }
+            if (Objects.isNull(oldestEntry) || candidate.loadedNanos < oldestEntry.loadedNanos) {
+                oldestKey = mapping.getKey();
+                oldestEntry = candidate;
+            }
+            if (++sampled >= EVICTION_SAMPLE_SIZE) break;
+        }
+        if (entries.size() <= configuration.maximumSize() || Objects.isNull(oldestEntry)) return;
+        if (entries.remove(oldestKey, oldestEntry)) {
+            evictions.increment();
+            log.atDebug()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Evicted current release cache entry for {}")
+                    .addArgument(oldestKey)
+                    .log();
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package de.iu.bniebes.service.internal;
 
-import java.math.BigInteger;
+import de.iu.bniebes.model.parameter.ReleaseCursor;
+import de.iu.bniebes.util.ZuluEpochMicros;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
@@ -20,8 +22,10 @@ public class InputSanitizationService {
             Pattern.compile("^[\\w |.;,\\-]+$").asPredicate();
     private final Predicate<String> safeTextPattern =
             Pattern.compile("^[\\w\\s |.:,;!?$%#+*/()\\\\-]+$").asPredicate();
-    private final Predicate<String> bigIntegerPattern =
-            Pattern.compile("^\\d+$").asPredicate();
+    private final Predicate<String> digitsPattern = Pattern.compile("^\\d+$").asPredicate();
+    private final Pattern releaseCursorPattern = Pattern.compile("^(\\d+)-(\\d+)$");
+    private final Predicate<String> lsnPattern =
+            Pattern.compile("^[0-9A-Fa-f]{1,8}/[0-9A-Fa-f]{1,8}$").asPredicate();
 
     public Optional<String> safeString(final String input) {
         if (isNullOrBlank(input)) return Optional.empty();
@@ -48,9 +52,35 @@ public class InputSanitizationService {
         }
     }
 
-    public Optional<BigInteger> bigInteger(final String input) {
+    public OptionalLong zuluEpochMicros(final CharSequence input) {
+        final var zuluEpochMicros = ZuluEpochMicros.parse(input);
+        return ZuluEpochMicros.isValid(zuluEpochMicros) ? OptionalLong.of(zuluEpochMicros) : OptionalLong.empty();
+    }
+
+    public Optional<Integer> positiveInt(final String input, final int max) {
+        if (isNullOrBlank(input) || input.length() > String.valueOf(max).length()) return Optional.empty();
+        if (!digitsPattern.test(input)) return Optional.empty();
+        final var value = Integer.parseInt(input);
+        return value > 0 && value <= max ? Optional.of(value) : Optional.empty();
+    }
+
+    public Optional<ReleaseCursor> releaseCursor(final String input) {
+        if (isNullOrBlank(input)) return Optional.empty();
+        final var matcher = releaseCursorPattern.matcher(input);
+        if (!matcher.matches()) return Optional.empty();
+        final var zuluEpochMicros = ZuluEpochMicros.parse(matcher.group(1));
+        if (!ZuluEpochMicros.isValid(zuluEpochMicros)) return Optional.empty();
+        try {
+            return Optional.of(
+                    new ReleaseCursor(ZuluEpochMicros.toInstant(zuluEpochMicros), Long.parseLong(matcher.group(2))));
+        } catch (NumberFormatException nfEx) {
+            return Optional.empty();
+        }
+    }
+
+    public Optional<String> lsn(final String input) {
         if (isNullOrBlank(input)) return Optional.empty();
-        return bigIntegerPattern.test(input) ? Optional.of(new BigInteger(input)) : Optional.empty();
+        return lsnPattern.test(input) ? Optional.of(input.toUpperCase()) : Optional.empty();
     }
 
     private boolean isNullOrBlank(final String input) {
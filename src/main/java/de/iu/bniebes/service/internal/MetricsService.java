@@ -0,0 +1,72 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.DBClientService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class MetricsService {
+
+    private final DBClientService dbClientService;
+    private final CurrentReleaseCacheService currentReleaseCacheService;
+    private final ReleaseListCacheService releaseListCacheService;
+    private final ReleaseIdCacheService releaseIdCacheService;
+    private final ReleaseReadModelService releaseReadModelService;
+    private final CompressionService compressionService;
+    private final ReleaseEventService releaseEventService;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public Result<String> dbPool() {
+        return toJson(dbClientService.poolMetrics());
+    }
+
+    public Result<String> dbReplicaPool() {
+        final var maybePoolMetrics = dbClientService.replicaPoolMetrics();
+        if (maybePoolMetrics.isEmpty()) return Result.empty();
+        return toJson(maybePoolMetrics.get());
+    }
+
+    public Result<String> currentReleaseCache() {
+        return toJson(currentReleaseCacheService.metrics());
+    }
+
+    public Result<String> releaseListCache() {
+        return toJson(releaseListCacheService.metrics());
+    }
+
+    public Result<String> releaseIdCache() {
+        return toJson(releaseIdCacheService.metrics());
+    }
+
+    public Result<String> readModel() {
+        return toJson(releaseReadModelService.metrics());
+    }
+
+    public Result<String> compression() {
+        return toJson(compressionService.metrics());
+    }
+
+    public Result<String> stream() {
+        return toJson(releaseEventService.metrics());
+    }
+
+    private Result<String> toJson(final Object metrics) {
+        try {
+            return Result.of(mapper.writeValueAsString(metrics));
+        } catch (JsonProcessingException jpEx) {
+            log.atError()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Could not serialize metrics")
+                    .setCause(jpEx)
+                    .log();
+            return Result.error();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package de.iu.bniebes.service.internal;
+
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.DBClientService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReadConsistencyService {
+
+    private final DBClientService dbClientService;
+
+    public Result<String> writeToken() {
+        if (!dbClientService.hasReplica()) return Result.empty();
+        return dbClientService.currentWalLsn();
+    }
+}
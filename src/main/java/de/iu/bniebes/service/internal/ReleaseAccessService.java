@@ -1,19 +1,30 @@
 package de.iu.bniebes.service.internal;
 
 import static de.iu.bniebes.constant.GlobalConstants.*;
-import static de.iu.bniebes.util.TimestampUtils.instantOf;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.model.parameter.ReleaseCursor;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
+import de.iu.bniebes.model.response.ReleasePageResponse;
 import de.iu.bniebes.model.response.ReleaseResponse;
 import de.iu.bniebes.model.result.Result;
-import de.iu.bniebes.service.external.db.ReleaseDBService;
-import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
-import java.math.BigInteger;
-import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import de.iu.bniebes.service.external.db.ReleaseReader;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,110 +32,230 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ReleaseAccessService {
 
-    private final ReleaseDBService releaseDBService;
-    private final ReleaseOptInfoDBService releaseOptInfoDBService;
+    private final ReleaseReader releaseReader;
+    // Refills the caches and loads the lists they keep, an invalidation must not be undone by a replica that has
+    // not replayed the change yet
+    private final ReleaseReader cacheReleaseReader;
+    private final CurrentReleaseCacheService currentReleaseCacheService;
+    private final ReleaseListCacheService releaseListCacheService;
+    private final ReleaseIdCacheService releaseIdCacheService;
+    private final CompressionService compressionService;
+    private final ReleaseETagService releaseETagService;
 
     private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectWriter streamWriter =
+            mapper.writerFor(ReleaseResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
     public Result<String> get(
-            final String application, final String environment, final String version, final BigInteger zuluEpochNanos) {
-
-        final var maybeRelease = releaseDBService.release(application, environment, version, instantOf(zuluEpochNanos));
-        if (maybeRelease.notPresent()) return maybeRelease.isEmpty() ? Result.empty() : Result.error();
-        final var release = maybeRelease.get();
-        final var releaseId = release.id();
-
-        try (final var vtx = Executors.newVirtualThreadPerTaskExecutor()) {
-            final var futureReleaseName = vtx.submit(() -> releaseOptInfoDBService.releaseNameById(releaseId));
-            final var futureDescription = vtx.submit(() -> releaseOptInfoDBService.descriptionById(releaseId));
-            final var futureChanges = vtx.submit(() -> releaseOptInfoDBService.changesById(releaseId));
-            final var futureResponsibility = vtx.submit(() -> releaseOptInfoDBService.responsibilityById(releaseId));
-            final var futureBuildLocation = vtx.submit(() -> releaseOptInfoDBService.buildLocationById(releaseId));
-
-            vtx.shutdown();
-            if (!vtx.awaitTermination(Timeouts.VTX, Timeouts.VTX_UNIT)) {
-                log.atError()
-                        .addMarker(Markers.SERVICE)
-                        .setMessage("Timeout exceeded fetching optional release information")
-                        .log();
-                return Result.error();
-            }
+            final String application, final String environment, final String version, final long zuluEpochMicros) {
+        final var maybeFullRelease = releaseReader.fullRelease(
+                application, environment, version, ZuluEpochMicros.toInstant(zuluEpochMicros));
+        if (maybeFullRelease.isEmpty()) return Result.empty();
+        if (maybeFullRelease.isError()) return Result.error();
+        releaseIdCacheService.put(application, environment, version, zuluEpochMicros, maybeFullRelease.get().id());
 
-            final var releaseResponse = ReleaseResponse.of(
-                    release,
-                    futureReleaseName.resultNow(),
-                    futureDescription.resultNow(),
-                    futureChanges.resultNow(),
-                    futureResponsibility.resultNow(),
-                    futureBuildLocation.resultNow());
-
-            return Result.of(mapper.writeValueAsString(releaseResponse));
-        } catch (InterruptedException | JsonProcessingException ex) {
-            log.atError().addMarker(Markers.SERVICE).setCause(ex).log();
-            return Result.error();
-        }
+        return toJson(maybeFullRelease.get());
     }
 
-    public Result<String> all() {
-        final var maybeFullReleases = releaseDBService.fullReleases();
-        if (maybeFullReleases.isEmpty()) return Result.empty();
+    public Result<byte[]> page(final ReleaseQuery releaseQuery) {
+        final var cacheable = releaseListCacheService.cacheable(releaseQuery);
+        if (cacheable) {
+            final var maybeCachedList = releaseListCacheService.get(releaseQuery);
+            if (maybeCachedList.isPresent()) return Result.of(maybeCachedList.get().json());
+        }
+        final var loadGeneration = releaseListCacheService.generation();
+
+        final var maybeFullReleases = (cacheable ? cacheReleaseReader : releaseReader).fullReleasesPage(releaseQuery);
         if (maybeFullReleases.isError()) return Result.error();
+        final var fullReleases = maybeFullReleases.get();
+        if (fullReleases.isEmpty()) return Result.empty();
 
-        return toJson(maybeFullReleases.get());
+        final var hasNext = fullReleases.size() > releaseQuery.limit();
+        final var pageReleases = hasNext ? fullReleases.subList(0, releaseQuery.limit()) : fullReleases;
+        final var next = hasNext ? ReleaseCursor.of(pageReleases.getLast()).value() : null;
+        try {
+            final var releaseResponses = pageReleases.stream().map(ReleaseResponse::of).toList();
+            final var json = mapper.writeValueAsBytes(new ReleasePageResponse(releaseResponses, next));
+            if (cacheable) {
+                releaseListCacheService.put(
+                        releaseQuery,
+                        new ReleaseListCacheService.CachedList(json, pageReleases.size(), releaseETagService.of(json)),
+                        loadGeneration);
+            }
+            return Result.of(json);
+        } catch (JsonProcessingException jpEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(jpEx).log();
+            return Result.error();
+        }
     }
 
-    public Result<String> allByApplication(final String application) {
-        final var maybeFullReleases = releaseDBService.fullReleasesByApplication(application);
-        if (maybeFullReleases.isEmpty()) return Result.empty();
-        if (maybeFullReleases.isError()) return Result.error();
-
-        return toJson(maybeFullReleases.get());
+    // Only answers from the list cache, a miss is loaded by page or stream. Bodies too small to compress are
+    // returned without gzip.
+    public Optional<ReleaseListCacheService.CachedList> cachedList(
+            final ReleaseQuery releaseQuery, final boolean gzip) {
+        if (!releaseListCacheService.cacheable(releaseQuery)) return Optional.empty();
+        if (!gzip) return releaseListCacheService.cached(releaseQuery);
+        return releaseListCacheService.gzip(releaseQuery, compressionService::gzip)
+                .or(() -> releaseListCacheService.cached(releaseQuery));
     }
 
-    public Result<String> allByApplicationAndEnvironment(final String application, final String environment) {
-        final var maybeFullReleases =
-                releaseDBService.fullReleasesByApplicationAndEnvironment(application, environment);
-        if (maybeFullReleases.isEmpty()) return Result.empty();
-        if (maybeFullReleases.isError()) return Result.error();
+    public Result<Long> stream(final ReleaseQuery releaseQuery, final Supplier<OutputStream> outputStreamSupplier) {
+        if (!releaseListCacheService.cacheable(releaseQuery)) {
+            return streamFromDB(releaseReader, releaseQuery, outputStreamSupplier);
+        }
 
-        return toJson(maybeFullReleases.get());
+        final var maybeCachedList = releaseListCacheService.get(releaseQuery);
+        if (maybeCachedList.isPresent()) {
+            try (final var outputStream = outputStreamSupplier.get()) {
+                outputStream.write(maybeCachedList.get().json());
+                return Result.of(maybeCachedList.get().releases());
+            } catch (IOException ioEx) {
+                log.atError().addMarker(Markers.SERVICE).setCause(ioEx).log();
+                return Result.error();
+            }
+        }
+
+        final var loadGeneration = releaseListCacheService.generation();
+        final var capture = new CapturingOutputStreamSupplier(outputStreamSupplier);
+        final var result = streamFromDB(cacheReleaseReader, releaseQuery, capture);
+        if (result.isPresent() && capture.complete()) {
+            final var json = capture.captured.toByteArray();
+            releaseListCacheService.put(
+                    releaseQuery,
+                    new ReleaseListCacheService.CachedList(json, result.get(), releaseETagService.of(json)),
+                    loadGeneration);
+        }
+        return result;
+    }
+
+    private Result<Long> streamFromDB(
+            final ReleaseReader reader,
+            final ReleaseQuery releaseQuery,
+            final Supplier<OutputStream> outputStreamSupplier) {
+        final var jsonArrayWriter = new JsonArrayWriter(outputStreamSupplier);
+        final var result = reader.forEachFullRelease(releaseQuery, jsonArrayWriter);
+        try {
+            if (result.isError()) {
+                jsonArrayWriter.abort();
+            } else {
+                jsonArrayWriter.close();
+            }
+            return result;
+        } catch (IOException ioEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(ioEx).log();
+            return Result.error();
+        }
     }
 
     public Result<String> currentByApplication(final String application) {
-        final var maybeFullRelease = releaseDBService.currentReleaseByApplication(application);
+        return currentReleaseCacheService.byApplication(application, () -> loadCurrentByApplication(application));
+    }
+
+    public Result<String> currentByApplicationAndEnvironment(final String application, final String environment) {
+        return currentReleaseCacheService.byApplicationAndEnvironment(
+                application, environment, () -> loadCurrentByApplicationAndEnvironment(application, environment));
+    }
+
+    private Result<String> loadCurrentByApplication(final String application) {
+        final var maybeFullRelease = cacheReleaseReader.currentReleaseByApplication(application);
         if (maybeFullRelease.isEmpty()) return Result.empty();
         if (maybeFullRelease.isError()) return Result.error();
 
         return toJson(maybeFullRelease.get());
     }
 
-    public Result<String> currentByApplicationAndEnvironment(final String application, final String environment) {
+    private Result<String> loadCurrentByApplicationAndEnvironment(final String application, final String environment) {
         final var maybeFullRelease =
-                releaseDBService.currentReleaseByApplicationAndEnvironment(application, environment);
+                cacheReleaseReader.currentReleaseByApplicationAndEnvironment(application, environment);
         if (maybeFullRelease.isEmpty()) return Result.empty();
         if (maybeFullRelease.isError()) return Result.error();
 
         return toJson(maybeFullRelease.get());
     }
 
-    private Result<String> toJson(final Set<FullRelease> fullReleases) {
-        if (fullReleases.isEmpty()) return Result.empty();
+    private Result<String> toJson(final FullRelease fullRelease) {
         try {
-            final var releaseResponses =
-                    fullReleases.stream().map(ReleaseResponse::of).collect(Collectors.toSet());
-            return Result.of(mapper.writeValueAsString(releaseResponses));
+            return Result.of(mapper.writeValueAsString(ReleaseResponse.of(fullRelease)));
         } catch (JsonProcessingException jpEx) {
             log.atError().addMarker(Markers.SERVICE).setCause(jpEx).log();
             return Result.error();
         }
     }
 
-    private Result<String> toJson(final FullRelease fullRelease) {
-        try {
-            return Result.of(mapper.writeValueAsString(ReleaseResponse.of(fullRelease)));
-        } catch (JsonProcessingException jpEx) {
-            log.atError().addMarker(Markers.SERVICE).setCause(jpEx).log();
-            return Result.error();
+    // Copies the streamed bytes for the list cache until the entry limit is exceeded
+    private class CapturingOutputStreamSupplier implements Supplier<OutputStream> {
+
+        private final Supplier<OutputStream> outputStreamSupplier;
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private boolean overflowed;
+
+        private CapturingOutputStreamSupplier(final Supplier<OutputStream> outputStreamSupplier) {
+            this.outputStreamSupplier = outputStreamSupplier;
+        }
+
+        private boolean complete() {
+            return !overflowed && captured.size() > 0;
+        }
+
+        @Override
+        public OutputStream get() {
+            return new FilterOutputStream(outputStreamSupplier.get()) {
+                @Override
+                public void write(final int b) throws IOException {
+                    out.write(b);
+                    if (capture(1)) captured.write(b);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    out.write(b, off, len);
+                    if (capture(len)) captured.write(b, off, len);
+                }
+            };
+        }
+
+        private boolean capture(final int length) {
+            if (overflowed) return false;
+            if (captured.size() + (long) length <= releaseListCacheService.maximumEntryBytes()) return true;
+            overflowed = true;
+            captured.reset();
+            return false;
+        }
+    }
+
+    private class JsonArrayWriter implements Consumer<FullRelease>, Closeable {
+
+        private final Supplier<OutputStream> outputStreamSupplier;
+        private JsonGenerator generator;
+
+        private JsonArrayWriter(final Supplier<OutputStream> outputStreamSupplier) {
+            this.outputStreamSupplier = outputStreamSupplier;
+        }
+
+        @Override
+        public void accept(final FullRelease fullRelease) {
+            try {
+                if (Objects.isNull(generator)) {
+                    generator = mapper.getFactory().createGenerator(outputStreamSupplier.get());
+                    generator.writeStartArray();
+                }
+                streamWriter.writeValue(generator, ReleaseResponse.of(fullRelease));
+            } catch (IOException ioEx) {
+                throw new UncheckedIOException(ioEx);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (Objects.isNull(generator)) return;
+            generator.writeEndArray();
+            generator.close();
+        }
+
+        private void abort() throws IOException {
+            if (Objects.isNull(generator)) return;
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.close();
         }
     }
 }
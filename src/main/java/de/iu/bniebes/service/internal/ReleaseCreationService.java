@@ -4,17 +4,22 @@ import static de.iu.bniebes.constant.GlobalConstants.*;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.model.OptInfo;
+import de.iu.bniebes.model.db.OptInfoValue;
+import de.iu.bniebes.model.db.UpsertedRelease;
 import de.iu.bniebes.model.request.ReleaseOptionalInformation;
 import de.iu.bniebes.model.response.ReleaseCreateResponse;
+import de.iu.bniebes.model.response.ReleaseEvent;
 import de.iu.bniebes.model.result.CreateOrUpdateResult;
 import de.iu.bniebes.model.result.Result;
 import de.iu.bniebes.service.external.db.ReleaseDBService;
 import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
-import de.iu.bniebes.util.TimestampUtils;
-import java.math.BigInteger;
-import java.time.DateTimeException;
+import de.iu.bniebes.util.ZuluEpochMicros;
 import java.time.Instant;
-import java.util.concurrent.Executors;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,95 +27,139 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ReleaseCreationService {
 
-    private record CreatedRelease(BigInteger id, String json) {}
+    private record CreatedRelease(long id, String json) {}
 
     private final ReleaseDBService releaseDBService;
     private final ReleaseOptInfoDBService releaseOptInfoDBService;
     private final InputSanitizationService inputSanitizationService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final ReleaseIdCacheService releaseIdCacheService;
+    private final ReleaseReadModelService releaseReadModelService;
+    private final ReleaseEventService releaseEventService;
 
     private final ObjectMapper mapper = new ObjectMapper();
 
     public Result<String> create(final String app, final String env, final String version) {
-        final var createdRelease = createRelease(app, env, version, Instant.now());
+        final var instant = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        final var createdRelease = createRelease(app, env, version, instant);
+        cacheInvalidationService.invalidate(app, env);
         if (createdRelease.notPresent()) return Result.error();
+        releaseEventService.publish(ReleaseEvent.created(app, env, version, ZuluEpochMicros.of(instant)));
 
         return Result.of(createdRelease.get().json());
     }
 
     public Result<CreateOrUpdateResult> createOrUpdate(
-            final String app, final String env, final String ver, final BigInteger zeu, final String optionalInfo) {
-        final var zeuInstant = TimestampUtils.instantOf(zeu);
-        final var maybeRelease = releaseDBService.release(app, env, ver, zeuInstant);
-        if (maybeRelease.isError()) return Result.error();
-
-        var created = false;
-        var json = "{}";
-
-        final BigInteger id;
-        if (maybeRelease.isEmpty()) {
-            final var maybeCreatedRelease = createRelease(app, env, ver, zeuInstant);
-            if (maybeCreatedRelease.notPresent()) return Result.error();
-
-            created = true;
-            json = maybeCreatedRelease.get().json();
-            id = maybeCreatedRelease.get().id();
-        } else {
-            id = maybeRelease.get().id();
+            final String app, final String env, final String ver, final long zeu, final String optionalInfo) {
+        try {
+            return upsert(app, env, ver, zeu, optionalInfo);
+        } finally {
+            cacheInvalidationService.invalidate(app, env);
         }
+    }
 
-        if (optionalInfo.isBlank()) return Result.of(new CreateOrUpdateResult(json, created));
-
-        try (final var vtx = Executors.newVirtualThreadPerTaskExecutor()) {
-            final var optionalInformation = mapper.readValue(optionalInfo, ReleaseOptionalInformation.class);
-            if (optionalInformation.allNull()) return Result.of(new CreateOrUpdateResult(json, created));
-
-            optionalInformation
-                    .releaseNameOrEmpty()
-                    .flatMap(inputSanitizationService::safeString)
-                    .map(name -> vtx.submit(() -> releaseOptInfoDBService.insertReleaseName(id, name)));
-            optionalInformation
-                    .descriptionOrEmpty()
-                    .flatMap(inputSanitizationService::safeString)
-                    .map(desc -> vtx.submit(() -> releaseOptInfoDBService.insertDescription(id, desc)));
-            optionalInformation
-                    .changesOrEmpty()
-                    .flatMap(inputSanitizationService::safeString)
-                    .map(changes -> vtx.submit(() -> releaseOptInfoDBService.insertChanges(id, changes)));
-            optionalInformation
-                    .responsibilityOrEmpty()
-                    .flatMap(inputSanitizationService::safeString)
-                    .map(resp -> vtx.submit(() -> releaseOptInfoDBService.insertResponsibility(id, resp)));
-            optionalInformation
-                    .buildLocationOrEmpty()
-                    .flatMap(inputSanitizationService::safeString)
-                    .map(bl -> vtx.submit(() -> releaseOptInfoDBService.insertBuildLocation(id, bl)));
-
-            vtx.shutdown();
-            if (!vtx.awaitTermination(Timeouts.VTX, Timeouts.VTX_UNIT)) {
-                log.atError()
-                        .setMessage("Timeout exceeded while creating optional information")
-                        .log();
-                return Result.error();
-            }
-
-            return Result.of(new CreateOrUpdateResult(json, created));
-        } catch (JsonProcessingException | InterruptedException ex) {
-            log.atError().addMarker(Markers.SERVICE).setCause(ex).log();
-            return Result.error();
+    private Result<CreateOrUpdateResult> upsert(
+            final String app, final String env, final String ver, final long zeu, final String optionalInfo) {
+        final var zeuInstant = ZuluEpochMicros.toInstant(zeu);
+
+        final var maybeOptionalInformation = optionalInformation(optionalInfo);
+        if (maybeOptionalInformation.isError()) return Result.error();
+
+        final var maybeUpsertedRelease = upsertRelease(app, env, ver, zeu, zeuInstant);
+        if (maybeUpsertedRelease.notPresent()) return Result.error();
+        final var id = maybeUpsertedRelease.get().id();
+        final var created = maybeUpsertedRelease.get().created();
+        // Null for a cached id, the release is already known and the optional information returns it again
+        final var upsertedFullRelease = maybeUpsertedRelease.get().fullRelease();
+        if (Objects.nonNull(upsertedFullRelease)) releaseReadModelService.put(upsertedFullRelease);
+        if (created) releaseEventService.publish(ReleaseEvent.created(app, env, ver, zeu));
+
+        final var maybeJson = created ? createResponseJson(app, env, ver, zeuInstant) : Result.of("{}");
+        if (maybeJson.notPresent()) return Result.error();
+        final var json = maybeJson.get();
+
+        if (maybeOptionalInformation.isEmpty()) return Result.of(new CreateOrUpdateResult(json, created));
+        final var optionalInformation = maybeOptionalInformation.get();
+        if (optionalInformation.allNull()) return Result.of(new CreateOrUpdateResult(json, created));
+
+        final var optInfoValues = optInfoValues(id, optionalInformation);
+        final var maybeUpdatedFullReleases = releaseOptInfoDBService.upsertAll(optInfoValues);
+        if (maybeUpdatedFullReleases.notPresent()) return Result.error();
+        releaseReadModelService.putAll(maybeUpdatedFullReleases.get());
+        if (!created && !optInfoValues.isEmpty()) releaseEventService.publish(ReleaseEvent.updated(app, env, ver, zeu));
+
+        return Result.of(new CreateOrUpdateResult(json, created));
+    }
+
+    // A cached id proves the release exists, the upsert would only return that id
+    private Result<UpsertedRelease> upsertRelease(
+            final String app, final String env, final String ver, final long zeu, final Instant zeuInstant) {
+        final var maybeCachedId = releaseIdCacheService.get(app, env, ver, zeu);
+        if (maybeCachedId.isPresent()) return Result.of(new UpsertedRelease(maybeCachedId.getAsLong(), false, null));
+
+        final var maybeUpsertedRelease = releaseDBService.upsert(app, env, ver, zeuInstant);
+        if (maybeUpsertedRelease.isPresent()) {
+            releaseIdCacheService.put(app, env, ver, zeu, maybeUpsertedRelease.get().id());
         }
+        return maybeUpsertedRelease;
+    }
+
+    private List<OptInfoValue> optInfoValues(final long id, final ReleaseOptionalInformation optionalInformation) {
+        final var optInfoValues = new ArrayList<OptInfoValue>(OptInfo.values().length);
+        optionalInformation
+                .releaseNameOrEmpty()
+                .flatMap(inputSanitizationService::safeString)
+                .ifPresent(name -> optInfoValues.add(new OptInfoValue(id, OptInfo.RELEASE_NAME, name)));
+        optionalInformation
+                .descriptionOrEmpty()
+                .flatMap(inputSanitizationService::safeString)
+                .ifPresent(desc -> optInfoValues.add(new OptInfoValue(id, OptInfo.DESCRIPTION, desc)));
+        optionalInformation
+                .changesOrEmpty()
+                .flatMap(inputSanitizationService::safeString)
+                .ifPresent(changes -> optInfoValues.add(new OptInfoValue(id, OptInfo.CHANGES, changes)));
+        optionalInformation
+                .responsibilityOrEmpty()
+                .flatMap(inputSanitizationService::safeString)
+                .ifPresent(resp -> optInfoValues.add(new OptInfoValue(id, OptInfo.RESPONSIBILITY, resp)));
+        optionalInformation
+                .buildLocationOrEmpty()
+                .flatMap(inputSanitizationService::safeString)
+                .ifPresent(bl -> optInfoValues.add(new OptInfoValue(id, OptInfo.BUILD_LOCATION, bl)));
+        return optInfoValues;
     }
 
     private Result<CreatedRelease> createRelease(
             final String app, final String env, final String ver, final Instant instant) {
-        try {
-            final var maybeId = releaseDBService.insert(app, env, ver, instant);
-            if (maybeId.notPresent()) return Result.error();
+        final var maybeFullRelease = releaseDBService.insert(app, env, ver, instant);
+        if (maybeFullRelease.notPresent()) return Result.error();
+        final var fullRelease = maybeFullRelease.get();
+        releaseIdCacheService.put(app, env, ver, ZuluEpochMicros.of(instant), fullRelease.id());
+        releaseReadModelService.put(fullRelease);
 
-            return Result.of(new CreatedRelease(
-                    maybeId.get(), mapper.writeValueAsString(ReleaseCreateResponse.of(app, env, ver, instant))));
-        } catch (DateTimeException | JsonProcessingException ex) {
+        final var maybeJson = createResponseJson(app, env, ver, instant);
+        if (maybeJson.notPresent()) return Result.error();
+
+        return Result.of(new CreatedRelease(fullRelease.id(), maybeJson.get()));
+    }
+
+    private Result<String> createResponseJson(
+            final String app, final String env, final String ver, final Instant instant) {
+        try {
+            return Result.of(mapper.writeValueAsString(ReleaseCreateResponse.of(app, env, ver, instant)));
+        } catch (ArithmeticException | JsonProcessingException ex) {
             log.atError().addMarker(Markers.SERVICE).setCause(ex).log();
             return Result.error();
         }
     }
+
+    private Result<ReleaseOptionalInformation> optionalInformation(final String optionalInfo) {
+        if (optionalInfo.isBlank()) return Result.empty();
+        try {
+            return Result.of(mapper.readValue(optionalInfo, ReleaseOptionalInformation.class));
+        } catch (JsonProcessingException jpEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(jpEx).log();
+            return Result.error();
+        }
+    }
 }
@@ -0,0 +1,30 @@
+package de.iu.bniebes.service.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// Tags are taken from the body they are sent with. Every instance tags the same body alike, and a body read from a
+// replica that lags behind can never carry the tag of a newer one.
+public class ReleaseETagService {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final int TAG_BYTES = 16;
+
+    private final HexFormat hexFormat = HexFormat.of();
+
+    public String of(final String json) {
+        return of(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String of(final byte[] json) {
+        try {
+            final var digest = MessageDigest.getInstance(ALGORITHM).digest(json);
+            return "\"%s\"".formatted(hexFormat.formatHex(digest, 0, TAG_BYTES));
+        } catch (NoSuchAlgorithmException nsaEx) {
+            // Every Java platform has to provide SHA-256
+            throw new IllegalStateException(nsaEx);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.configuration.StreamConfiguration;
+import de.iu.bniebes.model.StreamMetrics;
+import de.iu.bniebes.model.response.ReleaseEvent;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Fans release events out to the stream subscribers as encoded event frames. Publishing never blocks, a subscriber
+// whose buffer is full is dropped and has to reconnect and reload.
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseEventService implements AutoCloseable {
+
+    private static final String ALL = "";
+    private static final byte[] WAKE_UP = new byte[0];
+
+    public final class Subscription implements AutoCloseable {
+
+        private final String application;
+        private final String environment;
+        private final ArrayBlockingQueue<byte[]> frames = new ArrayBlockingQueue<>(configuration.bufferSize());
+        private volatile boolean dropped;
+
+        private Subscription(final String application, final String environment) {
+            this.application = application;
+            this.environment = environment;
+        }
+
+        // Null if no event arrived within the heartbeat interval
+        public byte[] next() throws InterruptedException {
+            return frames.poll(configuration.heartbeatMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        public boolean dropped() {
+            return dropped;
+        }
+
+        @Override
+        public void close() {
+            unsubscribe(this);
+        }
+
+        private boolean matches(final ReleaseEvent releaseEvent) {
+            return Objects.isNull(environment)
+                    || Objects.isNull(releaseEvent.environment())
+                    || environment.equals(releaseEvent.environment());
+        }
+
+        private String key() {
+            return Objects.isNull(application) ? ALL : application;
+        }
+    }
+
+    private final StreamConfiguration configuration;
+
+    private final ConcurrentHashMap<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Empty once the maximum of subscribers is reached
+    public Optional<Subscription> subscribe(final String application, final String environment) {
+        if (subscribers.incrementAndGet() > configuration.maximumSubscribers()) {
+            subscribers.decrementAndGet();
+            rejected.increment();
+            return Optional.empty();
+        }
+        final var subscription = new Subscription(application, environment);
+        subscriptions.compute(subscription.key(), (key, existing) -> {
+            final var keySubscriptions =
+                    Objects.nonNull(existing) ? existing : ConcurrentHashMap.<Subscription>newKeySet();
+            keySubscriptions.add(subscription);
+            return keySubscriptions;
+        });
+        return Optional.of(subscription);
+    }
+
+    public void publish(final ReleaseEvent releaseEvent) {
+        published.increment();
+        if (subscribers.get() == 0) return;
+        final byte[] frame;
+        try {
+            frame = "event: %s\ndata: %s\n\n"
+                    .formatted(releaseEvent.type(), mapper.writeValueAsString(releaseEvent))
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException jpEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(jpEx).log();
+            return;
+        }
+
+        if (Objects.isNull(releaseEvent.application())) {
+            subscriptions.values().forEach(keySubscriptions -> offer(keySubscriptions, releaseEvent, frame));
+            return;
+        }
+        offer(subscriptions.get(ALL), releaseEvent, frame);
+        offer(subscriptions.get(releaseEvent.application()), releaseEvent, frame);
+    }
+
+    public StreamMetrics metrics() {
+        return new StreamMetrics(subscribers.get(), published.sum(), delivered.sum(), dropped.sum(), rejected.sum());
+    }
+
+    @Override
+    public void close() {
+        subscriptions.values().stream()
+                .flatMap(Set::stream)
+                .toList()
+                .forEach(this::drop);
+    }
+
+    private void offer(final Set<Subscription> keySubscriptions, final ReleaseEvent releaseEvent, final byte[] frame) {
+        if (Objects.isNull(keySubscriptions)) return;
+        for (final var subscription : keySubscriptions) {
+            if (!subscription.matches(releaseEvent)) continue;
+            if (subscription.frames.offer(frame)) {
+                delivered.increment();
+            } else {
+                dropped.increment();
+                drop(subscription);
+            }
+        }
+    }
+
+    // The subscriber reads the flag once its wait ends, the emptied buffer takes the wake up without blocking
+    private void drop(final Subscription subscription) {
+        subscription.dropped = true;
+        unsubscribe(subscription);
+        subscription.frames.clear();
+        subscription.frames.offer(WAKE_UP);
+    }
+
+    private void unsubscribe(final Subscription subscription) {
+        final var removed = new boolean[] {false};
+        subscriptions.computeIfPresent(subscription.key(), (key, keySubscriptions) -> {
+            removed[0] = keySubscriptions.remove(subscription);
+            return keySubscriptions.isEmpty() ? null : keySubscriptions;
+        });
+        if (removed[0]) subscribers.decrementAndGet();
+    }
+}
@@ -0,0 +1,75 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import de.iu.bniebes.model.parameter.ExportParameters;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReleaseExportDBService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseExportService {
+
+    private final ReleaseExportDBService releaseExportDBService;
+
+    public Result<Long> export(
+            final ExportParameters exportParameters, final Supplier<OutputStream> outputStreamSupplier) {
+        final var outputStream = new LazyOutputStream(outputStreamSupplier);
+        final var result = releaseExportDBService.export(exportParameters, outputStream);
+        if (result.isError()) return result;
+        if (!outputStream.opened()) return Result.empty();
+        try {
+            outputStream.close();
+            return result;
+        } catch (IOException ioEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(ioEx).log();
+            return Result.error();
+        }
+    }
+
+    // Opens the response stream on the first byte, so failures before any data can still be answered with a status
+    private static class LazyOutputStream extends OutputStream {
+
+        private final Supplier<OutputStream> outputStreamSupplier;
+        private OutputStream outputStream;
+
+        private LazyOutputStream(final Supplier<OutputStream> outputStreamSupplier) {
+            this.outputStreamSupplier = outputStreamSupplier;
+        }
+
+        private boolean opened() {
+            return Objects.nonNull(outputStream);
+        }
+
+        private OutputStream outputStream() {
+            if (Objects.isNull(outputStream)) outputStream = outputStreamSupplier.get();
+            return outputStream;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            outputStream().write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            outputStream().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (opened()) outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (opened()) outputStream.close();
+        }
+    }
+}
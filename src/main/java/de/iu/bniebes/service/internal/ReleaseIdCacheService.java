@@ -0,0 +1,75 @@
+package de.iu.bniebes.service.internal;
+
+import de.iu.bniebes.configuration.ReleaseIdCacheConfiguration;
+import de.iu.bniebes.model.ReleaseIdCacheMetrics;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Direct mapped, a key has exactly one slot and replaces whatever key held it before. The id of a key never
+// changes, so an entry can be missing but never wrong, which is why no invalidation exists.
+public class ReleaseIdCacheService {
+
+    private record Entry(String application, String environment, String version, long zuluEpochMicros, long id) {
+
+        private boolean matches(
+                final String application, final String environment, final String version, final long zuluEpochMicros) {
+            return this.zuluEpochMicros == zuluEpochMicros
+                    && this.version.equals(version)
+                    && this.environment.equals(environment)
+                    && this.application.equals(application);
+        }
+    }
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReleaseIdCacheService(final ReleaseIdCacheConfiguration configuration) {
+        final var size = configuration.enabled()
+                ? Integer.highestOneBit(Math.min(configuration.maximumSize(), 1 << 30) * 2 - 1)
+                : 0;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public OptionalLong get(
+            final String application, final String environment, final String version, final long zuluEpochMicros) {
+        if (slots.length() == 0) return OptionalLong.empty();
+        final var entry = slots.get(slot(application, environment, version, zuluEpochMicros));
+        if (Objects.nonNull(entry) && entry.matches(application, environment, version, zuluEpochMicros)) {
+            hits.increment();
+            return OptionalLong.of(entry.id());
+        }
+        misses.increment();
+        return OptionalLong.empty();
+    }
+
+    public void put(
+            final String application,
+            final String environment,
+            final String version,
+            final long zuluEpochMicros,
+            final long id) {
+        if (slots.length() == 0) return;
+        slots.set(
+                slot(application, environment, version, zuluEpochMicros),
+                new Entry(application, environment, version, zuluEpochMicros, id));
+    }
+
+    public ReleaseIdCacheMetrics metrics() {
+        return new ReleaseIdCacheMetrics(slots.length(), hits.sum(), misses.sum());
+    }
+
+    private int slot(
+            final String application, final String environment, final String version, final long zuluEpochMicros) {
+        var hash = application.hashCode();
+        hash = 31 * hash + environment.hashCode();
+        hash = 31 * hash + version.hashCode();
+        hash = 31 * hash + Long.hashCode(zuluEpochMicros);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
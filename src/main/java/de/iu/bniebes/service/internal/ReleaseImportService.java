@@ -0,0 +1,274 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.iu.bniebes.model.db.ReleaseImport;
+import de.iu.bniebes.model.parameter.BulkFormat;
+import de.iu.bniebes.model.request.ReleaseImportRow;
+import de.iu.bniebes.model.response.ReleaseImportResponse;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReleaseImportDBService;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseImportService {
+
+    static final int MAX_REPORTED_REJECTED_LINES = 100;
+    static final List<String> CSV_REQUIRED_COLUMNS =
+            List.of("application", "environment", "version", "zuluEpochMicros");
+
+    private final ReleaseImportDBService releaseImportDBService;
+    private final InputSanitizationService inputSanitizationService;
+    private final CacheInvalidationService cacheInvalidationService;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectReader rowReader = mapper.readerFor(ReleaseImportRow.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public Result<String> importReleases(final InputStream inputStream, final BulkFormat format) {
+        final var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        final Iterator<ParsedLine> rows;
+        try {
+            final var maybeRows = switch (format) {
+                case NDJSON -> Optional.of(ndjsonRows(reader));
+                case CSV -> csvRows(reader);
+            };
+            if (maybeRows.isEmpty()) return Result.empty();
+            rows = maybeRows.get();
+        } catch (IOException ioEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(ioEx).log();
+            return Result.error();
+        }
+
+        final var sanitizingIterator = new SanitizingIterator(rows);
+        final var maybeImported = releaseImportDBService.importReleases(sanitizingIterator);
+        cacheInvalidationService.invalidateAll();
+        if (maybeImported.notPresent()) return Result.error();
+
+        final var importResponse = new ReleaseImportResponse(
+                maybeImported.get().imported(),
+                maybeImported.get().created(),
+                sanitizingIterator.rejected,
+                sanitizingIterator.rejectedLines);
+        try {
+            return Result.of(mapper.writeValueAsString(importResponse));
+        } catch (JsonProcessingException jpEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(jpEx).log();
+            return Result.error();
+        }
+    }
+
+    private Iterator<ParsedLine> ndjsonRows(final BufferedReader reader) {
+        return new LineIterator(reader, 1L, line -> {
+            try {
+                return Optional.of(rowReader.readValue(line));
+            } catch (JsonProcessingException jpEx) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private Optional<Iterator<ParsedLine>> csvRows(final BufferedReader reader) throws IOException {
+        final var header = reader.readLine();
+        if (Objects.isNull(header)) return Optional.empty();
+        final var maybeColumns = csvValues(header);
+        if (maybeColumns.isEmpty()) return Optional.empty();
+
+        final var columns = new HashMap<String, Integer>();
+        final var columnNames = maybeColumns.get();
+        for (int i = 0; i < columnNames.size(); i++) {
+            columns.put(columnNames.get(i).strip(), i);
+        }
+        if (!columns.keySet().containsAll(CSV_REQUIRED_COLUMNS)) return Optional.empty();
+
+        return Optional.of(new LineIterator(reader, 2L, line -> csvValues(line).map(values -> new ReleaseImportRow(
+                csvValue(values, columns, "application"),
+                csvValue(values, columns, "environment"),
+                csvValue(values, columns, "version"),
+                csvValue(values, columns, "zuluEpochMicros"),
+                csvValue(values, columns, "releaseName"),
+                csvValue(values, columns, "description"),
+                csvValue(values, columns, "changes"),
+                csvValue(values, columns, "responsibility"),
+                csvValue(values, columns, "buildLocation")))));
+    }
+
+    private String csvValue(final List<String> values, final Map<String, Integer> columns, final String column) {
+        final var index = columns.get(column);
+        if (Objects.isNull(index) || index >= values.size()) return null;
+        final var value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    static Optional<List<String>> csvValues(final String line) {
+        final var values = new ArrayList<String>();
+        final var value = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final var c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c != '\r') {
+                value.append(c);
+            }
+        }
+        if (quoted) return Optional.empty();
+        values.add(value.toString());
+        return Optional.of(values);
+    }
+
+    private Optional<ReleaseImport> sanitize(final ReleaseImportRow row) {
+        final var maybeApp = inputSanitizationService.safeString(row.application());
+        final var maybeEnv = inputSanitizationService.safeString(row.environment());
+        final var maybeVer = inputSanitizationService.safeString(row.version());
+        final var maybeZeu = inputSanitizationService.zuluEpochMicros(row.zuluEpochMicros());
+        if (maybeApp.isEmpty() || maybeEnv.isEmpty() || maybeVer.isEmpty() || maybeZeu.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (!absentOrSafe(row.releaseName())
+                || !absentOrSafe(row.description())
+                || !absentOrSafe(row.changes())
+                || !absentOrSafe(row.responsibility())
+                || !absentOrSafe(row.buildLocation())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ReleaseImport(
+                maybeApp.get(),
+                maybeEnv.get(),
+                maybeVer.get(),
+                ZuluEpochMicros.toInstant(maybeZeu.getAsLong()),
+                nullIfBlank(row.releaseName()),
+                nullIfBlank(row.description()),
+                nullIfBlank(row.changes()),
+                nullIfBlank(row.responsibility()),
+                nullIfBlank(row.buildLocation())));
+    }
+
+    private boolean absentOrSafe(final String value) {
+        return Objects.isNull(value) || value.isBlank() || inputSanitizationService.safeString(value).isPresent();
+    }
+
+    private String nullIfBlank(final String value) {
+        return Objects.isNull(value) || value.isBlank() ? null : value;
+    }
+
+    private interface LineParser {
+        Optional<ReleaseImportRow> parse(String line);
+    }
+
+    private record ParsedLine(long number, Optional<ReleaseImportRow> row) {}
+
+    private static class LineIterator implements Iterator<ParsedLine> {
+
+        private final BufferedReader reader;
+        private final LineParser lineParser;
+
+        private long number;
+        private String nextLine;
+        private boolean done;
+
+        private LineIterator(final BufferedReader reader, final long firstLine, final LineParser lineParser) {
+            this.reader = reader;
+            this.lineParser = lineParser;
+            this.number = firstLine - 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (Objects.isNull(nextLine) && !done) {
+                try {
+                    nextLine = reader.readLine();
+                } catch (IOException ioEx) {
+                    throw new UncheckedIOException(ioEx);
+                }
+                done = Objects.isNull(nextLine);
+                number++;
+                if (!done && nextLine.isBlank()) nextLine = null;
+            }
+            return Objects.nonNull(nextLine);
+        }
+
+        @Override
+        public ParsedLine next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final var line = nextLine;
+            nextLine = null;
+            return new ParsedLine(number, lineParser.parse(line));
+        }
+    }
+
+    private class SanitizingIterator implements Iterator<ReleaseImport> {
+
+        private final Iterator<ParsedLine> lines;
+        private final List<Long> rejectedLines = new ArrayList<>();
+
+        private long rejected;
+        private ReleaseImport next;
+
+        private SanitizingIterator(final Iterator<ParsedLine> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (Objects.isNull(next) && lines.hasNext()) {
+                final var line = lines.next();
+                final var maybeReleaseImport = line.row().flatMap(ReleaseImportService.this::sanitize);
+                if (maybeReleaseImport.isPresent()) {
+                    next = maybeReleaseImport.get();
+                } else {
+                    reject(line.number());
+                }
+            }
+            return Objects.nonNull(next);
+        }
+
+        @Override
+        public ReleaseImport next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final var releaseImport = next;
+            next = null;
+            return releaseImport;
+        }
+
+        private void reject(final long number) {
+            rejected++;
+            if (rejectedLines.size() < MAX_REPORTED_REJECTED_LINES) rejectedLines.add(number);
+        }
+    }
+}
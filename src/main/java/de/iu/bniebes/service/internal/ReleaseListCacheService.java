@@ -0,0 +1,205 @@
+package de.iu.bniebes.service.internal;
+
+import de.iu.bniebes.configuration.ListCacheConfiguration;
+import de.iu.bniebes.model.ListCacheMetrics;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
+import de.iu.bniebes.service.external.db.ReadConsistency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import lombok.RequiredArgsConstructor;
+
+// Encoded list responses by query, least recently used entries are evicted once the byte budget is exceeded
+@RequiredArgsConstructor
+public class ReleaseListCacheService {
+
+    // The gzip body is added on the first request accepting it, the tag belongs to the JSON body
+    public record CachedList(byte[] json, byte[] gzip, long releases, String etag) {
+
+        public CachedList(final byte[] json, final long releases, final String etag) {
+            this(json, null, releases, etag);
+        }
+
+        private long bytes() {
+            return json.length + (Objects.isNull(gzip) ? 0 : gzip.length);
+        }
+    }
+
+    private final ListCacheConfiguration configuration;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<ReleaseQuery, CachedList> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<ReleaseQuery>> queriesByApplication = new HashMap<>();
+    private long bytes;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+
+    public boolean cacheable(final ReleaseQuery releaseQuery) {
+        // A read-your-writes token has to reach the database routing, a cached list knows nothing about it
+        return configuration.enabled()
+                && Objects.nonNull(releaseQuery.application())
+                && ReadConsistency.minLsn().isEmpty();
+    }
+
+    public long maximumEntryBytes() {
+        return configuration.maximumEntryBytes();
+    }
+
+    public Optional<CachedList> get(final ReleaseQuery releaseQuery) {
+        lock.lock();
+        try {
+            final var cachedList = entries.get(releaseQuery);
+            (Objects.isNull(cachedList) ? misses : hits).increment();
+            return Optional.ofNullable(cachedList);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Counts hits only, a miss is counted by get when the list is loaded
+    public Optional<CachedList> cached(final ReleaseQuery releaseQuery) {
+        lock.lock();
+        try {
+            final var cachedList = entries.get(releaseQuery);
+            if (Objects.nonNull(cachedList)) hits.increment();
+            return Optional.ofNullable(cachedList);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops the list if any invalidation happened since loadGeneration, the load may have read replaced data
+    public void put(final ReleaseQuery releaseQuery, final CachedList cachedList, final long loadGeneration) {
+        if (cachedList.json().length > configuration.maximumEntryBytes()) {
+            oversized.increment();
+            return;
+        }
+        lock.lock();
+        try {
+            if (generation != loadGeneration) return;
+            remove(releaseQuery);
+            entries.put(releaseQuery, cachedList);
+            queriesByApplication
+                    .computeIfAbsent(releaseQuery.application(), application -> new HashSet<>())
+                    .add(releaseQuery);
+            bytes += cachedList.bytes();
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Compresses outside the lock, a list replaced meanwhile keeps its entry and the body is only returned
+    public Optional<CachedList> gzip(final ReleaseQuery releaseQuery, final UnaryOperator<byte[]> compressor) {
+        final CachedList cachedList;
+        lock.lock();
+        try {
+            cachedList = entries.get(releaseQuery);
+            if (Objects.isNull(cachedList)) return Optional.empty();
+            if (Objects.nonNull(cachedList.gzip())) {
+                hits.increment();
+                return Optional.of(cachedList);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        final var gzip = compressor.apply(cachedList.json());
+        if (Objects.isNull(gzip)) return Optional.empty();
+        lock.lock();
+        try {
+            hits.increment();
+            final var compressed = new CachedList(cachedList.json(), gzip, cachedList.releases(), cachedList.etag());
+            if (entries.get(releaseQuery) != cachedList) return Optional.of(compressed);
+            entries.put(releaseQuery, compressed);
+            bytes += gzip.length;
+            evict();
+            return Optional.of(compressed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(final String application, final String environment) {
+        lock.lock();
+        try {
+            generation++;
+            final var queries = queriesByApplication.get(application);
+            if (Objects.isNull(queries)) return;
+            queries.stream()
+                    .filter(query -> Objects.isNull(query.environment()) || query.environment().equals(environment))
+                    .toList()
+                    .forEach(this::remove);
+        } finally {
+            invalidations.increment();
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+            queriesByApplication.clear();
+            bytes = 0;
+        } finally {
+            invalidations.increment();
+            lock.unlock();
+        }
+    }
+
+    public ListCacheMetrics metrics() {
+        lock.lock();
+        try {
+            return new ListCacheMetrics(
+                    entries.size(),
+                    bytes,
+                    configuration.maximumBytes(),
+                    hits.sum(),
+                    misses.sum(),
+                    invalidations.sum(),
+                    evictions.sum(),
+                    oversized.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict() {
+        while (bytes > configuration.maximumBytes()) {
+            remove(entries.keySet().iterator().next());
+            evictions.increment();
+        }
+    }
+
+    private void remove(final ReleaseQuery releaseQuery) {
+        final var removed = entries.remove(releaseQuery);
+        if (Objects.isNull(removed)) return;
+        bytes -= removed.bytes();
+        final var queries = queriesByApplication.get(releaseQuery.application());
+        queries.remove(releaseQuery);
+        if (queries.isEmpty()) queriesByApplication.remove(releaseQuery.application());
+    }
+}
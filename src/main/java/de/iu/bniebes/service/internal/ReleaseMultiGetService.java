@@ -0,0 +1,89 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import de.iu.bniebes.model.parameter.ReleaseKey;
+import de.iu.bniebes.model.request.ReleaseMultiGetRequest;
+import de.iu.bniebes.model.response.ReleaseMultiGetResponse;
+import de.iu.bniebes.model.response.ReleaseResponse;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReleaseReader;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseMultiGetService {
+
+    static final int MAX_KEYS = 1000;
+
+    private final ReleaseReader releaseReader;
+    private final InputSanitizationService inputSanitizationService;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ObjectReader requestReader =
+            mapper.readerFor(ReleaseMultiGetRequest.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    // Empty if the body is malformed, has no or too many keys or any of them is not a valid release key
+    public Result<byte[]> multiGet(final InputStream inputStream) {
+        final var maybeReleaseKeys = releaseKeys(inputStream);
+        if (maybeReleaseKeys.notPresent()) return maybeReleaseKeys.isEmpty() ? Result.empty() : Result.error();
+
+        final var maybeFullReleases = releaseReader.fullReleases(maybeReleaseKeys.get());
+        if (maybeFullReleases.notPresent()) return Result.error();
+
+        final var fullReleases = maybeFullReleases.get();
+        final var releases = new ArrayList<ReleaseResponse>(fullReleases.size());
+        final var missing = new ArrayList<Integer>();
+        for (int i = 0; i < fullReleases.size(); i++) {
+            final var fullRelease = fullReleases.get(i);
+            if (Objects.isNull(fullRelease)) missing.add(i);
+            releases.add(Objects.nonNull(fullRelease) ? ReleaseResponse.of(fullRelease) : null);
+        }
+        try {
+            return Result.of(mapper.writeValueAsBytes(new ReleaseMultiGetResponse(releases, missing)));
+        } catch (JsonProcessingException jpEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(jpEx).log();
+            return Result.error();
+        }
+    }
+
+    private Result<List<ReleaseKey>> releaseKeys(final InputStream inputStream) {
+        final ReleaseMultiGetRequest request;
+        try {
+            request = requestReader.readValue(inputStream);
+        } catch (JsonProcessingException jpEx) {
+            return Result.empty();
+        } catch (IOException ioEx) {
+            log.atError().addMarker(Markers.SERVICE).setCause(ioEx).log();
+            return Result.error();
+        }
+        if (Objects.isNull(request) || Objects.isNull(request.keys())) return Result.empty();
+        if (request.keys().isEmpty() || request.keys().size() > MAX_KEYS) return Result.empty();
+
+        final var releaseKeys = new ArrayList<ReleaseKey>(request.keys().size());
+        for (final var key : request.keys()) {
+            if (Objects.isNull(key)) return Result.empty();
+            final var maybeApp = inputSanitizationService.safeString(key.application());
+            final var maybeEnv = inputSanitizationService.safeString(key.environment());
+            final var maybeVer = inputSanitizationService.safeString(key.version());
+            final var maybeZeu = inputSanitizationService.zuluEpochMicros(key.zuluEpochMicros());
+            if (maybeApp.isEmpty() || maybeEnv.isEmpty() || maybeVer.isEmpty() || maybeZeu.isEmpty()) {
+                return Result.empty();
+            }
+            releaseKeys.add(new ReleaseKey(
+                    maybeApp.get(), maybeEnv.get(), maybeVer.get(), ZuluEpochMicros.toInstant(maybeZeu.getAsLong())));
+        }
+        return Result.of(releaseKeys);
+    }
+}
@@ -2,10 +2,12 @@ package de.iu.bniebes.service.internal;
 
 import de.iu.bniebes.model.OptInfo;
 import de.iu.bniebes.model.parameter.AllParameters;
+import de.iu.bniebes.model.response.ReleaseEvent;
 import de.iu.bniebes.model.result.Result;
 import de.iu.bniebes.service.external.db.ReleaseDBService;
 import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
-import de.iu.bniebes.util.TimestampUtils;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,13 +23,18 @@ public class ReleaseOptInfoService {
 
     private final ReleaseDBService releaseDBService;
     private final ReleaseOptInfoDBService releaseOptInfoDBService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final ReleaseIdCacheService releaseIdCacheService;
+    private final ReleaseReadModelService releaseReadModelService;
+    private final ReleaseEventService releaseEventService;
 
     public Result<String> optInfo(final AllParameters parameters, final OptInfo optInfo) {
-        final var maybeRelease = releaseDBService.release(
-                parameters.app(), parameters.env(), parameters.ver(), TimestampUtils.instantOf(parameters.zeu()));
-        if (maybeRelease.isError()) return Result.error();
-        if (maybeRelease.isEmpty()) return Result.empty();
-        final var releaseId = maybeRelease.get().id();
+        if (releaseReadModelService.readable()) return readModelOptInfo(parameters, optInfo);
+
+        final var maybeReleaseId = releaseId(parameters);
+        if (maybeReleaseId.isError()) return Result.error();
+        if (maybeReleaseId.isEmpty()) return Result.empty();
+        final var releaseId = maybeReleaseId.get();
 
         final var maybeValue = releaseOptInfoDBService.stringValueById(releaseId, optInfo);
         if (maybeValue.notPresent()) return maybeValue;
@@ -35,12 +42,49 @@ public class ReleaseOptInfoService {
     }
 
     public Result<Boolean> deleteOptInfo(final AllParameters parameters, final OptInfo optInfo) {
-        final var maybeRelease = releaseDBService.release(
-                parameters.app(), parameters.env(), parameters.ver(), TimestampUtils.instantOf(parameters.zeu()));
-        if (maybeRelease.isError()) return Result.error();
-        if (maybeRelease.isEmpty()) return Result.empty();
-        final var releaseId = maybeRelease.get().id();
+        final var maybeReleaseId = releaseId(parameters);
+        if (maybeReleaseId.isError()) return Result.error();
+        if (maybeReleaseId.isEmpty()) return Result.empty();
+        final var releaseId = maybeReleaseId.get();
+
+        final var deleted = releaseOptInfoDBService.deleteValueById(releaseId, optInfo);
+        if (deleted.isPresent()) releaseReadModelService.put(deleted.get());
+        cacheInvalidationService.invalidate(parameters.app(), parameters.env());
+        if (deleted.notPresent()) return deleted.isError() ? Result.error() : Result.empty();
+        releaseEventService.publish(ReleaseEvent.deleted(
+                parameters.app(), parameters.env(), parameters.ver(), parameters.zeu(), optInfo));
+        return Result.of(Boolean.TRUE);
+    }
+
+    private Result<String> readModelOptInfo(final AllParameters parameters, final OptInfo optInfo) {
+        final var maybeFullRelease = releaseReadModelService.fullRelease(
+                parameters.app(), parameters.env(), parameters.ver(), ZuluEpochMicros.toInstant(parameters.zeu()));
+        if (maybeFullRelease.isError()) return Result.error();
+        if (maybeFullRelease.isEmpty()) return Result.empty();
+
+        final var fullRelease = maybeFullRelease.get();
+        final var value = switch (optInfo) {
+            case RELEASE_NAME -> fullRelease.releaseName();
+            case DESCRIPTION -> fullRelease.description();
+            case CHANGES -> fullRelease.changes();
+            case RESPONSIBILITY -> fullRelease.responsibility();
+            case BUILD_LOCATION -> fullRelease.buildLocation();
+        };
+        if (Objects.isNull(value)) return Result.empty();
+        return Result.of(JSON_FMT.formatted(optInfo.label, value));
+    }
+
+    private Result<Long> releaseId(final AllParameters parameters) {
+        final var maybeCachedId =
+                releaseIdCacheService.get(parameters.app(), parameters.env(), parameters.ver(), parameters.zeu());
+        if (maybeCachedId.isPresent()) return Result.of(maybeCachedId.getAsLong());
 
-        return releaseOptInfoDBService.deleteValueById(releaseId, optInfo);
+        final var maybeReleaseId = releaseDBService.releaseId(
+                parameters.app(), parameters.env(), parameters.ver(), ZuluEpochMicros.toInstant(parameters.zeu()));
+        if (maybeReleaseId.isPresent()) {
+            releaseIdCacheService.put(
+                    parameters.app(), parameters.env(), parameters.ver(), parameters.zeu(), maybeReleaseId.get());
+        }
+        return maybeReleaseId;
     }
 }
@@ -0,0 +1,489 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import de.iu.bniebes.configuration.ReadModelConfiguration;
+import de.iu.bniebes.model.ReadModelMetrics;
+import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.model.parameter.ReleaseCursor;
+import de.iu.bniebes.model.parameter.ReleaseKey;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReadConsistency;
+import de.iu.bniebes.service.external.db.ReleaseDBService;
+import de.iu.bniebes.service.external.db.ReleaseReader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+// All releases indexed in memory, readers only touch concurrent maps while writers are serialized by one lock
+@Slf4j
+public class ReleaseReadModelService implements ReleaseReader, AutoCloseable {
+
+    private static final Comparator<ReleaseCursor> RELEASE_ORDER =
+            Comparator.comparing(ReleaseCursor::releaseTimestamp).thenComparingLong(ReleaseCursor::id);
+
+    private record ApplicationEnvironment(String application, String environment) {}
+
+    private record ApplicationEnvironmentVersion(String application, String environment, String version) {}
+
+    private static final class Indexes {
+
+        private final ConcurrentHashMap<Long, FullRelease> byId = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<ReleaseCursor, FullRelease> byTimestamp = newIndex();
+        private final ConcurrentHashMap<String, ConcurrentSkipListMap<ReleaseCursor, FullRelease>> byApplication =
+                new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<ApplicationEnvironment, ConcurrentSkipListMap<ReleaseCursor, FullRelease>>
+                byApplicationAndEnvironment = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<
+                        ApplicationEnvironmentVersion, ConcurrentSkipListMap<ReleaseCursor, FullRelease>>
+                byVersion = new ConcurrentHashMap<>();
+        // Releases written by transactions older than this horizon are part of the indexes, guarded by the write lock
+        private long horizon;
+
+        private static ConcurrentSkipListMap<ReleaseCursor, FullRelease> newIndex() {
+            return new ConcurrentSkipListMap<>(RELEASE_ORDER);
+        }
+
+        // Id and natural key of a release never change, a later revision replaces the release in every index.
+        // Writes finish in any order, the revision of a row is the order its changes were committed in.
+        private void put(final FullRelease fullRelease) {
+            final var previous = byId.get(fullRelease.id());
+            if (Objects.nonNull(previous) && previous.revision() >= fullRelease.revision()) return;
+            final var cursor = ReleaseCursor.of(fullRelease);
+            byId.put(fullRelease.id(), fullRelease);
+            byTimestamp.put(cursor, fullRelease);
+            byApplication
+                    .computeIfAbsent(fullRelease.application(), application -> newIndex())
+                    .put(cursor, fullRelease);
+            byApplicationAndEnvironment
+                    .computeIfAbsent(
+                            new ApplicationEnvironment(fullRelease.application(), fullRelease.environment()),
+                            key -> newIndex())
+                    .put(cursor, fullRelease);
+            byVersion
+                    .computeIfAbsent(
+                            new ApplicationEnvironmentVersion(
+                                    fullRelease.application(), fullRelease.environment(), fullRelease.version()),
+                            key -> newIndex())
+                    .put(cursor, fullRelease);
+        }
+
+        // Narrowed to the time window and the page cursor at once, a sub map rejects later bounds out of its range.
+        // A version without environment is left to matches.
+        private NavigableMap<ReleaseCursor, FullRelease> releases(
+                final ReleaseQuery releaseQuery, final ReleaseCursor after) {
+            var lower = firstAt(releaseQuery.from());
+            var lowerInclusive = true;
+            var upper = firstAt(releaseQuery.to());
+            if (Objects.nonNull(after) && releaseQuery.descending()) {
+                if (Objects.isNull(upper) || RELEASE_ORDER.compare(after, upper) < 0) upper = after;
+            } else if (Objects.nonNull(after)) {
+                if (Objects.isNull(lower) || RELEASE_ORDER.compare(after, lower) >= 0) {
+                    lower = after;
+                    lowerInclusive = false;
+                }
+            }
+            if (Objects.nonNull(lower) && Objects.nonNull(upper) && RELEASE_ORDER.compare(lower, upper) >= 0) {
+                return Collections.emptyNavigableMap();
+            }
+
+            var releases = index(releaseQuery);
+            if (Objects.nonNull(lower)) releases = releases.tailMap(lower, lowerInclusive);
+            if (Objects.nonNull(upper)) releases = releases.headMap(upper, false);
+            return releaseQuery.descending() ? releases.descendingMap() : releases;
+        }
+
+        private static ReleaseCursor firstAt(final Instant releaseTimestamp) {
+            return Objects.nonNull(releaseTimestamp) ? new ReleaseCursor(releaseTimestamp, Long.MIN_VALUE) : null;
+        }
+
+        private NavigableMap<ReleaseCursor, FullRelease> index(final ReleaseQuery releaseQuery) {
+            if (Objects.isNull(releaseQuery.application())) return byTimestamp;
+            final NavigableMap<ReleaseCursor, FullRelease> index;
+            if (Objects.isNull(releaseQuery.environment())) {
+                index = byApplication.get(releaseQuery.application());
+            } else if (Objects.isNull(releaseQuery.version())) {
+                index = byApplicationAndEnvironment.get(
+                        new ApplicationEnvironment(releaseQuery.application(), releaseQuery.environment()));
+            } else {
+                index = byVersion.get(new ApplicationEnvironmentVersion(
+                        releaseQuery.application(), releaseQuery.environment(), releaseQuery.version()));
+            }
+            return Objects.isNull(index) ? Collections.emptyNavigableMap() : index;
+        }
+    }
+
+    private final ReadModelConfiguration configuration;
+    private final ReleaseDBService source;
+    private final ReleaseReader fallback;
+    private final ReleaseSnapshotService releaseSnapshotService;
+    private final ScheduledExecutorService snapshotExecutor;
+
+    // Full reloads and resyncs run one at a time and only take the write lock to swap in or update the model
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Indexes indexes;
+    // Releases applied while a full reload reads the database, guarded by the write lock
+    private List<FullRelease> appliedDuringReload;
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder reloadErrors = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder snapshotErrors = new LongAdder();
+
+    public ReleaseReadModelService(
+            final ReadModelConfiguration configuration,
+            final ReleaseDBService source,
+            final ReleaseReader fallback,
+            final ReleaseSnapshotService releaseSnapshotService) {
+        this.configuration = configuration;
+        this.source = source;
+        this.fallback = fallback;
+        this.releaseSnapshotService = releaseSnapshotService;
+        if (configuration.snapshotEnabled()) {
+            this.snapshotExecutor = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofVirtual().name("read-model-snapshot").factory());
+            snapshotExecutor.scheduleWithFixedDelay(
+                    this::snapshot,
+                    configuration.snapshotIntervalMillis(),
+                    configuration.snapshotIntervalMillis(),
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.snapshotExecutor = null;
+        }
+    }
+
+    @Override
+    public Result<FullRelease> fullRelease(
+            final String application, final String environment, final String version, final Instant releaseTimestamp) {
+        final var current = readableIndexes();
+        if (Objects.isNull(current)) return fallback.fullRelease(application, environment, version, releaseTimestamp);
+
+        final var fullRelease = find(current, application, environment, version, releaseTimestamp);
+        return Objects.nonNull(fullRelease) ? Result.of(fullRelease) : Result.empty();
+    }
+
+    @Override
+    public Result<List<FullRelease>> fullReleases(final List<ReleaseKey> releaseKeys) {
+        final var current = readableIndexes();
+        if (Objects.isNull(current)) return fallback.fullReleases(releaseKeys);
+
+        final var fullReleases = new ArrayList<FullRelease>(releaseKeys.size());
+        for (final var releaseKey : releaseKeys) {
+            fullReleases.add(find(
+                    current,
+                    releaseKey.application(),
+                    releaseKey.environment(),
+                    releaseKey.version(),
+                    releaseKey.releaseTimestamp()));
+        }
+        return Result.of(fullReleases);
+    }
+
+    private static boolean matches(final ReleaseQuery releaseQuery, final FullRelease fullRelease) {
+        return Objects.isNull(releaseQuery.version()) || releaseQuery.version().equals(fullRelease.version());
+    }
+
+    private static FullRelease find(
+            final Indexes current,
+            final String application,
+            final String environment,
+            final String version,
+            final Instant releaseTimestamp) {
+        final var index = current.byVersion.get(new ApplicationEnvironmentVersion(application, environment, version));
+        if (Objects.isNull(index)) return null;
+        final var entry = index.ceilingEntry(new ReleaseCursor(releaseTimestamp, Long.MIN_VALUE));
+        if (Objects.isNull(entry) || !entry.getKey().releaseTimestamp().equals(releaseTimestamp)) return null;
+        return entry.getValue();
+    }
+
+    @Override
+    public Result<List<FullRelease>> fullReleasesPage(final ReleaseQuery releaseQuery) {
+        final var current = readableIndexes();
+        if (Objects.isNull(current)) return fallback.fullReleasesPage(releaseQuery);
+
+        final var page = new ArrayList<FullRelease>(releaseQuery.limit() + 1);
+        for (final var fullRelease : current.releases(releaseQuery, releaseQuery.after()).values()) {
+            if (!matches(releaseQuery, fullRelease)) continue;
+            page.add(fullRelease);
+            if (page.size() > releaseQuery.limit()) break;
+        }
+        return Result.of(page);
+    }
+
+    @Override
+    public Result<Long> forEachFullRelease(final ReleaseQuery releaseQuery, final Consumer<FullRelease> consumer) {
+        final var current = readableIndexes();
+        if (Objects.isNull(current)) return fallback.forEachFullRelease(releaseQuery, consumer);
+
+        var count = 0L;
+        try {
+            for (final var fullRelease : current.releases(releaseQuery, null).values()) {
+                if (!matches(releaseQuery, fullRelease)) continue;
+                consumer.accept(fullRelease);
+                count++;
+            }
+        } catch (RuntimeException rEx) {
+            log.atError()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Could not stream fullReleases by {} from the read model")
+                    .addArgument(releaseQuery)
+                    .setCause(rEx)
+                    .log();
+            return Result.error();
+        }
+        return count == 0 ? Result.empty() : Result.of(count);
+    }
+
+    @Override
+    public Result<FullRelease> currentReleaseByApplication(final String application) {
+        final var current = readableIndexes();
+        if (Objects.isNull(current)) return fallback.currentReleaseByApplication(application);
+
+        return latest(current.byApplication.get(application));
+    }
+
+    @Override
+    public Result<FullRelease> currentReleaseByApplicationAndEnvironment(
+            final String application, final String environment) {
+        final var current = readableIndexes();
+        if (Objects.isNull(current)) {
+            return fallback.currentReleaseByApplicationAndEnvironment(application, environment);
+        }
+
+        return latest(current.byApplicationAndEnvironment.get(new ApplicationEnvironment(application, environment)));
+    }
+
+    public boolean readable() {
+        return Objects.nonNull(indexes) && ReadConsistency.minLsn().isEmpty();
+    }
+
+    public void put(final FullRelease fullRelease) {
+        putAll(List.of(fullRelease));
+    }
+
+    public void putAll(final List<FullRelease> fullReleases) {
+        if (apply(fullReleases)) updates.increment();
+    }
+
+    // Builds a new model without the write lock and swaps it in, readers keep using the previous one until then.
+    // Releases applied meanwhile are replayed onto it, their revisions decide against the rows that were loaded.
+    public void reload() {
+        if (!configuration.enabled()) return;
+        reloadLock.lock();
+        try {
+            reloads.increment();
+            withWriteLock(() -> appliedDuringReload = new ArrayList<>());
+            final var loaded = new Indexes();
+            final var maybeHorizon = source.writeHorizon();
+            final var loadError = maybeHorizon.isError()
+                    || source.forEachFullRelease(ReleaseQuery.all(), loaded::put).isError();
+            withWriteLock(() -> {
+                final var applied = appliedDuringReload;
+                appliedDuringReload = null;
+                if (loadError) {
+                    unload(ReleaseQuery.all());
+                    return;
+                }
+                applied.forEach(loaded::put);
+                loaded.horizon = maybeHorizon.get();
+                indexes = loaded;
+            });
+            if (loadError) return;
+            log.atInfo()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Loaded {} releases into the read model")
+                    .addArgument(loaded.byId.size())
+                    .log();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Reads without the write lock, a local update newer than what was read keeps its revision
+    public void reload(final String application, final String environment) {
+        if (!configuration.enabled()) return;
+        if (Objects.isNull(indexes)) {
+            reload();
+            return;
+        }
+        reloads.increment();
+        final var releaseQuery = Objects.isNull(environment)
+                ? ReleaseQuery.byApplication(application)
+                : ReleaseQuery.byApplicationAndEnvironment(application, environment);
+        final var fullReleases = new ArrayList<FullRelease>();
+        if (source.forEachFullRelease(releaseQuery, fullReleases::add).isError()) {
+            withWriteLock(() -> unload(releaseQuery));
+            return;
+        }
+        apply(fullReleases);
+    }
+
+    // Restores the snapshot while nothing is loaded, afterwards only releases written since the horizon are read.
+    // Like a full reload it reads without the write lock and replays the releases applied meanwhile.
+    public void resync() {
+        if (!configuration.enabled()) return;
+        reloadLock.lock();
+        try {
+            withWriteLock(() -> appliedDuringReload = new ArrayList<>());
+            final var current = Objects.isNull(indexes) ? restore() : indexes;
+            if (Objects.isNull(current)) {
+                withWriteLock(() -> appliedDuringReload = null);
+                reload();
+                return;
+            }
+            reloads.increment();
+            final var horizon = current.horizon;
+            final var maybeHorizon = source.writeHorizon();
+            final var changed = new ArrayList<FullRelease>();
+            final var loadError = maybeHorizon.isError()
+                    || source.forEachFullReleaseWrittenSince(horizon, changed::add).isError();
+            withWriteLock(() -> {
+                final var applied = appliedDuringReload;
+                appliedDuringReload = null;
+                if (loadError) {
+                    unload("releases written since transaction " + horizon);
+                    return;
+                }
+                changed.forEach(current::put);
+                applied.forEach(current::put);
+                current.horizon = maybeHorizon.get();
+                indexes = current;
+            });
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Catches up first, releases updated while writing are written after the horizon and replayed again on restore
+    public void snapshot() {
+        resync();
+        final Indexes current;
+        final long horizon;
+        writeLock.lock();
+        try {
+            current = indexes;
+            if (Objects.isNull(current)) return;
+            horizon = current.horizon;
+        } finally {
+            writeLock.unlock();
+        }
+        if (releaseSnapshotService.write(horizon, current.byTimestamp.values())) {
+            snapshots.increment();
+            log.atInfo()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Wrote read model snapshot at write horizon {}")
+                    .addArgument(horizon)
+                    .log();
+        } else {
+            snapshotErrors.increment();
+        }
+    }
+
+    public ReadModelMetrics metrics() {
+        final var current = indexes;
+        final var loaded = Objects.nonNull(current);
+        return new ReadModelMetrics(
+                loaded,
+                loaded ? current.byId.size() : 0L,
+                loaded ? current.byApplication.size() : 0L,
+                reads.sum(),
+                fallbackReads.sum(),
+                updates.sum(),
+                reloads.sum(),
+                reloadErrors.sum(),
+                snapshots.sum(),
+                snapshotErrors.sum());
+    }
+
+    // A last snapshot keeps the replay of the next start short
+    @Override
+    public void close() {
+        if (Objects.isNull(snapshotExecutor)) return;
+        snapshotExecutor.close();
+        snapshot();
+    }
+
+    private Indexes restore() {
+        if (!configuration.snapshotEnabled()) return null;
+        final var restored = new Indexes();
+        final var maybeHorizon = releaseSnapshotService.read(restored::put);
+        if (maybeHorizon.notPresent()) return null;
+        restored.horizon = maybeHorizon.get();
+        log.atInfo()
+                .addMarker(Markers.SERVICE)
+                .setMessage("Restored {} releases at write horizon {} from the read model snapshot")
+                .addArgument(restored.byId.size())
+                .addArgument(restored.horizon)
+                .log();
+        return restored;
+    }
+
+    // Null while nothing is loaded and for read-your-writes tokens, those have to reach the database routing
+    private Indexes readableIndexes() {
+        final var current = indexes;
+        if (Objects.isNull(current) || ReadConsistency.minLsn().isPresent()) {
+            fallbackReads.increment();
+            return null;
+        }
+        reads.increment();
+        return current;
+    }
+
+    private boolean apply(final List<FullRelease> fullReleases) {
+        if (!configuration.enabled()) return false;
+        writeLock.lock();
+        try {
+            if (Objects.nonNull(appliedDuringReload)) appliedDuringReload.addAll(fullReleases);
+            final var current = indexes;
+            if (Objects.isNull(current)) return false;
+            fullReleases.forEach(current::put);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void withWriteLock(final Runnable runnable) {
+        writeLock.lock();
+        try {
+            runnable.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // A partially reloaded model may miss changes, the database serves reads until the next reload succeeds
+    private void unload(final Object releases) {
+        indexes = null;
+        reloadErrors.increment();
+        log.atError()
+                .addMarker(Markers.SERVICE)
+                .setMessage("Could not load {} into the read model, reads fall back to the database")
+                .addArgument(releases)
+                .log();
+    }
+
+    private static Result<FullRelease> latest(final NavigableMap<ReleaseCursor, FullRelease> index) {
+        if (Objects.isNull(index)) return Result.empty();
+        final var entry = index.lastEntry();
+        return Objects.isNull(entry) ? Result.empty() : Result.of(entry.getValue());
+    }
+}
@@ -0,0 +1,168 @@
+package de.iu.bniebes.service.internal;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Header, one record per release and a trailer with the record count and a CRC32 over everything before it
+@Slf4j
+@RequiredArgsConstructor
+public class ReleaseSnapshotService {
+
+    static final int MAGIC = 0x52544d53;
+    static final int FORMAT_VERSION = 3;
+
+    private static final byte RECORD = 1;
+    private static final byte END = 0;
+    private static final int NULL_LENGTH = -1;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    private static final int TRAILER_BYTES = 1 + Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final StringDictionaryService stringDictionaryService;
+
+    // Written next to the snapshot and moved over it, a crash while writing leaves the previous snapshot intact
+    public boolean write(final long horizon, final Iterable<FullRelease> fullReleases) {
+        final var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (final var channel = FileChannel.open(
+                    temporary,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                final var crc = new CRC32();
+                final var output = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(Channels.newOutputStream(channel), crc), BUFFER_SIZE));
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeLong(horizon);
+                var count = 0L;
+                for (final var fullRelease : fullReleases) {
+                    output.writeByte(RECORD);
+                    writeRelease(output, fullRelease);
+                    count++;
+                }
+                output.writeByte(END);
+                output.writeLong(count);
+                output.flush();
+                output.writeInt((int) crc.getValue());
+                output.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException | ArithmeticException ex) {
+            log.atError()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Could not write the read model snapshot {}")
+                    .addArgument(path)
+                    .setCause(ex)
+                    .log();
+            return false;
+        }
+    }
+
+    // Maps the snapshot instead of reading it through a stream, returns the horizon the releases are complete up to
+    public Result<Long> read(final Consumer<FullRelease> consumer) {
+        if (!Files.isRegularFile(path)) return Result.empty();
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot size " + size);
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final var checksumOffset = (int) size - Integer.BYTES;
+            final var crc = new CRC32();
+            crc.update(buffer.slice(0, checksumOffset));
+            if ((int) crc.getValue() != buffer.getInt(checksumOffset)) throw new IOException("Checksum mismatch");
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown snapshot format");
+            }
+
+            final var horizon = buffer.getLong();
+            var count = 0L;
+            while (buffer.get() == RECORD) {
+                consumer.accept(readRelease(buffer));
+                count++;
+            }
+            if (buffer.getLong() != count) throw new IOException("Record count mismatch");
+            return Result.of(horizon);
+        } catch (IOException | RuntimeException ex) {
+            log.atError()
+                    .addMarker(Markers.SERVICE)
+                    .setMessage("Could not read the read model snapshot {}")
+                    .addArgument(path)
+                    .setCause(ex)
+                    .log();
+            return Result.error();
+        }
+    }
+
+    private void writeRelease(final DataOutputStream output, final FullRelease fullRelease) throws IOException {
+        output.writeLong(fullRelease.id());
+        writeString(output, fullRelease.application());
+        writeString(output, fullRelease.environment());
+        writeString(output, fullRelease.version());
+        output.writeLong(ZuluEpochMicros.of(fullRelease.releaseTimestamp()));
+        writeString(output, fullRelease.releaseName());
+        writeString(output, fullRelease.description());
+        writeString(output, fullRelease.changes());
+        writeString(output, fullRelease.responsibility());
+        writeString(output, fullRelease.buildLocation());
+        output.writeLong(fullRelease.revision());
+    }
+
+    private FullRelease readRelease(final ByteBuffer buffer) {
+        return new FullRelease(
+                buffer.getLong(),
+                stringDictionaryService.application(readString(buffer)),
+                stringDictionaryService.environment(readString(buffer)),
+                stringDictionaryService.version(readString(buffer)),
+                ZuluEpochMicros.toInstant(buffer.getLong()),
+                readString(buffer),
+                readString(buffer),
+                readString(buffer),
+                readString(buffer),
+                readString(buffer),
+                buffer.getLong());
+    }
+
+    private void writeString(final DataOutputStream output, final String value) throws IOException {
+        if (Objects.isNull(value)) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private String readString(final ByteBuffer buffer) {
+        final var length = buffer.getInt();
+        if (length == NULL_LENGTH) return null;
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
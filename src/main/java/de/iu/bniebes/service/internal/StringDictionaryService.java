@@ -0,0 +1,27 @@
+package de.iu.bniebes.service.internal;
+
+import de.iu.bniebes.util.StringDictionary;
+
+// One dictionary per field, the many short-lived versions must not evict the few applications and environments
+public class StringDictionaryService {
+
+    static final int APPLICATIONS = 1 << 14;
+    static final int ENVIRONMENTS = 1 << 10;
+    static final int VERSIONS = 1 << 16;
+
+    private final StringDictionary applications = new StringDictionary(APPLICATIONS);
+    private final StringDictionary environments = new StringDictionary(ENVIRONMENTS);
+    private final StringDictionary versions = new StringDictionary(VERSIONS);
+
+    public String application(final String application) {
+        return applications.canonical(application);
+    }
+
+    public String environment(final String environment) {
+        return environments.canonical(environment);
+    }
+
+    public String version(final String version) {
+        return versions.canonical(version);
+    }
+}
@@ -2,9 +2,13 @@ package de.iu.bniebes.service.web;
 
 import static de.iu.bniebes.util.ResponseUtil.onNoSuchElementException;
 import static de.iu.bniebes.util.ResponseUtil.respondAccordingToResult;
+import static de.iu.bniebes.util.ResponseUtil.respondNotModified;
+import static de.iu.bniebes.util.ResponseUtil.withETag;
 
+import de.iu.bniebes.service.internal.CompressionService;
 import de.iu.bniebes.service.internal.InputSanitizationService;
 import de.iu.bniebes.service.internal.ReleaseAccessService;
+import de.iu.bniebes.service.internal.ReleaseETagService;
 import io.helidon.http.Status;
 import io.helidon.webserver.http.HttpRules;
 import io.helidon.webserver.http.HttpService;
@@ -20,6 +24,8 @@ public class CurrentHttpServiceV1 implements HttpService {
 
     private final InputSanitizationService inputSanitizationService;
     private final ReleaseAccessService releaseAccessService;
+    private final ReleaseETagService releaseETagService;
+    private final CompressionService compressionService;
 
     @Override
     public void routing(final HttpRules httpRules) {
@@ -39,7 +45,17 @@ public class CurrentHttpServiceV1 implements HttpService {
             }
 
             final var maybeCurrentRelease = releaseAccessService.currentByApplication(maybeApp.get());
-            respondAccordingToResult(maybeCurrentRelease, response, "Could not retrieve current release by app");
+            if (maybeCurrentRelease.isPresent()) {
+                final var etag = releaseETagService.of(maybeCurrentRelease.get());
+                if (respondNotModified(request, response, etag)) return;
+                withETag(response, etag);
+            }
+            respondAccordingToResult(
+                    maybeCurrentRelease,
+                    request,
+                    response,
+                    compressionService,
+                    "Could not retrieve current release by app");
         } catch (NoSuchElementException nseEx) {
             onNoSuchElementException(nseEx, response);
         }
@@ -56,8 +72,17 @@ public class CurrentHttpServiceV1 implements HttpService {
             }
             final var maybeCurrentRelease =
                     releaseAccessService.currentByApplicationAndEnvironment(maybeApp.get(), maybeEnv.get());
+            if (maybeCurrentRelease.isPresent()) {
+                final var etag = releaseETagService.of(maybeCurrentRelease.get());
+                if (respondNotModified(request, response, etag)) return;
+                withETag(response, etag);
+            }
             respondAccordingToResult(
-                    maybeCurrentRelease, response, "Could not retrieve current release by app and env");
+                    maybeCurrentRelease,
+                    request,
+                    response,
+                    compressionService,
+                    "Could not retrieve current release by app and env");
         } catch (NoSuchElementException nseEx) {
             onNoSuchElementException(nseEx, response);
         }
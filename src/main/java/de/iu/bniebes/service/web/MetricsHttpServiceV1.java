@@ -0,0 +1,72 @@
+package de.iu.bniebes.service.web;
+
+import static de.iu.bniebes.util.ResponseUtil.respondAccordingToResult;
+import static de.iu.bniebes.util.ResponseUtil.respondNotFound;
+
+import de.iu.bniebes.service.internal.MetricsService;
+import io.helidon.webserver.http.HttpRules;
+import io.helidon.webserver.http.HttpService;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class MetricsHttpServiceV1 implements HttpService {
+
+    private final MetricsService metricsService;
+
+    @Override
+    public void routing(final HttpRules httpRules) {
+        httpRules
+                .get("/db-pool", this::dbPool)
+                .get("/db-pool/replica", this::dbReplicaPool)
+                .get("/cache/current", this::currentReleaseCache)
+                .get("/cache/list", this::releaseListCache)
+                .get("/cache/release-id", this::releaseIdCache)
+                .get("/read-model", this::readModel)
+                .get("/compression", this::compression)
+                .get("/stream", this::stream);
+    }
+
+    private void dbPool(final ServerRequest request, final ServerResponse response) {
+        respondAccordingToResult(metricsService.dbPool(), response, "Could not retrieve db pool metrics");
+    }
+
+    private void dbReplicaPool(final ServerRequest request, final ServerResponse response) {
+        final var result = metricsService.dbReplicaPool();
+        if (result.isEmpty()) {
+            respondNotFound(response);
+            return;
+        }
+        respondAccordingToResult(result, response, "Could not retrieve db replica pool metrics");
+    }
+
+    private void currentReleaseCache(final ServerRequest request, final ServerResponse response) {
+        respondAccordingToResult(
+                metricsService.currentReleaseCache(), response, "Could not retrieve current release cache metrics");
+    }
+
+    private void releaseListCache(final ServerRequest request, final ServerResponse response) {
+        respondAccordingToResult(
+                metricsService.releaseListCache(), response, "Could not retrieve release list cache metrics");
+    }
+
+    private void releaseIdCache(final ServerRequest request, final ServerResponse response) {
+        respondAccordingToResult(
+                metricsService.releaseIdCache(), response, "Could not retrieve release id cache metrics");
+    }
+
+    private void readModel(final ServerRequest request, final ServerResponse response) {
+        respondAccordingToResult(metricsService.readModel(), response, "Could not retrieve read model metrics");
+    }
+
+    private void compression(final ServerRequest request, final ServerResponse response) {
+        respondAccordingToResult(metricsService.compression(), response, "Could not retrieve compression metrics");
+    }
+
+    private void stream(final ServerRequest request, final ServerResponse response) {
+        respondAccordingToResult(metricsService.stream(), response, "Could not retrieve stream metrics");
+    }
+}
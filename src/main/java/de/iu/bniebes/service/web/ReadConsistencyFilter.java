@@ -0,0 +1,46 @@
+package de.iu.bniebes.service.web;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import de.iu.bniebes.service.external.db.ReadConsistency;
+import de.iu.bniebes.service.internal.InputSanitizationService;
+import de.iu.bniebes.util.ResponseUtil;
+import io.helidon.http.HeaderName;
+import io.helidon.http.HeaderNames;
+import io.helidon.webserver.http.Filter;
+import io.helidon.webserver.http.FilterChain;
+import io.helidon.webserver.http.RoutingRequest;
+import io.helidon.webserver.http.RoutingResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class ReadConsistencyFilter implements Filter {
+
+    private static final HeaderName LSN_HEADER = HeaderNames.create(Headers.LSN);
+
+    private final InputSanitizationService inputSanitizationService;
+
+    @Override
+    public void filter(final FilterChain chain, final RoutingRequest request, final RoutingResponse response) {
+        final var maybeHeader = request.headers().first(LSN_HEADER);
+        if (maybeHeader.isEmpty()) {
+            chain.proceed();
+            return;
+        }
+
+        final var maybeLsn = inputSanitizationService.lsn(maybeHeader.get());
+        if (maybeLsn.isEmpty()) {
+            ResponseUtil.respondBadRequest(response);
+            return;
+        }
+
+        ReadConsistency.requireLsn(maybeLsn.get());
+        try {
+            chain.proceed();
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+}
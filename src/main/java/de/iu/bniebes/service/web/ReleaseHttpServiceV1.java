@@ -2,10 +2,23 @@ package de.iu.bniebes.service.web;
 
 import static de.iu.bniebes.util.ResponseUtil.*;
 
+import de.iu.bniebes.constant.GlobalConstants;
 import de.iu.bniebes.model.parameter.AllParameters;
+import de.iu.bniebes.model.parameter.BulkFormat;
+import de.iu.bniebes.model.parameter.ExportParameters;
+import de.iu.bniebes.model.parameter.FilterParameters;
+import de.iu.bniebes.model.parameter.PageParameters;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
+import de.iu.bniebes.service.internal.CompressionService;
 import de.iu.bniebes.service.internal.InputSanitizationService;
+import de.iu.bniebes.service.internal.ReadConsistencyService;
 import de.iu.bniebes.service.internal.ReleaseAccessService;
 import de.iu.bniebes.service.internal.ReleaseCreationService;
+import de.iu.bniebes.service.internal.ReleaseETagService;
+import de.iu.bniebes.service.internal.ReleaseExportService;
+import de.iu.bniebes.service.internal.ReleaseImportService;
+import de.iu.bniebes.service.internal.ReleaseMultiGetService;
+import io.helidon.http.HeaderName;
 import io.helidon.http.HeaderNames;
 import io.helidon.http.HeaderValues;
 import io.helidon.http.Status;
@@ -14,6 +27,7 @@ import io.helidon.webserver.http.HttpService;
 import io.helidon.webserver.http.ServerRequest;
 import io.helidon.webserver.http.ServerResponse;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,15 +36,25 @@ import lombok.extern.slf4j.Slf4j;
 public class ReleaseHttpServiceV1 implements HttpService {
 
     private static final String MEDIA_TYPE_JSON = HeaderValues.CONTENT_TYPE_JSON.values();
+    private static final HeaderName LSN_HEADER = HeaderNames.create(GlobalConstants.Headers.LSN);
 
     private final InputSanitizationService inputSanitizationService;
     private final ReleaseCreationService releaseCreationService;
     private final ReleaseAccessService releaseAccessService;
+    private final ReleaseETagService releaseETagService;
+    private final CompressionService compressionService;
+    private final ReadConsistencyService readConsistencyService;
+    private final ReleaseImportService releaseImportService;
+    private final ReleaseExportService releaseExportService;
+    private final ReleaseMultiGetService releaseMultiGetService;
 
     @Override
     public void routing(final HttpRules httpRules) {
         httpRules
                 .get("/", this::all)
+                .post("/_import", this::importReleases)
+                .get("/_export", this::exportReleases)
+                .post("/_mget", this::multiGet)
                 .get("/{app}", this::allByApplication)
                 .get("/{app}/{env}", this::allByApplicationAndEnvironment)
                 .post("/{app}/{env}/{ver}", this::create)
@@ -56,7 +80,7 @@ public class ReleaseHttpServiceV1 implements HttpService {
                 return;
             }
 
-            response.status(Status.CREATED_201).send(maybeCreateResult.get());
+            withWriteToken(response).status(Status.CREATED_201).send(maybeCreateResult.get());
         } catch (NoSuchElementException nseEx) {
             onNoSuchElementException(nseEx, response);
         }
@@ -77,6 +101,7 @@ public class ReleaseHttpServiceV1 implements HttpService {
         }
 
         final var createOrUpdateResult = maybeCreateOrUpdateResult.get();
+        withWriteToken(response);
         if (createOrUpdateResult.created()) {
             response.header(HeaderNames.CONTENT_TYPE, MEDIA_TYPE_JSON)
                     .status(Status.CREATED_201)
@@ -87,6 +112,40 @@ public class ReleaseHttpServiceV1 implements HttpService {
         response.send();
     }
 
+    private void importReleases(final ServerRequest request, final ServerResponse response) {
+        final var maybeFormat = request.headers()
+                .contentType()
+                .flatMap(contentType -> BulkFormat.ofMediaType(contentType.mediaType().text()));
+        if (maybeFormat.isEmpty()) {
+            response.status(Status.UNSUPPORTED_MEDIA_TYPE_415).send();
+            return;
+        }
+
+        final var result = releaseImportService.importReleases(request.content().inputStream(), maybeFormat.get());
+        if (result.isPresent()) withWriteToken(response);
+        respondAccordingToResult(result, response, "Could not import releases");
+    }
+
+    private void exportReleases(final ServerRequest request, final ServerResponse response) {
+        final var maybeParameters = ExportParameters.fromRequestResponding(inputSanitizationService, request, response);
+        if (maybeParameters.isEmpty()) return;
+        final var mediaType = maybeParameters.get().format().mediaType;
+
+        final var result = releaseExportService.export(
+                maybeParameters.get(),
+                () -> response.header(HeaderNames.CONTENT_TYPE, mediaType).outputStream());
+        if (result.isEmpty()) {
+            response.header(HeaderNames.CONTENT_TYPE, mediaType).send();
+            return;
+        }
+        respondAccordingToStreamResult(result, response, "Could not export releases");
+    }
+
+    private void multiGet(final ServerRequest request, final ServerResponse response) {
+        final var result = releaseMultiGetService.multiGet(request.content().inputStream());
+        respondAccordingToBytesResult(result, request, response, compressionService, "Could not get releases");
+    }
+
     private void get(final ServerRequest request, final ServerResponse response) {
         final var maybeParameters = AllParameters.fromRequestResponding(inputSanitizationService, request, response);
         if (maybeParameters.isEmpty()) return;
@@ -94,11 +153,16 @@ public class ReleaseHttpServiceV1 implements HttpService {
 
         final var result =
                 releaseAccessService.get(parameters.app(), parameters.env(), parameters.ver(), parameters.zeu());
-        respondAccordingToResult(result, response, "Could not get release");
+        if (result.isPresent()) {
+            final var etag = releaseETagService.of(result.get());
+            if (respondNotModified(request, response, etag)) return;
+            withETag(response, etag);
+        }
+        respondAccordingToResult(result, request, response, compressionService, "Could not get release");
     }
 
     private void all(final ServerRequest request, final ServerResponse response) {
-        respondAccordingToResult(releaseAccessService.all(), response, "Could not retrieve releases");
+        list(ReleaseQuery.all(), request, response);
     }
 
     private void allByApplication(final ServerRequest request, final ServerResponse response) {
@@ -111,8 +175,7 @@ public class ReleaseHttpServiceV1 implements HttpService {
                 return;
             }
 
-            final var result = releaseAccessService.allByApplication(maybeApp.get());
-            respondAccordingToResult(result, response, "Could not retrieve releases");
+            list(ReleaseQuery.byApplication(maybeApp.get()), request, response);
         } catch (NoSuchElementException nseEx) {
             onNoSuchElementException(nseEx, response);
         }
@@ -129,10 +192,57 @@ public class ReleaseHttpServiceV1 implements HttpService {
                 return;
             }
 
-            final var result = releaseAccessService.allByApplicationAndEnvironment(maybeApp.get(), maybeEnv.get());
-            respondAccordingToResult(result, response, "Could not retrieve releases");
+            list(ReleaseQuery.byApplicationAndEnvironment(maybeApp.get(), maybeEnv.get()), request, response);
         } catch (NoSuchElementException nseEx) {
             onNoSuchElementException(nseEx, response);
         }
     }
+
+    private void list(final ReleaseQuery releaseQuery, final ServerRequest request, final ServerResponse response) {
+        final var maybeFilterParameters =
+                FilterParameters.fromRequestResponding(inputSanitizationService, request, response);
+        if (maybeFilterParameters.isEmpty()) return;
+        final var maybePageParameters =
+                PageParameters.fromRequestResponding(inputSanitizationService, request, response);
+        if (maybePageParameters.isEmpty()) return;
+        final var pageParameters = maybePageParameters.get();
+
+        final var filteredQuery = releaseQuery.filter(maybeFilterParameters.get());
+        final var pageQuery = pageParameters.paginated() ? filteredQuery.page(pageParameters) : filteredQuery;
+        final var gzip = compressionService.enabled() && acceptsGzip(request);
+        final var maybeCachedList = releaseAccessService.cachedList(pageQuery, gzip);
+        if (maybeCachedList.isPresent()) {
+            final var cachedList = maybeCachedList.get();
+            if (respondNotModified(request, response, cachedList.etag())) return;
+            withETag(response, cachedList.etag());
+            if (gzip && Objects.nonNull(cachedList.gzip())) {
+                respondGzipJsonOK(cachedList.gzip(), response);
+                return;
+            }
+            respondJsonOK(cachedList.json(), request, response, compressionService);
+            return;
+        }
+
+        if (pageParameters.paginated()) {
+            final var result = releaseAccessService.page(pageQuery);
+            if (result.isPresent()) {
+                final var etag = releaseETagService.of(result.get());
+                if (respondNotModified(request, response, etag)) return;
+                withETag(response, etag);
+            }
+            respondAccordingToBytesResult(result, request, response, compressionService, "Could not retrieve releases");
+            return;
+        }
+
+        // Sent before the whole body is known, the tag comes with the cached list from the next request on
+        final var result =
+                releaseAccessService.stream(pageQuery, () -> jsonOutputStream(request, response, compressionService));
+        respondAccordingToStreamResult(result, response, "Could not retrieve releases");
+    }
+
+    private ServerResponse withWriteToken(final ServerResponse response) {
+        final var maybeWriteToken = readConsistencyService.writeToken();
+        if (maybeWriteToken.isPresent()) response.header(LSN_HEADER, maybeWriteToken.get());
+        return response;
+    }
 }
@@ -0,0 +1,84 @@
+package de.iu.bniebes.service.web;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+import static de.iu.bniebes.util.ResponseUtil.respondBadRequest;
+
+import de.iu.bniebes.service.internal.InputSanitizationService;
+import de.iu.bniebes.service.internal.ReleaseEventService;
+import io.helidon.http.HeaderNames;
+import io.helidon.http.Status;
+import io.helidon.webserver.http.HttpRules;
+import io.helidon.webserver.http.HttpService;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class StreamHttpServiceV1 implements HttpService {
+
+    private static final String MEDIA_TYPE_EVENT_STREAM = "text/event-stream";
+    private static final byte[] CONNECTED = ": connected\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DROPPED = "event: dropped\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final InputSanitizationService inputSanitizationService;
+    private final ReleaseEventService releaseEventService;
+
+    @Override
+    public void routing(final HttpRules httpRules) {
+        httpRules.get("/", this::stream);
+    }
+
+    // Blocks the virtual thread of the request until the client disconnects or is dropped
+    private void stream(final ServerRequest request, final ServerResponse response) {
+        final var query = request.query();
+        final var rawApp = query.first("app").asOptional();
+        final var rawEnv = query.first("env").asOptional();
+        final var maybeApp = rawApp.flatMap(inputSanitizationService::safeString);
+        final var maybeEnv = rawEnv.flatMap(inputSanitizationService::safeString);
+        if ((rawApp.isPresent() && maybeApp.isEmpty())
+                || (rawEnv.isPresent() && maybeEnv.isEmpty())
+                || (rawEnv.isPresent() && rawApp.isEmpty())) {
+            respondBadRequest(response);
+            return;
+        }
+
+        final var maybeSubscription = releaseEventService.subscribe(maybeApp.orElse(null), maybeEnv.orElse(null));
+        if (maybeSubscription.isEmpty()) {
+            response.status(Status.SERVICE_UNAVAILABLE_503).send();
+            return;
+        }
+
+        try (final var subscription = maybeSubscription.get();
+                final var outputStream = response.header(HeaderNames.CONTENT_TYPE, MEDIA_TYPE_EVENT_STREAM)
+                        .header(HeaderNames.CACHE_CONTROL, "no-cache")
+                        .outputStream()) {
+            outputStream.write(CONNECTED);
+            outputStream.flush();
+            while (true) {
+                final var frame = subscription.next();
+                if (subscription.dropped()) {
+                    outputStream.write(DROPPED);
+                    return;
+                }
+                outputStream.write(Objects.isNull(frame) ? HEARTBEAT : frame);
+                outputStream.flush();
+            }
+        } catch (IOException | UncheckedIOException ex) {
+            // Disconnected clients are only noticed by the next event or heartbeat written to them
+            log.atDebug()
+                    .addMarker(Markers.HTTP)
+                    .setMessage("Release event stream closed")
+                    .setCause(ex)
+                    .log();
+        } catch (InterruptedException iEx) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
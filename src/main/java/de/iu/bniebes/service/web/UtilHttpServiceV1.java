@@ -5,7 +5,7 @@ import static de.iu.bniebes.constant.GlobalConstants.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.iu.bniebes.service.internal.InputSanitizationService;
-import de.iu.bniebes.util.TimestampUtils;
+import de.iu.bniebes.util.ZuluEpochMicros;
 import io.helidon.http.HeaderNames;
 import io.helidon.http.HeaderValues;
 import io.helidon.http.Status;
@@ -56,7 +56,7 @@ public class UtilHttpServiceV1 implements HttpService {
 
     private void respondZuluEpochMicros(
             final ServerRequest request, final ServerResponse response, final Instant instant) {
-        final var micros = TimestampUtils.zuluEpochMicrosOf(instant).toString();
+        final var micros = Long.toString(ZuluEpochMicros.of(instant));
         if (!acceptJson(request)) {
             response.send(micros);
             return;
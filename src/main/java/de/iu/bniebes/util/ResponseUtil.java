@@ -2,16 +2,24 @@ package de.iu.bniebes.util;
 
 import de.iu.bniebes.constant.GlobalConstants;
 import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.internal.CompressionService;
 import io.helidon.http.HeaderNames;
 import io.helidon.http.HeaderValues;
 import io.helidon.http.Status;
+import io.helidon.webserver.http.ServerRequest;
 import io.helidon.webserver.http.ServerResponse;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.NoSuchElementException;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class ResponseUtil {
 
+    private static final String WEAK_PREFIX = "W/";
+    private static final String GZIP = "gzip";
+    private static final String GZIP_ETAG_SUFFIX = "-" + GZIP + "\"";
+
     private ResponseUtil() {}
 
     public static void onNoSuchElementException(final NoSuchElementException nseEx, final ServerResponse response) {
@@ -40,6 +48,150 @@ public class ResponseUtil {
         respondJsonOK(result.get(), response);
     }
 
+    public static void respondAccordingToBytesResult(
+            final Result<byte[]> result, final ServerResponse response, final String errorMsg) {
+        if (result.isEmpty()) {
+            respondBadRequest(response);
+            return;
+        }
+        if (result.isError()) {
+            onErrorResult(errorMsg, response);
+            return;
+        }
+        respondJsonOK(result.get(), response);
+    }
+
+    public static void respondAccordingToStreamResult(
+            final Result<Long> result, final ServerResponse response, final String errorMsg) {
+        if (result.isPresent()) return;
+        if (result.isEmpty()) {
+            respondBadRequest(response);
+            return;
+        }
+        if (response.isSent()) {
+            log.atError()
+                    .addMarker(GlobalConstants.Markers.HTTP)
+                    .setMessage("{}, response already partially sent")
+                    .addArgument(errorMsg)
+                    .log();
+            return;
+        }
+        onErrorResult(errorMsg, response);
+    }
+
+    // Weak comparison as required for If-None-Match, a changed body always changes the tag
+    public static boolean respondNotModified(
+            final ServerRequest request, final ServerResponse response, final String etag) {
+        for (final var value : request.headers().values(HeaderNames.IF_NONE_MATCH)) {
+            for (final var candidate : value.split(",")) {
+                final var trimmed = candidate.strip();
+                final var opaque = trimmed.startsWith(WEAK_PREFIX) ? trimmed.substring(WEAK_PREFIX.length()) : trimmed;
+                if (etag.equals(opaque) || gzipETag(etag).equals(opaque)) {
+                    response.header(HeaderNames.ETAG, etag).status(Status.NOT_MODIFIED_304).send();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static ServerResponse withETag(final ServerResponse response, final String etag) {
+        return response.header(HeaderNames.ETAG, etag);
+    }
+
+    // Gzip bodies carry their own tag, a strong tag must not match two different representations
+    private static String gzipETag(final String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX;
+    }
+
+    public static boolean acceptsGzip(final ServerRequest request) {
+        for (final var value : request.headers().values(HeaderNames.ACCEPT_ENCODING)) {
+            for (final var candidate : value.split(",")) {
+                final var parameters = candidate.split(";");
+                final var coding = parameters[0].strip();
+                if (!coding.equalsIgnoreCase(GZIP) && !coding.equals("*")) continue;
+                if (parameters.length == 1) return true;
+                final var parameter = parameters[1].strip();
+                try {
+                    if (!parameter.startsWith("q=") || Double.parseDouble(parameter.substring(2)) > 0) return true;
+                } catch (NumberFormatException nfEx) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static void respondGzipJsonOK(final byte[] gzip, final ServerResponse response) {
+        asGzip(response).header(HeaderNames.CONTENT_TYPE, HeaderValues.CONTENT_TYPE_JSON.get())
+                .send(gzip);
+    }
+
+    // Bodies below the minimum size are sent as they are, without Vary since they never differ
+    public static void respondJsonOK(
+            final byte[] json,
+            final ServerRequest request,
+            final ServerResponse response,
+            final CompressionService compressionService) {
+        if (!compressionService.compressible(json.length)) {
+            respondJsonOK(json, response);
+            return;
+        }
+        if (acceptsGzip(request)) {
+            respondGzipJsonOK(compressionService.gzip(json), response);
+            return;
+        }
+        respondJsonOK(json, varyOnEncoding(response));
+    }
+
+    public static void respondAccordingToResult(
+            final Result<String> result,
+            final ServerRequest request,
+            final ServerResponse response,
+            final CompressionService compressionService,
+            final String errorMsg) {
+        if (!result.isPresent()) {
+            respondAccordingToResult(result, response, errorMsg);
+            return;
+        }
+        respondJsonOK(result.get().getBytes(StandardCharsets.UTF_8), request, response, compressionService);
+    }
+
+    public static void respondAccordingToBytesResult(
+            final Result<byte[]> result,
+            final ServerRequest request,
+            final ServerResponse response,
+            final CompressionService compressionService,
+            final String errorMsg) {
+        if (!result.isPresent()) {
+            respondAccordingToBytesResult(result, response, errorMsg);
+            return;
+        }
+        respondJsonOK(result.get(), request, response, compressionService);
+    }
+
+    public static OutputStream jsonOutputStream(
+            final ServerRequest request, final ServerResponse response, final CompressionService compressionService) {
+        if (!compressionService.enabled()) return jsonOutputStream(response);
+        if (!acceptsGzip(request)) return jsonOutputStream(varyOnEncoding(response));
+        return compressionService.gzip(jsonOutputStream(asGzip(response)));
+    }
+
+    private static ServerResponse varyOnEncoding(final ServerResponse response) {
+        return response.header(HeaderNames.VARY, HeaderNames.ACCEPT_ENCODING.defaultCase());
+    }
+
+    private static ServerResponse asGzip(final ServerResponse response) {
+        final var maybeETag = response.headers().value(HeaderNames.ETAG);
+        if (maybeETag.isPresent()) response.header(HeaderNames.ETAG, gzipETag(maybeETag.get()));
+        return varyOnEncoding(response).header(HeaderNames.CONTENT_ENCODING, GZIP);
+    }
+
+    public static OutputStream jsonOutputStream(final ServerResponse response) {
+        return response.header(HeaderNames.CONTENT_TYPE, HeaderValues.CONTENT_TYPE_JSON.get())
+                .outputStream();
+    }
+
     public static void respondBadRequest(final ServerResponse response) {
         response.status(Status.BAD_REQUEST_400).send();
     }
@@ -56,4 +208,9 @@ public class ResponseUtil {
         response.header(HeaderNames.CONTENT_TYPE, HeaderValues.CONTENT_TYPE_JSON.get())
                 .send(json);
     }
+
+    public static void respondJsonOK(final byte[] json, final ServerResponse response) {
+        response.header(HeaderNames.CONTENT_TYPE, HeaderValues.CONTENT_TYPE_JSON.get())
+                .send(json);
+    }
 }
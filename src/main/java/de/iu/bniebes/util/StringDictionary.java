@@ -0,0 +1,39 @@
+package de.iu.bniebes.util;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One shared instance per equal value, equal values then also compare by reference
+// Keeps two generations, values not used during a whole generation are dropped when the next one is full
+public final class StringDictionary {
+
+    private final int generationSize;
+
+    private volatile ConcurrentHashMap<String, String> current = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<String, String> previous = new ConcurrentHashMap<>();
+
+    public StringDictionary(final int generationSize) {
+        this.generationSize = generationSize;
+    }
+
+    public String canonical(final String value) {
+        if (Objects.isNull(value)) return null;
+        final var generation = current;
+        final var existing = generation.get(value);
+        if (Objects.nonNull(existing)) return existing;
+        final var promoted = previous.getOrDefault(value, value);
+        if (generation.size() >= generationSize) rotate(generation);
+        final var canonical = current.putIfAbsent(promoted, promoted);
+        return Objects.nonNull(canonical) ? canonical : promoted;
+    }
+
+    public int size() {
+        return current.size() + previous.size();
+    }
+
+    private synchronized void rotate(final ConcurrentHashMap<String, String> full) {
+        if (current != full) return;
+        previous = full;
+        current = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,46 @@
+package de.iu.bniebes.util;
+
+import java.time.Instant;
+
+// Microseconds since the unix epoch, carried as primitive long so parsing and formatting do not allocate
+public final class ZuluEpochMicros {
+
+    public static final long INVALID = -1L;
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long NANOS_PER_MICRO = 1000L;
+    private static final int MAX_DIGITS = String.valueOf(Long.MAX_VALUE).length();
+
+    private ZuluEpochMicros() {}
+
+    public static long parse(final CharSequence input) {
+        if (input == null || input.isEmpty() || input.length() > MAX_DIGITS) return INVALID;
+        var value = 0L;
+        for (int i = 0; i < input.length(); i++) {
+            final var digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return INVALID;
+            if (value > (Long.MAX_VALUE - digit) / 10) return INVALID;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    public static boolean isValid(final long zuluEpochMicros) {
+        return zuluEpochMicros >= 0;
+    }
+
+    public static Instant toInstant(final long zuluEpochMicros) {
+        return Instant.ofEpochSecond(
+                Math.floorDiv(zuluEpochMicros, MICROS_PER_SECOND),
+                Math.floorMod(zuluEpochMicros, MICROS_PER_SECOND) * NANOS_PER_MICRO);
+    }
+
+    public static long of(final Instant instant) throws ArithmeticException {
+        return Math.addExact(
+                Math.multiplyExact(instant.getEpochSecond(), MICROS_PER_SECOND), instant.getNano() / NANOS_PER_MICRO);
+    }
+
+    public static StringBuilder appendTo(final StringBuilder builder, final Instant instant) {
+        return builder.append(of(instant));
+    }
+}
@@ -136,6 +136,22 @@ class EnvironmentAccessorTest {
         }
     }
 
+    @Nested
+    class MapToBooleanTests {
+
+        @Test
+        void mapToBoolean() {
+            assertTrue(EnvironmentAccessor.mapToBoolean("true"));
+            assertTrue(EnvironmentAccessor.mapToBoolean("TRUE"));
+            assertFalse(EnvironmentAccessor.mapToBoolean("false"));
+        }
+
+        @Test
+        void mapToBoolean_BadValue() {
+            assertThrows(IllegalStateException.class, () -> EnvironmentAccessor.mapToBoolean("yes"));
+        }
+    }
+
     @Nested
     class LoadSecretTests {
 
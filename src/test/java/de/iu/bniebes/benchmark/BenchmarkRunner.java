@@ -0,0 +1,20 @@
+package de.iu.bniebes.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    // Accepts the JMH command line, e.g. "ReleaseIdMappingBenchmark -prof gc"
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final var commandLineOptions = new CommandLineOptions(args);
+        final var options = new OptionsBuilder().parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) options.include(BenchmarkRunner.class.getPackageName() + ".*");
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,64 @@
+package de.iu.bniebes.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.configuration.CompressionConfiguration;
+import de.iu.bniebes.model.response.ReleasePageResponse;
+import de.iu.bniebes.model.response.ReleaseResponse;
+import de.iu.bniebes.service.internal.CompressionService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+
+// Run with "task local:mvn:bench -- CompressionBenchmark", the bytes per list size are the secondary results
+// 1 release is a typical current answer, 100 and 1000 releases are typical pages and application lists
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    private static final String CHANGES = "Bump dependencies, fix the retry of failed deployments, update the runbook";
+
+    @Param({"1", "100", "1000"})
+    private int releases;
+
+    private final CompressionService compressionService = new CompressionService(new CompressionConfiguration(true, 0));
+
+    // Assigned instead of counted, the secondary results show the bytes of one body
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+        public long jsonBytes;
+        public long gzipBytes;
+    }
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        final var releaseResponses = IntStream.range(0, releases)
+                .mapToObj(i -> new ReleaseResponse(
+                        "bench-app-" + i % 20,
+                        "env-" + i % 6,
+                        "1.%d.%d".formatted(i / 100, i % 100),
+                        1724704455312088L + i * 1_000_000L,
+                        "release " + i,
+                        "Regular release of bench-app-" + i % 20,
+                        CHANGES + ", ticket " + i,
+                        "team-" + i % 5,
+                        "https://ci.example.com/bench-app-%d/%d".formatted(i % 20, i)))
+                .toList();
+        json = new ObjectMapper().writeValueAsBytes(new ReleasePageResponse(releaseResponses, null));
+    }
+
+    @Benchmark
+    public byte[] gzip(final Sizes sizes) {
+        final var gzip = compressionService.gzip(json);
+        sizes.jsonBytes = json.length;
+        sizes.gzipBytes = gzip.length;
+        return gzip;
+    }
+}
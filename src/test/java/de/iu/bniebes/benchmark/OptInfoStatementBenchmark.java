@@ -0,0 +1,67 @@
+package de.iu.bniebes.benchmark;
+
+import de.iu.bniebes.model.OptInfo;
+import de.iu.bniebes.service.external.db.ReleaseDBService;
+import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
+import de.iu.bniebes.service.external.db.helper.DBTestHelper;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.jdbi.v3.core.Jdbi;
+import org.openjdk.jmh.annotations.*;
+
+// Requires the local pgsql service, see local/Taskfile.yaml
+// formatted* reproduce the previous per-call statement building, registry* use the precompiled statements
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class OptInfoStatementBenchmark {
+
+    private static final String COLUMN = "release_name";
+
+    private Jdbi jdbi;
+    private ReleaseOptInfoDBService releaseOptInfoDBService;
+    private long releaseId;
+
+    @Setup
+    public void setUp() {
+        jdbi = DBTestHelper.createTestJdbi();
+        releaseOptInfoDBService = new ReleaseOptInfoDBService(jdbi, new StringDictionaryService());
+        releaseId = new ReleaseDBService(jdbi, new StringDictionaryService())
+                .insert("bench-statement", "bench", "1.0.0", Instant.now())
+                .get()
+                .id();
+        releaseOptInfoDBService.insertReleaseName(releaseId, "bench-name");
+    }
+
+    @Benchmark
+    public String formattedStatementOnly() {
+        return "SELECT id, %1$s AS value FROM releases WHERE id = :id AND %1$s IS NOT NULL;".formatted(COLUMN);
+    }
+
+    @Benchmark
+    public String formattedUpsertStatementOnly() {
+        return "UPDATE releases SET %s = :value WHERE id = :release_id;".formatted(COLUMN);
+    }
+
+    @Benchmark
+    public String formattedQuery() {
+        try (final var handle = jdbi.open()) {
+            return handle.createQuery("SELECT * FROM releases WHERE id = :id AND %s IS NOT NULL;".formatted(COLUMN))
+                    .bind("id", releaseId)
+                    .map((rs, ctx) -> rs.getString(COLUMN))
+                    .one();
+        }
+    }
+
+    @Benchmark
+    public String registryQuery() {
+        return releaseOptInfoDBService
+                .stringValueById(releaseId, OptInfo.RELEASE_NAME)
+                .get();
+    }
+}
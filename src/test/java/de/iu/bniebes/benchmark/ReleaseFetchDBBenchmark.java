@@ -0,0 +1,108 @@
+package de.iu.bniebes.benchmark;
+
+import static de.iu.bniebes.constant.GlobalConstants.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.configuration.CacheConfiguration;
+import de.iu.bniebes.configuration.CompressionConfiguration;
+import de.iu.bniebes.configuration.ListCacheConfiguration;
+import de.iu.bniebes.configuration.ReleaseIdCacheConfiguration;
+import de.iu.bniebes.model.response.ReleaseResponse;
+import de.iu.bniebes.service.external.db.ReleaseDBService;
+import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
+import de.iu.bniebes.service.external.db.helper.DBTestHelper;
+import de.iu.bniebes.service.internal.CompressionService;
+import de.iu.bniebes.service.internal.CurrentReleaseCacheService;
+import de.iu.bniebes.service.internal.ReleaseAccessService;
+import de.iu.bniebes.service.internal.ReleaseETagService;
+import de.iu.bniebes.service.internal.ReleaseIdCacheService;
+import de.iu.bniebes.service.internal.ReleaseListCacheService;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.jdbi.v3.core.Jdbi;
+import org.openjdk.jmh.annotations.*;
+
+// Requires the local pgsql service, see local/Taskfile.yaml
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class ReleaseFetchDBBenchmark {
+
+    private static final String APP = "bench-fetch";
+    private static final String ENV = "bench";
+    private static final String VER = "1.0.0";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private Jdbi jdbi;
+    private ReleaseDBService releaseDBService;
+    private ReleaseOptInfoDBService releaseOptInfoDBService;
+    private ReleaseAccessService releaseAccessService;
+    private long zuluEpochMicros;
+
+    @Setup
+    public void setUp() {
+        jdbi = DBTestHelper.createTestJdbi();
+        releaseDBService = new ReleaseDBService(jdbi, new StringDictionaryService());
+        releaseOptInfoDBService = new ReleaseOptInfoDBService(jdbi, new StringDictionaryService());
+        releaseAccessService = new ReleaseAccessService(
+                releaseDBService,
+                releaseDBService,
+                new CurrentReleaseCacheService(new CacheConfiguration(0, 0L, 0L, 0L)),
+                new ReleaseListCacheService(new ListCacheConfiguration(0L, 0L)),
+                new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(0)),
+                new CompressionService(new CompressionConfiguration(false, 0)),
+                new ReleaseETagService());
+
+        final var instant = Instant.now();
+        zuluEpochMicros = ZuluEpochMicros.of(instant);
+        final var id = releaseDBService
+                .insert(APP, ENV, VER, ZuluEpochMicros.toInstant(zuluEpochMicros))
+                .get()
+                .id();
+        releaseOptInfoDBService.insertReleaseName(id, "bench-name");
+        releaseOptInfoDBService.insertDescription(id, "bench-description");
+        releaseOptInfoDBService.insertChanges(id, "bench-changes");
+        releaseOptInfoDBService.insertResponsibility(id, "bench-responsibility");
+        releaseOptInfoDBService.insertBuildLocation(id, "bench-build-location");
+    }
+
+    @Benchmark
+    public String singleQuery() {
+        return releaseAccessService.get(APP, ENV, VER, zuluEpochMicros).get();
+    }
+
+    @Benchmark
+    public String releaseAndOptInfoFanOut() throws Exception {
+        final var release = releaseDBService
+                .release(APP, ENV, VER, ZuluEpochMicros.toInstant(zuluEpochMicros))
+                .get();
+        final var releaseId = release.id();
+
+        try (final var vtx = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var futureReleaseName = vtx.submit(() -> releaseOptInfoDBService.releaseNameById(releaseId));
+            final var futureDescription = vtx.submit(() -> releaseOptInfoDBService.descriptionById(releaseId));
+            final var futureChanges = vtx.submit(() -> releaseOptInfoDBService.changesById(releaseId));
+            final var futureResponsibility = vtx.submit(() -> releaseOptInfoDBService.responsibilityById(releaseId));
+            final var futureBuildLocation = vtx.submit(() -> releaseOptInfoDBService.buildLocationById(releaseId));
+
+            vtx.shutdown();
+            if (!vtx.awaitTermination(Timeouts.VTX, Timeouts.VTX_UNIT)) throw new IllegalStateException();
+
+            return mapper.writeValueAsString(ReleaseResponse.of(
+                    release,
+                    futureReleaseName.resultNow(),
+                    futureDescription.resultNow(),
+                    futureChanges.resultNow(),
+                    futureResponsibility.resultNow(),
+                    futureBuildLocation.resultNow()));
+        }
+    }
+}
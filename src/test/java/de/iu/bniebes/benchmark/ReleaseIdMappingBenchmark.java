@@ -0,0 +1,50 @@
+package de.iu.bniebes.benchmark;
+
+import de.iu.bniebes.service.external.db.helper.DBTestHelper;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.jdbi.v3.core.Jdbi;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Requires the local pgsql service, see local/Taskfile.yaml
+// Run with "task local:mvn:bench -- ReleaseIdMappingBenchmark -prof gc" and compare gc.alloc.rate.norm
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReleaseIdMappingBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int FETCH_SIZE = 1000;
+    private static final String QUERY = "SELECT id::BIGINT AS id FROM generate_series(1, %d) AS id;".formatted(ROWS);
+
+    private record BigIntegerIdRow(BigInteger id) {}
+
+    private record LongIdRow(long id) {}
+
+    private Jdbi jdbi;
+
+    @Setup
+    public void setUp() {
+        jdbi = DBTestHelper.createTestJdbi();
+    }
+
+    @Benchmark
+    public void bigIntegerIds(final Blackhole blackhole) {
+        jdbi.useTransaction(handle -> handle.createQuery(QUERY)
+                .setFetchSize(FETCH_SIZE)
+                .map((rs, ctx) -> new BigIntegerIdRow(rs.getBigDecimal("id").toBigInteger()))
+                .forEach(blackhole::consume));
+    }
+
+    @Benchmark
+    public void longIds(final Blackhole blackhole) {
+        jdbi.useTransaction(handle -> handle.createQuery(QUERY)
+                .setFetchSize(FETCH_SIZE)
+                .map((rs, ctx) -> new LongIdRow(rs.getLong("id")))
+                .forEach(blackhole::consume));
+    }
+}
@@ -0,0 +1,87 @@
+package de.iu.bniebes.benchmark;
+
+import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.openjdk.jmh.annotations.*;
+
+// Maps synthetic rows the way the JDBC driver returns them, every value of every row is a new String
+// Run with "task local:mvn:bench -- StringDictionaryBenchmark" and compare the retained heap printed per iteration
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StringDictionaryBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int APPLICATIONS = 200;
+    private static final int ENVIRONMENTS = 5;
+    private static final Instant RELEASE_TIMESTAMP = Instant.parse("2024-08-26T20:34:15.312088Z");
+
+    private StringDictionaryService stringDictionaryService;
+    private List<FullRelease> fullReleases;
+    private long usedHeap;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        stringDictionaryService = new StringDictionaryService();
+        usedHeap = usedHeapAfterGc();
+    }
+
+    @Benchmark
+    public void withoutDictionary() {
+        fullReleases = map(value -> value, value -> value, value -> value);
+    }
+
+    @Benchmark
+    public void withDictionary() {
+        fullReleases = map(
+                stringDictionaryService::application,
+                stringDictionaryService::environment,
+                stringDictionaryService::version);
+    }
+
+    // Still holds the rows and the dictionary, the difference is what a loaded list keeps alive
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        System.out.printf(
+                "Retained heap for %d rows: %d MB%n", fullReleases.size(), (usedHeapAfterGc() - usedHeap) >> 20);
+        fullReleases = null;
+    }
+
+    // Every version is released to all environments in a row, like a pipeline promoting a build
+    static List<FullRelease> map(
+            final UnaryOperator<String> application,
+            final UnaryOperator<String> environment,
+            final UnaryOperator<String> version) {
+        final var fullReleases = new ArrayList<FullRelease>(ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            final var build = row / ENVIRONMENTS;
+            fullReleases.add(new FullRelease(
+                    row,
+                    application.apply("release-tracker-application-" + build % APPLICATIONS),
+                    environment.apply("environment-" + row % ENVIRONMENTS),
+                    version.apply("1.%d.%d-%08x".formatted(build / 1000, build % 1000, build * 0x9E3779B1)),
+                    RELEASE_TIMESTAMP.plusSeconds(row),
+                    null,
+                    null,
+                    null,
+                    null,
+                    null,
+                    row));
+        }
+        return fullReleases;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
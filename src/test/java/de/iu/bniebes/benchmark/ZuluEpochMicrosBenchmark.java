@@ -0,0 +1,75 @@
+package de.iu.bniebes.benchmark;
+
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.*;
+
+// Run with "task local:mvn:bench -- ZuluEpochMicrosBenchmark -prof gc", gc.alloc.rate.norm of parse and format is 0
+// bigInteger* reproduce the previous regex and BigInteger based conversion
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ZuluEpochMicrosBenchmark {
+
+    private static final Predicate<String> DIGITS = Pattern.compile("^\\d+$").asPredicate();
+    private static final BigInteger MICROS_PER_SECOND = BigInteger.valueOf(1_000_000L);
+    private static final BigInteger NANOS_PER_MICRO = BigInteger.valueOf(1000L);
+
+    private final StringBuilder builder = new StringBuilder(32);
+
+    private String input;
+    private Instant instant;
+
+    @Setup
+    public void setUp() {
+        instant = Instant.parse("2024-08-26T20:34:15.312088Z");
+        input = Long.toString(ZuluEpochMicros.of(instant));
+    }
+
+    @Benchmark
+    public long parse() {
+        return ZuluEpochMicros.parse(input);
+    }
+
+    @Benchmark
+    public int format() {
+        builder.setLength(0);
+        return ZuluEpochMicros.appendTo(builder, instant).length();
+    }
+
+    @Benchmark
+    public long parseToInstant() {
+        return ZuluEpochMicros.toInstant(ZuluEpochMicros.parse(input)).getEpochSecond();
+    }
+
+    @Benchmark
+    public long bigIntegerParseToInstant() {
+        if (!DIGITS.test(input)) return -1L;
+        final var zuluEpochMicros = new BigInteger(input);
+        return Instant.ofEpochSecond(
+                        zuluEpochMicros.divide(MICROS_PER_SECOND).longValue(),
+                        zuluEpochMicros
+                                .mod(MICROS_PER_SECOND)
+                                .multiply(NANOS_PER_MICRO)
+                                .longValue())
+                .getEpochSecond();
+    }
+
+    @Benchmark
+    public int bigIntegerFormat() {
+        builder.setLength(0);
+        final var truncatedInstant = instant.truncatedTo(ChronoUnit.MICROS);
+        return builder.append(BigInteger.valueOf(truncatedInstant.getEpochSecond())
+                        .multiply(MICROS_PER_SECOND)
+                        .add(BigInteger.valueOf(truncatedInstant.getNano()).divide(NANOS_PER_MICRO)))
+                .length();
+    }
+}
@@ -0,0 +1,53 @@
+package de.iu.bniebes.service.external.db;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class PoolMetricsTrackerTest {
+
+    private final PoolMetricsTracker poolMetricsTracker = new PoolMetricsTracker();
+
+    @Test
+    void waitTimeMicros_NoAcquisitions() {
+        final var result = poolMetricsTracker.waitTimeMicros();
+        assertEquals(0L, result.p50());
+        assertEquals(0L, result.p99());
+        assertEquals(0L, result.max());
+        assertEquals(0L, poolMetricsTracker.acquisitions());
+    }
+
+    @Test
+    void waitTimeMicros_Percentiles() {
+        for (int i = 0; i < 98; i++) {
+            poolMetricsTracker.recordConnectionAcquiredNanos(TimeUnit.MICROSECONDS.toNanos(40));
+        }
+        poolMetricsTracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(3));
+        poolMetricsTracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(7));
+
+        final var result = poolMetricsTracker.waitTimeMicros();
+        assertEquals(50L, result.p50());
+        assertEquals(50L, result.p90());
+        assertEquals(5_000L, result.p99());
+        assertEquals(7_000L, result.p999());
+        assertEquals(7_000L, result.max());
+        assertEquals(100L, poolMetricsTracker.acquisitions());
+    }
+
+    @Test
+    void waitTimeMicros_AboveLastBucket() {
+        poolMetricsTracker.recordConnectionAcquiredNanos(TimeUnit.SECONDS.toNanos(45));
+
+        final var result = poolMetricsTracker.waitTimeMicros();
+        assertEquals(45_000_000L, result.p50());
+        assertEquals(45_000_000L, result.max());
+    }
+
+    @Test
+    void timeouts() {
+        poolMetricsTracker.recordConnectionTimeout();
+        poolMetricsTracker.recordConnectionTimeout();
+        assertEquals(2L, poolMetricsTracker.timeouts());
+    }
+}
@@ -0,0 +1,38 @@
+package de.iu.bniebes.service.external.db;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.model.parameter.BulkFormat;
+import de.iu.bniebes.model.parameter.ExportParameters;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class ReleaseExportStatementTest {
+
+    @Test
+    void copyStatement_Csv() {
+        final var result = ReleaseExportDBService.copyStatement(
+                new ExportParameters(null, null, null, null, BulkFormat.CSV));
+        assertTrue(result.startsWith("COPY (SELECT application"));
+        assertTrue(result.endsWith("ORDER BY release_timestamp, id) TO STDOUT WITH (FORMAT csv, HEADER true)"));
+        assertFalse(result.contains("WHERE"));
+    }
+
+    @Test
+    void copyStatement_NdjsonFiltered() {
+        final var result = ReleaseExportDBService.copyStatement(new ExportParameters(
+                "app", "env", Instant.EPOCH, Instant.EPOCH.plusSeconds(1), BulkFormat.NDJSON));
+        assertTrue(result.startsWith("COPY (SELECT json_strip_nulls(json_build_object("));
+        assertTrue(result.contains("WHERE application = 'app' AND environment = 'env' AND release_timestamp >= "));
+        assertTrue(
+                result.contains("AND release_timestamp < (TIMESTAMPTZ 'epoch' + INTERVAL '1 microsecond' * 1000000)"));
+        assertTrue(result.endsWith("TO STDOUT WITH (FORMAT csv, QUOTE e'\\x01', DELIMITER e'\\x02')"));
+    }
+
+    @Test
+    void copyStatement_EscapesLiterals() {
+        final var result = ReleaseExportDBService.copyStatement(
+                new ExportParameters("app'; DROP TABLE releases; --", null, null, null, BulkFormat.CSV));
+        assertTrue(result.contains("WHERE application = 'app''; DROP TABLE releases; --'"));
+    }
+}
@@ -0,0 +1,103 @@
+package de.iu.bniebes.service.external.db;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String TEST_LSN = "16/B374D848";
+
+    private final DataSource mockPrimary = mock(DataSource.class);
+    private final DataSource mockReplica = mock(DataSource.class);
+    private final Connection mockPrimaryConnection = mock(Connection.class);
+    private final Connection mockReplicaConnection = mock(Connection.class);
+    private final PreparedStatement mockStatement = mock(PreparedStatement.class);
+    private final ResultSet mockResultSet = mock(ResultSet.class);
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource =
+            new ReplicaRoutingDataSource(mockPrimary, mockReplica, 60_000L);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(mockPrimary.getConnection()).thenReturn(mockPrimaryConnection);
+        when(mockReplica.getConnection()).thenReturn(mockReplicaConnection);
+        when(mockReplicaConnection.prepareStatement(ReplicaRoutingDataSource.CAUGHT_UP_QUERY))
+                .thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+    }
+
+    @AfterEach
+    void clearReadConsistency() {
+        ReadConsistency.clear();
+    }
+
+    @Test
+    void getConnection_NoToken() throws SQLException {
+        final var result = replicaRoutingDataSource.getConnection();
+        assertSame(mockReplicaConnection, result);
+        verify(mockReplicaConnection, never()).prepareStatement(any());
+        verify(mockPrimary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_ReplicaCaughtUp() throws SQLException {
+        when(mockResultSet.getBoolean(1)).thenReturn(true);
+        ReadConsistency.requireLsn(TEST_LSN);
+
+        final var result = replicaRoutingDataSource.getConnection();
+        assertSame(mockReplicaConnection, result);
+        verify(mockStatement, times(1)).setString(1, TEST_LSN);
+        verify(mockPrimary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_ReplicaBehind() throws SQLException {
+        when(mockResultSet.getBoolean(1)).thenReturn(false);
+        ReadConsistency.requireLsn(TEST_LSN);
+
+        final var result = replicaRoutingDataSource.getConnection();
+        assertSame(mockPrimaryConnection, result);
+        verify(mockReplicaConnection, times(1)).close();
+    }
+
+    @Test
+    void getConnection_LagCheckFails() throws SQLException {
+        when(mockStatement.executeQuery()).thenThrow(new SQLException("test"));
+        ReadConsistency.requireLsn(TEST_LSN);
+
+        final var result = replicaRoutingDataSource.getConnection();
+        assertSame(mockPrimaryConnection, result);
+        verify(mockReplicaConnection, times(1)).close();
+    }
+
+    @Test
+    void getConnection_ReplicaUnavailable() throws SQLException {
+        when(mockReplica.getConnection()).thenThrow(new SQLException("test"));
+
+        assertSame(mockPrimaryConnection, replicaRoutingDataSource.getConnection());
+        assertSame(mockPrimaryConnection, replicaRoutingDataSource.getConnection());
+        verify(mockReplica, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_ReplicaAvailableAgain() throws SQLException {
+        final var retryingDataSource = new ReplicaRoutingDataSource(mockPrimary, mockReplica, 0L);
+        when(mockReplica.getConnection()).thenThrow(new SQLException("test")).thenReturn(mockReplicaConnection);
+
+        assertSame(mockPrimaryConnection, retryingDataSource.getConnection());
+        assertSame(mockPrimaryConnection, retryingDataSource.getConnection());
+        verify(mockReplicaConnection, timeout(1000).times(1)).close();
+
+        assertSame(mockReplicaConnection, retryingDataSource.getConnection());
+    }
+}
@@ -3,6 +3,10 @@ package de.iu.bniebes.service.external.db.helper;
 import com.zaxxer.hikari.HikariDataSource;
 import de.iu.bniebes.configuration.DBConfiguration;
 import de.iu.bniebes.constant.GlobalConstants;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
 
@@ -11,12 +15,27 @@ public class DBTestHelper {
 
     private DBTestHelper() {}
 
+    public static final String TEST_JDBC_URL = "jdbc:postgresql://localhost:5432/release_tracker";
+    public static final String TEST_REPLICA_JDBC_URL = "jdbc:postgresql://localhost:5433/release_tracker";
+
     public static Jdbi createTestJdbi() {
+        return Jdbi.create(createTestDataSource(TEST_JDBC_URL));
+    }
+
+    public static HikariDataSource createTestDataSource(final String jdbcUrl) {
         final var hikariDataSource = new HikariDataSource();
-        hikariDataSource.setJdbcUrl("jdbc:postgresql://localhost:5432/release_tracker");
+        hikariDataSource.setJdbcUrl(jdbcUrl);
         hikariDataSource.setUsername(DBConfiguration.DEFAULT_DB_JDBC_USER);
         hikariDataSource.setPassword("dev");
-        return Jdbi.create(hikariDataSource);
+        return hikariDataSource;
+    }
+
+    public static Connection createTestConnection(final String applicationName) throws SQLException {
+        final var properties = new Properties();
+        properties.setProperty("user", DBConfiguration.DEFAULT_DB_JDBC_USER);
+        properties.setProperty("password", "dev");
+        properties.setProperty("ApplicationName", applicationName);
+        return DriverManager.getConnection(TEST_JDBC_URL, properties);
     }
 
     public static void infoLogResult(final Object result) {
@@ -0,0 +1,62 @@
+package de.iu.bniebes.service.external.db.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.service.external.db.ReleaseChangeDBService;
+import de.iu.bniebes.service.external.db.ReleaseChangeListener;
+import de.iu.bniebes.service.external.db.helper.DBTestHelper;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@EnabledIfSystemProperty(named = "test.condition.pgsql", matches = "true")
+class ReleaseChangeListenerTest {
+
+    private static final String TEST_APPLICATION_NAME = "release-tracker-listener-test";
+    private static final long TIMEOUT_SECONDS = 15L;
+
+    private static final Jdbi JDBI = DBTestHelper.createTestJdbi();
+
+    private final ReleaseChangeDBService releaseChangeDBService = new ReleaseChangeDBService(JDBI);
+    private final LinkedBlockingQueue<String> payloads = new LinkedBlockingQueue<>();
+    private final Semaphore resyncs = new Semaphore(0);
+    private final ReleaseChangeListener releaseChangeListener = new ReleaseChangeListener(
+            () -> DBTestHelper.createTestConnection(TEST_APPLICATION_NAME),
+            ReleaseChangeDBService.CHANNEL,
+            payloads::add,
+            resyncs::release);
+
+    @AfterEach
+    void closeListener() throws Exception {
+        releaseChangeListener.close();
+    }
+
+    @Test
+    void publish() throws Exception {
+        assertTrue(resyncs.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        assertTrue(releaseChangeDBService.publish("test-payload"));
+
+        assertEquals("test-payload", payloads.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void reconnect_Resync() throws Exception {
+        assertTrue(resyncs.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        final var terminated = JDBI.withHandle(handle -> handle.createQuery(
+                        "SELECT count(pg_terminate_backend(pid)) FROM pg_stat_activity WHERE application_name = :name")
+                .bind("name", TEST_APPLICATION_NAME)
+                .mapTo(Long.class)
+                .one());
+        assertTrue(terminated >= 1L);
+
+        assertTrue(resyncs.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(releaseChangeDBService.publish("after-reconnect"));
+        assertEquals("after-reconnect", payloads.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+}
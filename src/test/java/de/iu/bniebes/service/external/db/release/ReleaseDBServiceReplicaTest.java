@@ -0,0 +1,59 @@
+package de.iu.bniebes.service.external.db.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.configuration.DBConfiguration;
+import de.iu.bniebes.service.external.db.ReadConsistency;
+import de.iu.bniebes.service.external.db.ReleaseDBService;
+import de.iu.bniebes.service.external.db.ReplicaRoutingDataSource;
+import de.iu.bniebes.service.external.db.helper.DBTestHelper;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@Slf4j
+@EnabledIfSystemProperty(named = "test.condition.pgsql.replica", matches = "true")
+class ReleaseDBServiceReplicaTest {
+
+    private static final String TEST_APP = "test-replica";
+    private static final String TEST_ENV = "test";
+    private static final String TEST_VER = "0.0.1";
+
+    private static final Jdbi PRIMARY_JDBI = DBTestHelper.createTestJdbi();
+    private static final Jdbi READ_JDBI = Jdbi.create(new ReplicaRoutingDataSource(
+            DBTestHelper.createTestDataSource(DBTestHelper.TEST_JDBC_URL),
+            DBTestHelper.createTestDataSource(DBTestHelper.TEST_REPLICA_JDBC_URL),
+            DBConfiguration.DEFAULT_DB_JDBC_REPLICA_RETRY_MILLIS));
+
+    private final ReleaseDBService primaryReleaseDBService =
+            new ReleaseDBService(PRIMARY_JDBI, new StringDictionaryService());
+    private final ReleaseDBService readReleaseDBService =
+            new ReleaseDBService(READ_JDBI, new StringDictionaryService());
+
+    @AfterEach
+    void clearReadConsistency() {
+        ReadConsistency.clear();
+    }
+
+    @Test
+    void fullRelease_ReadYourWrites() {
+        final var timestamp = Instant.now();
+        assertTrue(primaryReleaseDBService
+                .insert(TEST_APP, TEST_ENV, TEST_VER, timestamp)
+                .isPresent());
+        final var lsn = PRIMARY_JDBI.withHandle(handle -> handle.createQuery(
+                        "SELECT CAST(pg_current_wal_lsn() AS TEXT)")
+                .mapTo(String.class)
+                .one());
+        DBTestHelper.infoLogResult(lsn);
+
+        ReadConsistency.requireLsn(lsn);
+        final var result = assertDoesNotThrow(
+                () -> readReleaseDBService.fullRelease(TEST_APP, TEST_ENV, TEST_VER, timestamp));
+        assertTrue(result.isPresent());
+    }
+}
@@ -2,10 +2,20 @@ package de.iu.bniebes.service.external.db.release;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import de.iu.bniebes.model.parameter.FilterParameters;
+import de.iu.bniebes.model.parameter.PageParameters;
+import de.iu.bniebes.model.parameter.ReleaseCursor;
+import de.iu.bniebes.model.parameter.ReleaseKey;
+import de.iu.bniebes.model.parameter.ReleaseOrder;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
 import de.iu.bniebes.service.external.db.ReleaseDBService;
 import de.iu.bniebes.service.external.db.helper.DBTestHelper;
-import java.math.BigInteger;
+import de.iu.bniebes.service.internal.StringDictionaryService;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
 import org.junit.jupiter.api.BeforeAll;
@@ -23,21 +33,12 @@ class ReleaseDBServiceTest {
     private static final String TEST_VERSION = "1.0.0";
     private static final Instant TEST_TIMESTAMP = Instant.now();
 
-    private final ReleaseDBService releaseDBService = new ReleaseDBService(jdbi);
+    private final ReleaseDBService releaseDBService = new ReleaseDBService(jdbi, new StringDictionaryService());
 
     @BeforeAll
     public static void init() {
-        final var insert =
-                """
-                INSERT INTO releases (application, environment, version, release_timestamp)
-                VALUES (:app, :env, :ver, :rts);
-                """;
-        jdbi.useHandle(handle -> handle.createUpdate(insert)
-                .bind("app", TEST_APPLICATION)
-                .bind("env", TEST_ENVIRONMENT)
-                .bind("ver", TEST_VERSION)
-                .bind("rts", TEST_TIMESTAMP)
-                .execute());
+        new ReleaseDBService(jdbi, new StringDictionaryService())
+                .insert(TEST_APPLICATION, TEST_ENVIRONMENT, TEST_VERSION, TEST_TIMESTAMP);
     }
 
     @Test
@@ -48,9 +49,38 @@ class ReleaseDBServiceTest {
         DBTestHelper.infoLogResult(result.get());
     }
 
+    @Test
+    void fullRelease() {
+        final var result = assertDoesNotThrow(
+                () -> releaseDBService.fullRelease(TEST_APPLICATION, TEST_ENVIRONMENT, TEST_VERSION, TEST_TIMESTAMP));
+        assertTrue(result.isPresent());
+        assertEquals(TEST_APPLICATION, result.get().application());
+        DBTestHelper.infoLogResult(result.get());
+    }
+
+    @Test
+    void fullRelease_NotPresent() {
+        final var result = assertDoesNotThrow(
+                () -> releaseDBService.fullRelease(TEST_APPLICATION, TEST_ENVIRONMENT, "not-present", TEST_TIMESTAMP));
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void fullReleases() {
+        final var releaseKey = new ReleaseKey(TEST_APPLICATION, TEST_ENVIRONMENT, TEST_VERSION, TEST_TIMESTAMP);
+        final var missingKey = new ReleaseKey(TEST_APPLICATION, TEST_ENVIRONMENT, "not-present", TEST_TIMESTAMP);
+        final var result = assertDoesNotThrow(
+                () -> releaseDBService.fullReleases(List.of(missingKey, releaseKey, releaseKey)));
+        assertTrue(result.isPresent());
+        assertEquals(3, result.get().size());
+        assertNull(result.get().get(0));
+        assertEquals(TEST_VERSION, result.get().get(1).version());
+        assertEquals(result.get().get(1), result.get().get(2));
+    }
+
     @Test
     void releaseById() {
-        final var result = assertDoesNotThrow(() -> releaseDBService.releaseById(BigInteger.ONE));
+        final var result = assertDoesNotThrow(() -> releaseDBService.releaseById(1L));
         assertTrue(result.isPresent());
         DBTestHelper.infoLogResult(result.get());
     }
@@ -72,25 +102,78 @@ class ReleaseDBServiceTest {
     }
 
     @Test
-    void fullReleases() {
-        final var result = assertDoesNotThrow(releaseDBService::fullReleases);
+    void fullReleasesPage() {
+        final var releaseQuery = ReleaseQuery.all().page(new PageParameters(1, null));
+        final var result = assertDoesNotThrow(() -> releaseDBService.fullReleasesPage(releaseQuery));
         assertTrue(result.isPresent());
         assertFalse(result.get().isEmpty());
+        assertTrue(result.get().size() <= 2);
     }
 
     @Test
-    void fullReleasesByApplication() {
-        final var result = assertDoesNotThrow(() -> releaseDBService.fullReleasesByApplication(TEST_APPLICATION));
+    void fullReleasesPage_AfterCursor() {
+        final var firstPage = releaseDBService
+                .fullReleasesPage(ReleaseQuery.byApplication(TEST_APPLICATION).page(new PageParameters(1, null)))
+                .get();
+        final var cursor = ReleaseCursor.of(firstPage.getFirst());
+
+        final var releaseQuery =
+                ReleaseQuery.byApplication(TEST_APPLICATION).page(new PageParameters(PageParameters.MAX_LIMIT, cursor));
+        final var result = assertDoesNotThrow(() -> releaseDBService.fullReleasesPage(releaseQuery));
         assertTrue(result.isPresent());
-        assertFalse(result.get().isEmpty());
+        result.get().forEach(fullRelease -> assertNotEquals(cursor.id(), fullRelease.id()));
     }
 
     @Test
-    void fullReleasesByApplicationAndEnvironment() {
-        final var result = assertDoesNotThrow(
-                () -> releaseDBService.fullReleasesByApplicationAndEnvironment(TEST_APPLICATION, TEST_ENVIRONMENT));
+    void fullReleasesPage_Filtered() {
+        final var filterParameters = new FilterParameters(
+                TEST_VERSION, TEST_TIMESTAMP, TEST_TIMESTAMP.plus(1L, ChronoUnit.MICROS), ReleaseOrder.DESC);
+        final var releaseQuery = ReleaseQuery.byApplicationAndEnvironment(TEST_APPLICATION, TEST_ENVIRONMENT)
+                .filter(filterParameters)
+                .page(new PageParameters(PageParameters.MAX_LIMIT, null));
+        final var result = assertDoesNotThrow(() -> releaseDBService.fullReleasesPage(releaseQuery));
         assertTrue(result.isPresent());
-        assertFalse(result.get().isEmpty());
+        assertEquals(1, result.get().size());
+        assertEquals(TEST_VERSION, result.get().getFirst().version());
+    }
+
+    @Test
+    void fullReleasesPage_Descending() {
+        final var releaseQuery = ReleaseQuery.byApplication(TEST_APPLICATION)
+                .filter(new FilterParameters(null, null, null, ReleaseOrder.DESC))
+                .page(new PageParameters(PageParameters.MAX_LIMIT, null));
+        final var result = assertDoesNotThrow(() -> releaseDBService.fullReleasesPage(releaseQuery));
+        assertTrue(result.isPresent());
+        for (int i = 1; i < result.get().size(); i++) {
+            assertFalse(result.get()
+                    .get(i)
+                    .releaseTimestamp()
+                    .isAfter(result.get().get(i - 1).releaseTimestamp()));
+        }
+    }
+
+    @Test
+    void forEachFullRelease() {
+        final var count = new AtomicLong();
+        final var result = assertDoesNotThrow(() -> releaseDBService.forEachFullRelease(
+                ReleaseQuery.all(), fullRelease -> count.incrementAndGet()));
+        assertTrue(result.isPresent());
+        assertEquals(count.get(), result.get());
+    }
+
+    @Test
+    void forEachFullRelease_ByApplicationAndEnvironment() {
+        final var result = assertDoesNotThrow(() -> releaseDBService.forEachFullRelease(
+                ReleaseQuery.byApplicationAndEnvironment(TEST_APPLICATION, TEST_ENVIRONMENT),
+                fullRelease -> assertEquals(TEST_APPLICATION, fullRelease.application())));
+        assertTrue(result.isPresent());
+    }
+
+    @Test
+    void forEachFullRelease_NotPresent() {
+        final var result = assertDoesNotThrow(() -> releaseDBService.forEachFullRelease(
+                ReleaseQuery.byApplication("not-present"), fullRelease -> fail()));
+        assertTrue(result.isEmpty());
     }
 
     @Test
@@ -106,6 +189,52 @@ class ReleaseDBServiceTest {
         assertTrue(result.isPresent());
     }
 
+    @Test
+    void currentReleases_KeepLatest() {
+        final var app = "test-current-" + System.nanoTime();
+        final var rts = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        releaseDBService.insert(app, "env-a", "0.0.2", rts);
+        releaseDBService.insert(app, "env-a", "0.0.1", rts.minusSeconds(60));
+        releaseDBService.upsert(app, "env-b", "0.0.3", rts.plusSeconds(60));
+        releaseDBService.upsert(app, "env-b", "0.0.0", rts.minusSeconds(120));
+
+        final var byApplication = releaseDBService.currentReleaseByApplication(app);
+        assertTrue(byApplication.isPresent());
+        assertEquals("0.0.3", byApplication.get().version());
+
+        final var byApplicationAndEnvironment =
+                releaseDBService.currentReleaseByApplicationAndEnvironment(app, "env-a");
+        assertTrue(byApplicationAndEnvironment.isPresent());
+        assertEquals("0.0.2", byApplicationAndEnvironment.get().version());
+        assertEquals(rts, byApplicationAndEnvironment.get().releaseTimestamp());
+    }
+
+    @Test
+    void currentReleases_NotPresent() {
+        final var result = assertDoesNotThrow(() -> releaseDBService.currentReleaseByApplication("not-present"));
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void forEachFullReleaseWrittenSince() {
+        final var app = "test-revision-" + System.nanoTime();
+        final var writeHorizon = releaseDBService.writeHorizon();
+        assertTrue(writeHorizon.isPresent());
+        final var id = releaseDBService.insert(app, "env", "0.0.1", Instant.now()).get().id();
+
+        final var ids = new ArrayList<Long>();
+        final var result = assertDoesNotThrow(() -> releaseDBService.forEachFullReleaseWrittenSince(
+                writeHorizon.get(), fullRelease -> ids.add(fullRelease.id())));
+        assertTrue(result.isPresent());
+        assertTrue(ids.contains(id));
+
+        final var horizon = releaseDBService.writeHorizon();
+        assertTrue(horizon.get() > writeHorizon.get());
+        final var idsSince = new ArrayList<Long>();
+        releaseDBService.forEachFullReleaseWrittenSince(horizon.get(), fullRelease -> idsSince.add(fullRelease.id()));
+        assertFalse(idsSince.contains(id));
+    }
+
     @Test
     void insert() {
         final var app = "test-insert";
@@ -115,6 +244,25 @@ class ReleaseDBServiceTest {
 
         final var result = assertDoesNotThrow(() -> releaseDBService.insert(app, env, ver, rts));
         assertTrue(result.isPresent());
+        assertTrue(result.get().revision() > 0L);
         DBTestHelper.infoLogResult(result);
     }
+
+    @Test
+    void upsert() {
+        final var app = "test-upsert";
+        final var env = "test-upsert";
+        final var ver = "0.0.2";
+        final var rts = Instant.now();
+
+        final var created = assertDoesNotThrow(() -> releaseDBService.upsert(app, env, ver, rts));
+        assertTrue(created.isPresent());
+        assertTrue(created.get().created());
+
+        final var existing = assertDoesNotThrow(() -> releaseDBService.upsert(app, env, ver, rts));
+        assertTrue(existing.isPresent());
+        assertFalse(existing.get().created());
+        assertEquals(created.get().id(), existing.get().id());
+        assertEquals(created.get().fullRelease(), existing.get().fullRelease());
+    }
 }
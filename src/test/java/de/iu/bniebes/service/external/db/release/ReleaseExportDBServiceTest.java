@@ -0,0 +1,84 @@
+package de.iu.bniebes.service.external.db.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.model.parameter.BulkFormat;
+import de.iu.bniebes.model.parameter.ExportParameters;
+import de.iu.bniebes.model.response.ReleaseResponse;
+import de.iu.bniebes.service.external.db.ReleaseDBService;
+import de.iu.bniebes.service.external.db.ReleaseExportDBService;
+import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
+import de.iu.bniebes.service.external.db.helper.DBTestHelper;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@Slf4j
+@EnabledIfSystemProperty(named = "test.condition.pgsql", matches = "true")
+class ReleaseExportDBServiceTest {
+
+    private static final Jdbi JDBI = DBTestHelper.createTestJdbi();
+    private static final String TEST_ENV = "test";
+    private static final String TEST_VER = "0.0.1";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ReleaseDBService releaseDBService = new ReleaseDBService(JDBI, new StringDictionaryService());
+    private final ReleaseOptInfoDBService releaseOptInfoDBService =
+            new ReleaseOptInfoDBService(JDBI, new StringDictionaryService());
+    private final ReleaseExportDBService releaseExportDBService = new ReleaseExportDBService(JDBI);
+
+    @Test
+    void export_Ndjson() throws Exception {
+        final var app = "test-export-ndjson-" + System.nanoTime();
+        final var timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        final var id = releaseDBService.insert(app, TEST_ENV, TEST_VER, timestamp).get().id();
+        assertTrue(releaseOptInfoDBService.insertDescription(id, "desc"));
+
+        final var outputStream = new ByteArrayOutputStream();
+        final var result = releaseExportDBService.export(
+                new ExportParameters(app, null, null, null, BulkFormat.NDJSON), outputStream);
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get());
+
+        final var lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        DBTestHelper.infoLogResult(lines);
+        assertEquals(1, lines.size());
+        final var releaseResponse = mapper.readValue(lines.getFirst(), ReleaseResponse.class);
+        assertEquals(app, releaseResponse.application());
+        assertEquals(ZuluEpochMicros.of(timestamp), releaseResponse.zuluEpochMicros());
+        assertEquals("desc", releaseResponse.description());
+        assertNull(releaseResponse.releaseName());
+    }
+
+    @Test
+    void export_CsvTimeRange() {
+        final var app = "test-export-csv-" + System.nanoTime();
+        final var timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        releaseDBService.insert(app, TEST_ENV, "0.0.1", timestamp.minusSeconds(60));
+        releaseDBService.insert(app, TEST_ENV, "0.0.2", timestamp);
+        releaseDBService.insert(app, TEST_ENV, "0.0.3", timestamp.plusSeconds(60));
+
+        final var outputStream = new ByteArrayOutputStream();
+        final var result = releaseExportDBService.export(
+                new ExportParameters(app, TEST_ENV, timestamp, timestamp.plusSeconds(1), BulkFormat.CSV),
+                outputStream);
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get());
+
+        final var lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        DBTestHelper.infoLogResult(lines);
+        assertEquals(
+                "application,environment,version,zuluEpochMicros,releaseName,description,changes,responsibility,"
+                        + "buildLocation",
+                lines.getFirst());
+        assertEquals("%s,%s,0.0.2,%s,,,,,".formatted(app, TEST_ENV, ZuluEpochMicros.of(timestamp)), lines.get(1));
+    }
+}
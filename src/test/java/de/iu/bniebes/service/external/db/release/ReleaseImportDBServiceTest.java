@@ -0,0 +1,72 @@
+package de.iu.bniebes.service.external.db.release;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.model.OptInfo;
+import de.iu.bniebes.model.db.ReleaseImport;
+import de.iu.bniebes.service.external.db.ReleaseDBService;
+import de.iu.bniebes.service.external.db.ReleaseImportDBService;
+import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
+import de.iu.bniebes.service.external.db.helper.DBTestHelper;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@Slf4j
+@EnabledIfSystemProperty(named = "test.condition.pgsql", matches = "true")
+class ReleaseImportDBServiceTest {
+
+    private static final Jdbi JDBI = DBTestHelper.createTestJdbi();
+    private static final String TEST_APP = "test-import";
+    private static final String TEST_ENV = "test";
+
+    private final ReleaseDBService releaseDBService = new ReleaseDBService(JDBI, new StringDictionaryService());
+    private final ReleaseOptInfoDBService releaseOptInfoDBService =
+            new ReleaseOptInfoDBService(JDBI, new StringDictionaryService());
+    private final ReleaseImportDBService releaseImportDBService = new ReleaseImportDBService(JDBI);
+
+    @Test
+    void importReleases() {
+        final var timestamp = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        final var existingId = releaseDBService
+                .insert(TEST_APP, TEST_ENV, "0.0.1", timestamp)
+                .get()
+                .id();
+        assertTrue(releaseOptInfoDBService.insertReleaseName(existingId, "before-import"));
+
+        final var releaseImports = List.of(
+                new ReleaseImport(TEST_APP, TEST_ENV, "0.0.1", timestamp, "first", null, null, null, null),
+                new ReleaseImport(TEST_APP, TEST_ENV, "0.0.2", timestamp, null, "desc, \"quoted\"", null, null, "loc"),
+                new ReleaseImport(TEST_APP, TEST_ENV, "0.0.1", timestamp, "last", null, null, null, null));
+
+        final var result = assertDoesNotThrow(() -> releaseImportDBService.importReleases(releaseImports.iterator()));
+        DBTestHelper.infoLogResult(result);
+        assertTrue(result.isPresent());
+        assertEquals(3L, result.get().imported());
+        assertEquals(1L, result.get().created());
+
+        assertEquals("last", releaseOptInfoDBService.stringValueById(existingId, OptInfo.RELEASE_NAME).get());
+        final var importedRelease = releaseDBService.fullRelease(TEST_APP, TEST_ENV, "0.0.2", timestamp);
+        assertTrue(importedRelease.isPresent());
+        assertEquals("desc, \"quoted\"", importedRelease.get().description());
+        assertEquals("loc", importedRelease.get().buildLocation());
+        assertNull(importedRelease.get().releaseName());
+
+        final var currentRelease = releaseDBService.currentReleaseByApplicationAndEnvironment(TEST_APP, TEST_ENV);
+        assertTrue(currentRelease.isPresent());
+        assertEquals(importedRelease.get().id(), currentRelease.get().id());
+    }
+
+    @Test
+    void importReleases_Empty() {
+        final var result = releaseImportDBService.importReleases(Collections.emptyIterator());
+        assertTrue(result.isPresent());
+        assertEquals(0L, result.get().imported());
+    }
+}
@@ -3,11 +3,13 @@ package de.iu.bniebes.service.external.db.release;
 import static org.junit.jupiter.api.Assertions.*;
 
 import de.iu.bniebes.model.OptInfo;
+import de.iu.bniebes.model.db.OptInfoValue;
 import de.iu.bniebes.service.external.db.ReleaseDBService;
 import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
 import de.iu.bniebes.service.external.db.helper.DBTestHelper;
-import java.math.BigInteger;
+import de.iu.bniebes.service.internal.StringDictionaryService;
 import java.time.Instant;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
 import org.junit.jupiter.api.Test;
@@ -18,24 +20,28 @@ import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 class ReleaseOptInfoDBServiceTest {
 
     private static final Jdbi JDBI = DBTestHelper.createTestJdbi();
-    private static final ReleaseDBService RELEASE_DB_SERVICE = new ReleaseDBService(JDBI);
+    private static final ReleaseDBService RELEASE_DB_SERVICE =
+            new ReleaseDBService(JDBI, new StringDictionaryService());
 
     private static final String TEST_APP = "test";
     private static final String TEST_ENV = "test";
     private static final String TEST_VER = "0.0.3";
     private static final Instant TEST_TIMESTAMP = Instant.now();
-    private static final BigInteger TEST_ID = RELEASE_DB_SERVICE
+    private static final long TEST_ID = RELEASE_DB_SERVICE
             .insert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP)
-            .get();
-    private static final BigInteger TEST_ID_UPDATE = RELEASE_DB_SERVICE
+            .get()
+            .id();
+    private static final long TEST_ID_UPDATE = RELEASE_DB_SERVICE
             .insert(TEST_APP, TEST_ENV, TEST_VER, Instant.now())
-            .get();
+            .get()
+            .id();
 
-    private final ReleaseOptInfoDBService releaseOptInfoDBService = new ReleaseOptInfoDBService(JDBI);
+    private final ReleaseOptInfoDBService releaseOptInfoDBService =
+            new ReleaseOptInfoDBService(JDBI, new StringDictionaryService());
 
     @Test
     void valueNotPresent() {
-        final var queryResult = assertDoesNotThrow(() -> releaseOptInfoDBService.releaseNameById(BigInteger.ZERO));
+        final var queryResult = assertDoesNotThrow(() -> releaseOptInfoDBService.releaseNameById(0L));
         assertTrue(queryResult.isEmpty());
     }
 
@@ -138,7 +144,8 @@ class ReleaseOptInfoDBServiceTest {
         final var testValue = "releaseName";
         final var id = assertDoesNotThrow(() -> RELEASE_DB_SERVICE
                 .insert("stringValueById", TEST_ENV, TEST_VER, Instant.now())
-                .get());
+                .get()
+                .id());
         assertTrue(releaseOptInfoDBService.insertReleaseName(id, testValue));
 
         final var result = releaseOptInfoDBService.stringValueById(id, OptInfo.RELEASE_NAME);
@@ -151,13 +158,56 @@ class ReleaseOptInfoDBServiceTest {
         final var testValue = "releaseName";
         final var id = assertDoesNotThrow(() -> RELEASE_DB_SERVICE
                 .insert("deleteValueById", TEST_ENV, TEST_VER, Instant.now())
-                .get());
+                .get()
+                .id());
         assertTrue(releaseOptInfoDBService.insertReleaseName(id, testValue));
         assertTrue(releaseOptInfoDBService.releaseNameById(id).isPresent());
 
         final var result = releaseOptInfoDBService.deleteValueById(id, OptInfo.RELEASE_NAME);
         assertTrue(result.isPresent());
-        assertTrue(result.get());
+        assertEquals(id, result.get().id());
+        assertNull(result.get().releaseName());
         assertTrue(releaseOptInfoDBService.releaseNameById(id).isEmpty());
+        assertTrue(releaseOptInfoDBService.deleteValueById(id, OptInfo.RELEASE_NAME).isEmpty());
+    }
+
+    @Test
+    void upsertAll() {
+        final var firstId = assertDoesNotThrow(() -> RELEASE_DB_SERVICE
+                .insert("upsertAll", TEST_ENV, TEST_VER, Instant.now())
+                .get()
+                .id());
+        final var secondId = assertDoesNotThrow(() -> RELEASE_DB_SERVICE
+                .insert("upsertAll", TEST_ENV, TEST_VER, Instant.now())
+                .get()
+                .id());
+        assertTrue(releaseOptInfoDBService.insertReleaseName(firstId, "before-update"));
+
+        final var result = assertDoesNotThrow(() -> releaseOptInfoDBService.upsertAll(List.of(
+                new OptInfoValue(firstId, OptInfo.RELEASE_NAME, "after-update"),
+                new OptInfoValue(firstId, OptInfo.BUILD_LOCATION, "loc"),
+                new OptInfoValue(secondId, OptInfo.RELEASE_NAME, "second"),
+                new OptInfoValue(secondId, OptInfo.CHANGES, "change"))));
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().size());
+        final var first = result.get().stream()
+                .filter(fullRelease -> fullRelease.id() == firstId)
+                .findFirst()
+                .orElseThrow();
+        assertEquals("after-update", first.releaseName());
+        assertEquals("loc", first.buildLocation());
+
+        assertEquals("after-update", releaseOptInfoDBService.stringValueById(firstId, OptInfo.RELEASE_NAME).get());
+        assertEquals("loc", releaseOptInfoDBService.stringValueById(firstId, OptInfo.BUILD_LOCATION).get());
+        assertEquals("second", releaseOptInfoDBService.stringValueById(secondId, OptInfo.RELEASE_NAME).get());
+        assertEquals("change", releaseOptInfoDBService.stringValueById(secondId, OptInfo.CHANGES).get());
+        assertTrue(releaseOptInfoDBService.descriptionById(secondId).isEmpty());
+    }
+
+    @Test
+    void upsertAll_ReleaseNotPresent() {
+        final var result = assertDoesNotThrow(() -> releaseOptInfoDBService.upsertAll(
+                List.of(new OptInfoValue(0L, OptInfo.RELEASE_NAME, "not-present"))));
+        assertTrue(result.isError());
     }
 }
@@ -0,0 +1,157 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.model.db.ReleaseChange;
+import de.iu.bniebes.model.response.ReleaseEvent;
+import de.iu.bniebes.service.external.db.ReleaseChangeDBService;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class CacheInvalidationServiceTest {
+
+    private static final String TEST_APP = "test-app";
+    private static final String TEST_ENV = "test-env";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final CurrentReleaseCacheService mockCurrentReleaseCacheService = mock(CurrentReleaseCacheService.class);
+    private final ReleaseListCacheService mockReleaseListCacheService = mock(ReleaseListCacheService.class);
+    private final ReleaseReadModelService mockReleaseReadModelService = mock(ReleaseReadModelService.class);
+    private final ReleaseChangeDBService mockReleaseChangeDBService = mock(ReleaseChangeDBService.class);
+    private final ReleaseEventService mockReleaseEventService = mock(ReleaseEventService.class);
+    private final CacheInvalidationService cacheInvalidationService = new CacheInvalidationService(
+            mockCurrentReleaseCacheService,
+            mockReleaseListCacheService,
+            mockReleaseReadModelService,
+            mockReleaseChangeDBService,
+            mockReleaseEventService,
+            Runnable::run);
+
+    @Test
+    void invalidate() throws Exception {
+        cacheInvalidationService.invalidate(TEST_APP, TEST_ENV);
+
+        verify(mockCurrentReleaseCacheService, times(1)).invalidate(TEST_APP, TEST_ENV);
+        verify(mockReleaseListCacheService, times(1)).invalidate(TEST_APP, TEST_ENV);
+        verifyNoInteractions(mockReleaseReadModelService, mockReleaseEventService);
+        final var releaseChange = mapper.readValue(publishedPayload(), ReleaseChange.class);
+        assertEquals(TEST_APP, releaseChange.application());
+        assertEquals(TEST_ENV, releaseChange.environment());
+        assertNotNull(releaseChange.instance());
+    }
+
+    @Test
+    void invalidate_TooLong() throws Exception {
+        final var application = "a".repeat(CacheInvalidationService.MAX_PAYLOAD_BYTES);
+
+        cacheInvalidationService.invalidate(application, TEST_ENV);
+
+        assertNull(mapper.readValue(publishedPayload(), ReleaseChange.class).application());
+    }
+
+    @Test
+    void invalidate_TooLong_MultiByte() throws Exception {
+        final var application = "ä".repeat(CacheInvalidationService.MAX_PAYLOAD_BYTES / 2);
+
+        cacheInvalidationService.invalidate(application, TEST_ENV);
+
+        assertNull(mapper.readValue(publishedPayload(), ReleaseChange.class).application());
+    }
+
+    @Test
+    void onReleaseChange() throws Exception {
+        cacheInvalidationService.onReleaseChange(
+                mapper.writeValueAsString(new ReleaseChange("other-instance", TEST_APP, TEST_ENV)));
+
+        final var inOrder = inOrder(mockReleaseReadModelService, mockCurrentReleaseCacheService);
+        inOrder.verify(mockReleaseReadModelService, times(1)).reload(TEST_APP, TEST_ENV);
+        inOrder.verify(mockCurrentReleaseCacheService, times(1)).invalidate(TEST_APP, TEST_ENV);
+        verify(mockReleaseListCacheService, times(1)).invalidate(TEST_APP, TEST_ENV);
+        verify(mockReleaseEventService, times(1)).publish(ReleaseEvent.changed(TEST_APP, TEST_ENV));
+        verifyNoInteractions(mockReleaseChangeDBService);
+    }
+
+    @Test
+    void onReleaseChange_All() throws Exception {
+        cacheInvalidationService.onReleaseChange(
+                mapper.writeValueAsString(new ReleaseChange("other-instance", null, null)));
+
+        verify(mockReleaseReadModelService, times(1)).reload();
+        verify(mockCurrentReleaseCacheService, times(1)).invalidateAll();
+        verify(mockReleaseListCacheService, times(1)).invalidateAll();
+        verify(mockReleaseEventService, times(1)).publish(ReleaseEvent.changed(null, null));
+    }
+
+    @Test
+    void onReleaseChange_Coalesced() throws Exception {
+        final var queued = new ArrayList<Runnable>();
+        final var queuedCacheInvalidationService = new CacheInvalidationService(
+                mockCurrentReleaseCacheService,
+                mockReleaseListCacheService,
+                mockReleaseReadModelService,
+                mockReleaseChangeDBService,
+                mockReleaseEventService,
+                queued::add);
+        final var payload = mapper.writeValueAsString(new ReleaseChange("other-instance", TEST_APP, TEST_ENV));
+
+        queuedCacheInvalidationService.onReleaseChange(payload);
+        queuedCacheInvalidationService.onReleaseChange(payload);
+
+        verifyNoInteractions(mockReleaseReadModelService, mockCurrentReleaseCacheService);
+        assertEquals(1, queued.size());
+        queued.getFirst().run();
+        verify(mockReleaseReadModelService, times(1)).reload(TEST_APP, TEST_ENV);
+        verify(mockCurrentReleaseCacheService, times(1)).invalidate(TEST_APP, TEST_ENV);
+    }
+
+    @Test
+    void invalidateAll() throws Exception {
+        cacheInvalidationService.invalidateAll();
+
+        assertNull(mapper.readValue(publishedPayload(), ReleaseChange.class).application());
+        verify(mockReleaseReadModelService, times(1)).reload();
+        verify(mockCurrentReleaseCacheService, times(1)).invalidateAll();
+        verify(mockReleaseEventService, times(1)).publish(ReleaseEvent.changed(null, null));
+    }
+
+    @Test
+    void onReleaseChange_OwnInstance() {
+        cacheInvalidationService.invalidate(TEST_APP, TEST_ENV);
+        final var payload = publishedPayload();
+        clearInvocations(mockCurrentReleaseCacheService, mockReleaseListCacheService);
+
+        cacheInvalidationService.onReleaseChange(payload);
+
+        verifyNoInteractions(
+                mockCurrentReleaseCacheService,
+                mockReleaseListCacheService,
+                mockReleaseReadModelService,
+                mockReleaseEventService);
+    }
+
+    @Test
+    void onReleaseChange_Unreadable() {
+        cacheInvalidationService.onReleaseChange("not json");
+
+        verify(mockCurrentReleaseCacheService, times(1)).invalidateAll();
+        verify(mockReleaseListCacheService, times(1)).invalidateAll();
+    }
+
+    @Test
+    void resync() {
+        cacheInvalidationService.resync();
+
+        verify(mockReleaseReadModelService, times(1)).resync();
+        verify(mockCurrentReleaseCacheService, times(1)).invalidateAll();
+        verify(mockReleaseListCacheService, times(1)).invalidateAll();
+    }
+
+    private String publishedPayload() {
+        final var payloadCaptor = ArgumentCaptor.forClass(String.class);
+        verify(mockReleaseChangeDBService, times(1)).publish(payloadCaptor.capture());
+        return payloadCaptor.getValue();
+    }
+}
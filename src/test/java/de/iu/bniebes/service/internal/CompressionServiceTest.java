@@ -0,0 +1,63 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.configuration.CompressionConfiguration;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class CompressionServiceTest {
+
+    private static final byte[] TEST_JSON =
+            "{\"changes\":\"repeated changes\"},".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    private final CompressionService compressionService =
+            new CompressionService(new CompressionConfiguration(true, 1024));
+
+    @Test
+    void gzip() throws Exception {
+        final var gzip = compressionService.gzip(TEST_JSON);
+
+        assertTrue(gzip.length < TEST_JSON.length);
+        assertArrayEquals(TEST_JSON, gunzip(gzip));
+        final var metrics = compressionService.metrics();
+        assertEquals(1L, metrics.compressed());
+        assertEquals(TEST_JSON.length, metrics.uncompressedBytes());
+        assertEquals(gzip.length, metrics.compressedBytes());
+    }
+
+    @Test
+    void gzip_BelowMinimum() {
+        assertFalse(compressionService.compressible(1023));
+        assertNull(compressionService.gzip(new byte[1023]));
+        assertEquals(0L, compressionService.metrics().compressed());
+    }
+
+    @Test
+    void gzip_Disabled() {
+        final var disabledCompressionService = new CompressionService(new CompressionConfiguration(false, 0));
+
+        assertFalse(disabledCompressionService.enabled());
+        assertNull(disabledCompressionService.gzip(TEST_JSON));
+    }
+
+    @Test
+    void gzip_Stream() throws Exception {
+        final var outputStream = new ByteArrayOutputStream();
+        try (final var gzipOutputStream = compressionService.gzip(outputStream)) {
+            gzipOutputStream.write(TEST_JSON);
+        }
+
+        assertArrayEquals(TEST_JSON, gunzip(outputStream.toByteArray()));
+        assertEquals(1L, compressionService.metrics().streamed());
+    }
+
+    private static byte[] gunzip(final byte[] gzip) throws Exception {
+        try (final var inputStream = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return inputStream.readAllBytes();
+        }
+    }
+}
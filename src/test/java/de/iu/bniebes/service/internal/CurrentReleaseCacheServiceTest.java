@@ -0,0 +1,142 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.configuration.CacheConfiguration;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReadConsistency;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CurrentReleaseCacheServiceTest {
+
+    private static final String TEST_APP = "test-app";
+    private static final String TEST_ENV = "test-env";
+    private static final CacheConfiguration TEST_CONFIGURATION = new CacheConfiguration(2, 1_000L, 200L, 5_000L);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> refreshTasks = new ArrayList<>();
+    private final CurrentReleaseCacheService cacheService =
+            new CurrentReleaseCacheService(TEST_CONFIGURATION, nanos::get, refreshTasks::add);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<Result<String>> loader = () -> Result.of("release-" + loads.incrementAndGet());
+
+    @AfterEach
+    void clearReadConsistency() {
+        ReadConsistency.clear();
+    }
+
+    @Test
+    void byApplication_Hit() {
+        assertEquals(Result.of("release-1"), cacheService.byApplication(TEST_APP, loader));
+        assertEquals(Result.of("release-1"), cacheService.byApplication(TEST_APP, loader));
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, cacheService.metrics().hits());
+        assertEquals(1L, cacheService.metrics().misses());
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void byApplication_RefreshAhead() {
+        cacheService.byApplication(TEST_APP, loader);
+        advanceMillis(900L);
+
+        assertEquals(Result.of("release-1"), cacheService.byApplication(TEST_APP, loader));
+        assertEquals(Result.of("release-1"), cacheService.byApplication(TEST_APP, loader));
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.getFirst().run();
+        assertEquals(Result.of("release-2"), cacheService.byApplication(TEST_APP, loader));
+        assertEquals(1L, cacheService.metrics().refreshes());
+    }
+
+    @Test
+    void byApplication_StaleWhileRevalidate() {
+        cacheService.byApplication(TEST_APP, loader);
+        advanceMillis(3_000L);
+
+        assertEquals(Result.of("release-1"), cacheService.byApplication(TEST_APP, loader));
+        assertEquals(1L, cacheService.metrics().staleHits());
+        assertEquals(1, refreshTasks.size());
+
+        refreshTasks.getFirst().run();
+        assertEquals(Result.of("release-2"), cacheService.byApplication(TEST_APP, loader));
+    }
+
+    @Test
+    void byApplication_Expired() {
+        cacheService.byApplication(TEST_APP, loader);
+        advanceMillis(6_000L);
+
+        assertEquals(Result.of("release-2"), cacheService.byApplication(TEST_APP, loader));
+        assertEquals(2L, cacheService.metrics().misses());
+        assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void byApplication_ErrorNotCached() {
+        assertTrue(cacheService.byApplication(TEST_APP, Result::error).isError());
+        assertEquals(Result.of("release-1"), cacheService.byApplication(TEST_APP, loader));
+
+        assertEquals(1L, cacheService.metrics().loadErrors());
+        assertEquals(2L, cacheService.metrics().misses());
+    }
+
+    @Test
+    void byApplication_ReadConsistencyBypass() {
+        ReadConsistency.requireLsn("0/16B3748");
+
+        cacheService.byApplication(TEST_APP, loader);
+        cacheService.byApplication(TEST_APP, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cacheService.metrics().size());
+    }
+
+    @Test
+    void invalidate() {
+        cacheService.byApplication(TEST_APP, loader);
+        cacheService.byApplicationAndEnvironment(TEST_APP, TEST_ENV, loader);
+
+        cacheService.invalidate(TEST_APP, TEST_ENV);
+
+        assertEquals(0, cacheService.metrics().size());
+        assertEquals(Result.of("release-3"), cacheService.byApplication(TEST_APP, loader));
+    }
+
+    @Test
+    void invalidate_DuringLoad() {
+        final var result = cacheService.byApplication(TEST_APP, () -> {
+            cacheService.invalidate(TEST_APP, TEST_ENV);
+            return loader.get();
+        });
+
+        assertEquals(Result.of("release-1"), result);
+        assertEquals(0, cacheService.metrics().size());
+    }
+
+    @Test
+    void evict() {
+        cacheService.byApplicationAndEnvironment(TEST_APP, "env-1", loader);
+        advanceMillis(1L);
+        cacheService.byApplicationAndEnvironment(TEST_APP, "env-2", loader);
+        advanceMillis(1L);
+        cacheService.byApplicationAndEnvironment(TEST_APP, "env-3", loader);
+
+        assertEquals(2, cacheService.metrics().size());
+        assertEquals(1L, cacheService.metrics().evictions());
+        assertEquals(Result.of("release-4"), cacheService.byApplicationAndEnvironment(TEST_APP, "env-1", loader));
+    }
+
+    private void advanceMillis(final long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -2,7 +2,6 @@ package de.iu.bniebes.service.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.math.BigInteger;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import org.junit.jupiter.api.Nested;
@@ -136,29 +135,95 @@ class InputSanitizationServiceTest {
     }
 
     @Nested
-    class BigIntegerTests {
+    class ZuluEpochMicrosTests {
 
         @Test
-        void bigInteger() {
-            final var testValue = BigInteger.valueOf(1724546084593636001L);
-            final var result = inputSanitizationService.bigInteger(testValue.toString());
+        void zuluEpochMicros() {
+            final var result = inputSanitizationService.zuluEpochMicros("1724546084593636");
             assertTrue(result.isPresent());
-            assertEquals(testValue, result.get());
+            assertEquals(1724546084593636L, result.getAsLong());
         }
 
         @Test
-        void bigInteger_NotNumeric() {
-            final var result = inputSanitizationService.bigInteger("test");
-            assertTrue(result.isEmpty());
+        void zuluEpochMicros_NotNumeric() {
+            assertTrue(inputSanitizationService.zuluEpochMicros("test").isEmpty());
+            assertTrue(inputSanitizationService.zuluEpochMicros("-1").isEmpty());
+            assertTrue(inputSanitizationService.zuluEpochMicros("99999999999999999999").isEmpty());
         }
 
         @Test
-        void bigInteger_NullOrEmpty() {
-            final var resultEmpty = inputSanitizationService.bigInteger("");
+        void zuluEpochMicros_NullOrEmpty() {
+            final var resultEmpty = inputSanitizationService.zuluEpochMicros("");
             assertTrue(resultEmpty.isEmpty());
 
-            final var resultNull = inputSanitizationService.bigInteger(null);
+            final var resultNull = inputSanitizationService.zuluEpochMicros(null);
             assertTrue(resultNull.isEmpty());
         }
     }
+
+    @Nested
+    class PositiveIntTests {
+
+        @Test
+        void positiveInt() {
+            final var result = inputSanitizationService.positiveInt("100", 1000);
+            assertTrue(result.isPresent());
+            assertEquals(100, result.get());
+        }
+
+        @Test
+        void positiveInt_OutOfRange() {
+            assertTrue(inputSanitizationService.positiveInt("0", 1000).isEmpty());
+            assertTrue(inputSanitizationService.positiveInt("1001", 1000).isEmpty());
+            assertTrue(inputSanitizationService.positiveInt("99999999999999999999", 1000).isEmpty());
+        }
+
+        @Test
+        void positiveInt_NotNumeric() {
+            assertTrue(inputSanitizationService.positiveInt("-1", 1000).isEmpty());
+            assertTrue(inputSanitizationService.positiveInt("test", 1000).isEmpty());
+            assertTrue(inputSanitizationService.positiveInt(null, 1000).isEmpty());
+        }
+    }
+
+    @Nested
+    class ReleaseCursorTests {
+
+        @Test
+        void releaseCursor() {
+            final var result = inputSanitizationService.releaseCursor("1724704455312088-42");
+            assertTrue(result.isPresent());
+            assertEquals(42L, result.get().id());
+            assertEquals("1724704455312088-42", result.get().value());
+        }
+
+        @Test
+        void releaseCursor_Invalid() {
+            assertTrue(inputSanitizationService.releaseCursor("1724704455312088").isEmpty());
+            assertTrue(inputSanitizationService.releaseCursor("a-42").isEmpty());
+            assertTrue(inputSanitizationService.releaseCursor("1724704455312088-99999999999999999999").isEmpty());
+            assertTrue(inputSanitizationService.releaseCursor("").isEmpty());
+            assertTrue(inputSanitizationService.releaseCursor(null).isEmpty());
+        }
+    }
+
+    @Nested
+    class LsnTests {
+
+        @Test
+        void lsn() {
+            final var result = inputSanitizationService.lsn("16/b374d848");
+            assertTrue(result.isPresent());
+            assertEquals("16/B374D848", result.get());
+        }
+
+        @Test
+        void lsn_Invalid() {
+            assertTrue(inputSanitizationService.lsn("16").isEmpty());
+            assertTrue(inputSanitizationService.lsn("16/B374D848'; --").isEmpty());
+            assertTrue(inputSanitizationService.lsn("123456789/0").isEmpty());
+            assertTrue(inputSanitizationService.lsn("").isEmpty());
+            assertTrue(inputSanitizationService.lsn(null).isEmpty());
+        }
+    }
 }
@@ -1,18 +1,28 @@
 package de.iu.bniebes.service.internal;
 
-import static de.iu.bniebes.util.TimestampUtils.zuluEpochMicrosOf;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.configuration.CacheConfiguration;
+import de.iu.bniebes.configuration.CompressionConfiguration;
+import de.iu.bniebes.configuration.ListCacheConfiguration;
+import de.iu.bniebes.configuration.ReleaseIdCacheConfiguration;
 import de.iu.bniebes.model.db.*;
+import de.iu.bniebes.model.parameter.PageParameters;
+import de.iu.bniebes.model.parameter.ReleaseCursor;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
+import de.iu.bniebes.model.response.ReleasePageResponse;
 import de.iu.bniebes.model.response.ReleaseResponse;
 import de.iu.bniebes.model.result.Result;
 import de.iu.bniebes.service.external.db.ReleaseDBService;
-import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
-import java.math.BigInteger;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.time.Instant;
-import java.util.Set;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -24,15 +34,20 @@ class ReleaseAccessServiceTest {
     private static final String TEST_VER = "test-ver";
 
     private final ReleaseDBService mockReleaseDBService = mock(ReleaseDBService.class);
-    private final ReleaseOptInfoDBService mockReleaseOptInfoDBService = mock(ReleaseOptInfoDBService.class);
 
     private final ObjectMapper mapper = new ObjectMapper();
-    private final ReleaseAccessService releaseAccessService =
-            new ReleaseAccessService(mockReleaseDBService, mockReleaseOptInfoDBService);
+    private final ReleaseAccessService releaseAccessService = new ReleaseAccessService(
+            mockReleaseDBService,
+            mockReleaseDBService,
+            new CurrentReleaseCacheService(new CacheConfiguration(0, 0L, 0L, 0L)),
+            new ReleaseListCacheService(new ListCacheConfiguration(0L, 0L)),
+            new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(0)),
+            new CompressionService(new CompressionConfiguration(false, 0)),
+            new ReleaseETagService());
 
     @BeforeEach
     void resetMocks() {
-        reset(mockReleaseDBService, mockReleaseOptInfoDBService);
+        reset(mockReleaseDBService);
     }
 
     @Nested
@@ -40,9 +55,9 @@ class ReleaseAccessServiceTest {
 
         @Test
         void get() {
-            final var id = BigInteger.ONE;
+            final var id = 1L;
             final var timestamp = Instant.now();
-            final var zuluEpochNanos = zuluEpochMicrosOf(timestamp);
+            final var zuluEpochMicros = ZuluEpochMicros.of(timestamp);
 
             final var testReleaseName = "test-release-name";
             final var testDescription = "test-description";
@@ -50,19 +65,21 @@ class ReleaseAccessServiceTest {
             final var testResponsibility = "test-responsibility";
             final var testBuildLocation = "test-build-location";
 
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, timestamp, id)));
-            when(mockReleaseOptInfoDBService.releaseNameById(id))
-                    .thenReturn(Result.of(new ReleaseName(id, testReleaseName)));
-            when(mockReleaseOptInfoDBService.descriptionById(id))
-                    .thenReturn(Result.of(new Description(id, testDescription)));
-            when(mockReleaseOptInfoDBService.changesById(id)).thenReturn(Result.of(new Changes(id, testChanges)));
-            when(mockReleaseOptInfoDBService.responsibilityById(id))
-                    .thenReturn(Result.of(new Responsibility(id, testResponsibility)));
-            when(mockReleaseOptInfoDBService.buildLocationById(id))
-                    .thenReturn(Result.of(new BuildLocation(id, testBuildLocation)));
-
-            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, zuluEpochNanos);
+            when(mockReleaseDBService.fullRelease(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(new FullRelease(
+                            id,
+                            TEST_APP,
+                            TEST_ENV,
+                            TEST_VER,
+                            timestamp,
+                            testReleaseName,
+                            testDescription,
+                            testChanges,
+                            testResponsibility,
+                            testBuildLocation,
+                            1L)));
+
+            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, zuluEpochMicros);
             assertTrue(result.isPresent());
             System.out.println(result.get());
 
@@ -70,7 +87,7 @@ class ReleaseAccessServiceTest {
             assertEquals(TEST_APP, response.application());
             assertEquals(TEST_ENV, response.environment());
             assertEquals(TEST_VER, response.version());
-            assertEquals(zuluEpochNanos, response.zuluEpochMicros());
+            assertEquals(zuluEpochMicros, response.zuluEpochMicros());
             assertEquals(testReleaseName, response.releaseName());
             assertEquals(testDescription, response.description());
             assertEquals(testChanges, response.changes());
@@ -81,19 +98,15 @@ class ReleaseAccessServiceTest {
 
         @Test
         void get_NoOptionalInfo() {
-            final var id = BigInteger.ONE;
+            final var id = 1L;
             final var timestamp = Instant.now();
-            final var zuluEpochNanos = zuluEpochMicrosOf(timestamp);
+            final var zuluEpochMicros = ZuluEpochMicros.of(timestamp);
 
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, timestamp, id)));
-            when(mockReleaseOptInfoDBService.releaseNameById(id)).thenReturn(Result.empty());
-            when(mockReleaseOptInfoDBService.descriptionById(id)).thenReturn(Result.empty());
-            when(mockReleaseOptInfoDBService.changesById(id)).thenReturn(Result.empty());
-            when(mockReleaseOptInfoDBService.responsibilityById(id)).thenReturn(Result.empty());
-            when(mockReleaseOptInfoDBService.buildLocationById(id)).thenReturn(Result.empty());
+            when(mockReleaseDBService.fullRelease(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(new FullRelease(
+                            id, TEST_APP, TEST_ENV, TEST_VER, timestamp, null, null, null, null, null, 1L)));
 
-            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, zuluEpochNanos);
+            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, zuluEpochMicros);
             assertTrue(result.isPresent());
             System.out.println(result.get());
 
@@ -101,7 +114,7 @@ class ReleaseAccessServiceTest {
             assertEquals(TEST_APP, response.application());
             assertEquals(TEST_ENV, response.environment());
             assertEquals(TEST_VER, response.version());
-            assertEquals(zuluEpochNanos, response.zuluEpochMicros());
+            assertEquals(zuluEpochMicros, response.zuluEpochMicros());
             assertNull(response.releaseName());
             assertNull(response.description());
             assertNull(response.changes());
@@ -110,109 +123,220 @@ class ReleaseAccessServiceTest {
             System.out.println(response);
         }
 
+        @Test
+        void get_SameResponseAsPerOptInfoLookup() {
+            final var id = 1L;
+            final var timestamp = Instant.now();
+            final var release = new Release(TEST_APP, TEST_ENV, TEST_VER, timestamp, id);
+            final var expected = ReleaseResponse.of(
+                    release,
+                    Result.of(new ReleaseName(id, "name")),
+                    Result.empty(),
+                    Result.of(new Changes(id, "changes")),
+                    Result.of(new Responsibility(id, "resp")),
+                    Result.empty());
+
+            when(mockReleaseDBService.fullRelease(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(new FullRelease(
+                            id, TEST_APP, TEST_ENV, TEST_VER, timestamp, "name", null, "changes", "resp", null, 1L)));
+
+            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, ZuluEpochMicros.of(timestamp));
+            assertTrue(result.isPresent());
+            assertEquals(assertDoesNotThrow(() -> mapper.writeValueAsString(expected)), result.get());
+        }
+
         @Test
         void get_NotInDB() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+            when(mockReleaseDBService.fullRelease(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
                     .thenReturn(Result.empty());
 
-            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, BigInteger.valueOf(12345));
+            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, 12345L);
             assertTrue(result.isEmpty());
         }
 
         @Test
         void get_DBError() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+            when(mockReleaseDBService.fullRelease(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
                     .thenReturn(Result.error());
 
-            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, BigInteger.valueOf(12345));
+            final var result = releaseAccessService.get(TEST_APP, TEST_ENV, TEST_VER, 12345L);
             assertTrue(result.isError());
         }
     }
 
     @Nested
-    class AllTests {
+    class PageTests {
 
         @Test
-        void all() {
-            when(mockReleaseDBService.fullReleases()).thenReturn(Result.of(testFullReleases()));
+        void page() {
+            final var releaseQuery = ReleaseQuery.byApplication(TEST_APP).page(new PageParameters(2, null));
+            when(mockReleaseDBService.fullReleasesPage(releaseQuery)).thenReturn(Result.of(testFullReleases()));
 
-            final var result = releaseAccessService.all();
+            final var result = releaseAccessService.page(releaseQuery);
             assertTrue(result.isPresent());
+
+            final var response = assertDoesNotThrow(() -> mapper.readValue(result.get(), ReleasePageResponse.class));
+            assertEquals(2, response.releases().size());
+            assertNull(response.next());
         }
 
         @Test
-        void all_DBEmpty() {
-            when(mockReleaseDBService.fullReleases()).thenReturn(Result.empty());
+        void page_HasNext() {
+            final var releaseQuery = ReleaseQuery.all().page(new PageParameters(1, null));
+            final var fullReleases = testFullReleases();
+            when(mockReleaseDBService.fullReleasesPage(releaseQuery)).thenReturn(Result.of(fullReleases));
+
+            final var result = releaseAccessService.page(releaseQuery);
+            assertTrue(result.isPresent());
 
-            final var result = releaseAccessService.all();
+            final var response = assertDoesNotThrow(() -> mapper.readValue(result.get(), ReleasePageResponse.class));
+            assertEquals(1, response.releases().size());
+            assertEquals(ReleaseCursor.of(fullReleases.getFirst()).value(), response.next());
+        }
+
+        @Test
+        void page_DBEmpty() {
+            final var releaseQuery = ReleaseQuery.all().page(new PageParameters(1, null));
+            when(mockReleaseDBService.fullReleasesPage(releaseQuery)).thenReturn(Result.of(List.of()));
+
+            final var result = releaseAccessService.page(releaseQuery);
             assertTrue(result.isEmpty());
         }
 
         @Test
-        void all_DBError() {
-            when(mockReleaseDBService.fullReleases()).thenReturn(Result.error());
+        void page_DBError() {
+            final var releaseQuery = ReleaseQuery.all().page(new PageParameters(1, null));
+            when(mockReleaseDBService.fullReleasesPage(releaseQuery)).thenReturn(Result.error());
 
-            final var result = releaseAccessService.all();
+            final var result = releaseAccessService.page(releaseQuery);
             assertTrue(result.isError());
         }
     }
 
     @Nested
-    class AllByApplicationTests {
+    class StreamTests {
 
         @Test
-        void allByApplication() {
-            when(mockReleaseDBService.fullReleasesByApplication(TEST_APP)).thenReturn(Result.of(testFullReleases()));
-
-            final var result = releaseAccessService.allByApplication(TEST_APP);
+        void stream() {
+            final var releaseQuery = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, TEST_ENV);
+            when(mockReleaseDBService.forEachFullRelease(eq(releaseQuery), any())).thenAnswer(invocation -> {
+                final Consumer<FullRelease> consumer = invocation.getArgument(1);
+                testFullReleases().forEach(consumer);
+                return Result.of(2L);
+            });
+
+            final var outputStream = new ByteArrayOutputStream();
+            final var result = releaseAccessService.stream(releaseQuery, () -> outputStream);
             assertTrue(result.isPresent());
+
+            final var responses = assertDoesNotThrow(
+                    () -> mapper.readValue(outputStream.toByteArray(), ReleaseResponse[].class));
+            assertEquals(2, responses.length);
         }
 
         @Test
-        void allByApplication_DBEmpty() {
-            when(mockReleaseDBService.fullReleasesByApplication(TEST_APP)).thenReturn(Result.empty());
+        void stream_DBEmpty() {
+            when(mockReleaseDBService.forEachFullRelease(eq(ReleaseQuery.all()), any()))
+                    .thenReturn(Result.empty());
 
-            final var result = releaseAccessService.allByApplication(TEST_APP);
+            final var result = releaseAccessService.stream(ReleaseQuery.all(), () -> fail("No output expected"));
             assertTrue(result.isEmpty());
         }
 
         @Test
-        void allByApplication_DBError() {
-            when(mockReleaseDBService.fullReleasesByApplication(TEST_APP)).thenReturn(Result.error());
+        void stream_DBError() {
+            when(mockReleaseDBService.forEachFullRelease(eq(ReleaseQuery.all()), any()))
+                    .thenReturn(Result.error());
 
-            final var result = releaseAccessService.allByApplication(TEST_APP);
+            final var result = releaseAccessService.stream(ReleaseQuery.all(), () -> fail("No output expected"));
             assertTrue(result.isError());
         }
     }
 
     @Nested
-    class AllByApplicationAndEnvironmentTests {
+    class ListCacheTests {
+
+        private final ReleaseListCacheService releaseListCacheService =
+                new ReleaseListCacheService(new ListCacheConfiguration(1024L * 1024, 1024L * 1024));
+        private final ReleaseDBService mockReplicaReleaseDBService = mock(ReleaseDBService.class);
+        private final ReleaseAccessService cachingReleaseAccessService = new ReleaseAccessService(
+                mockReplicaReleaseDBService,
+                mockReleaseDBService,
+                new CurrentReleaseCacheService(new CacheConfiguration(0, 0L, 0L, 0L)),
+                releaseListCacheService,
+                new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(0)),
+                new CompressionService(new CompressionConfiguration(true, 0)),
+                new ReleaseETagService());
 
         @Test
-        void allByApplication() {
-            when(mockReleaseDBService.fullReleasesByApplicationAndEnvironment(TEST_APP, TEST_ENV))
-                    .thenReturn(Result.of(testFullReleases()));
+        void stream_Cached() {
+            final var releaseQuery = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, TEST_ENV);
+            when(mockReleaseDBService.forEachFullRelease(eq(releaseQuery), any())).thenAnswer(invocation -> {
+                final Consumer<FullRelease> consumer = invocation.getArgument(1);
+                testFullReleases().forEach(consumer);
+                return Result.of(2L);
+            });
+
+            final var firstOutputStream = new ByteArrayOutputStream();
+            assertEquals(Result.of(2L), cachingReleaseAccessService.stream(releaseQuery, () -> firstOutputStream));
+            final var secondOutputStream = new ByteArrayOutputStream();
+            assertEquals(Result.of(2L), cachingReleaseAccessService.stream(releaseQuery, () -> secondOutputStream));
+
+            assertArrayEquals(firstOutputStream.toByteArray(), secondOutputStream.toByteArray());
+            verify(mockReleaseDBService, times(1)).forEachFullRelease(eq(releaseQuery), any());
+            verifyNoInteractions(mockReplicaReleaseDBService);
+            assertEquals(1L, releaseListCacheService.metrics().hits());
+        }
 
-            final var result = releaseAccessService.allByApplicationAndEnvironment(TEST_APP, TEST_ENV);
-            assertTrue(result.isPresent());
+        @Test
+        void cachedList() throws Exception {
+            final var releaseQuery = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, TEST_ENV);
+            when(mockReleaseDBService.forEachFullRelease(eq(releaseQuery), any())).thenAnswer(invocation -> {
+                final Consumer<FullRelease> consumer = invocation.getArgument(1);
+                testFullReleases().forEach(consumer);
+                return Result.of(2L);
+            });
+            assertTrue(cachingReleaseAccessService.cachedList(releaseQuery, true).isEmpty());
+
+            final var outputStream = new ByteArrayOutputStream();
+            cachingReleaseAccessService.stream(releaseQuery, () -> outputStream);
+            final var cachedList = cachingReleaseAccessService.cachedList(releaseQuery, false);
+            final var gzip = cachingReleaseAccessService.cachedList(releaseQuery, true);
+
+            assertArrayEquals(outputStream.toByteArray(), cachedList.get().json());
+            assertEquals(new ReleaseETagService().of(outputStream.toByteArray()), cachedList.get().etag());
+            try (final var inputStream = new GZIPInputStream(new ByteArrayInputStream(gzip.get().gzip()))) {
+                assertArrayEquals(outputStream.toByteArray(), inputStream.readAllBytes());
+            }
+            assertEquals(cachedList.get().etag(), gzip.get().etag());
+            assertSame(gzip.get().gzip(), cachingReleaseAccessService.cachedList(releaseQuery, true).get().gzip());
+            assertTrue(cachingReleaseAccessService.cachedList(ReleaseQuery.all(), true).isEmpty());
         }
 
         @Test
-        void allByApplication_DBEmpty() {
-            when(mockReleaseDBService.fullReleasesByApplicationAndEnvironment(TEST_APP, TEST_ENV))
-                    .thenReturn(Result.empty());
+        void page_Invalidated() {
+            final var releaseQuery = ReleaseQuery.byApplication(TEST_APP).page(new PageParameters(2, null));
+            when(mockReleaseDBService.fullReleasesPage(releaseQuery)).thenReturn(Result.of(testFullReleases()));
 
-            final var result = releaseAccessService.allByApplicationAndEnvironment(TEST_APP, TEST_ENV);
-            assertTrue(result.isEmpty());
+            final var first = cachingReleaseAccessService.page(releaseQuery);
+            assertSame(first.get(), cachingReleaseAccessService.page(releaseQuery).get());
+
+            releaseListCacheService.invalidate(TEST_APP, TEST_ENV);
+            assertNotSame(first.get(), cachingReleaseAccessService.page(releaseQuery).get());
+            verify(mockReleaseDBService, times(2)).fullReleasesPage(releaseQuery);
+            verifyNoInteractions(mockReplicaReleaseDBService);
         }
 
         @Test
-        void allByApplication_DBError() {
-            when(mockReleaseDBService.fullReleasesByApplicationAndEnvironment(TEST_APP, TEST_ENV))
-                    .thenReturn(Result.error());
+        void page_AllNotCached() {
+            final var releaseQuery = ReleaseQuery.all().page(new PageParameters(2, null));
+            when(mockReplicaReleaseDBService.fullReleasesPage(releaseQuery)).thenReturn(Result.of(testFullReleases()));
 
-            final var result = releaseAccessService.allByApplicationAndEnvironment(TEST_APP, TEST_ENV);
-            assertTrue(result.isError());
+            cachingReleaseAccessService.page(releaseQuery);
+            cachingReleaseAccessService.page(releaseQuery);
+
+            verify(mockReplicaReleaseDBService, times(2)).fullReleasesPage(releaseQuery);
+            assertEquals(0, releaseListCacheService.metrics().entries());
         }
     }
 
@@ -242,6 +366,23 @@ class ReleaseAccessServiceTest {
             final var result = releaseAccessService.currentByApplication(TEST_APP);
             assertTrue(result.isError());
         }
+
+        @Test
+        void currentByApplication_NotFromReplica() {
+            final var mockReplicaReleaseDBService = mock(ReleaseDBService.class);
+            final var cachingReleaseAccessService = new ReleaseAccessService(
+                    mockReplicaReleaseDBService,
+                    mockReleaseDBService,
+                    new CurrentReleaseCacheService(new CacheConfiguration(10, 60_000L, 0L, 0L)),
+                    new ReleaseListCacheService(new ListCacheConfiguration(0L, 0L)),
+                    new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(0)),
+                    new CompressionService(new CompressionConfiguration(false, 0)),
+                    new ReleaseETagService());
+            when(mockReleaseDBService.currentReleaseByApplication(TEST_APP)).thenReturn(Result.of(testFullRelease()));
+
+            assertTrue(cachingReleaseAccessService.currentByApplication(TEST_APP).isPresent());
+            verifyNoInteractions(mockReplicaReleaseDBService);
+        }
     }
 
     @Nested
@@ -277,13 +418,12 @@ class ReleaseAccessServiceTest {
 
     private static FullRelease testFullRelease() {
         return new FullRelease(
-                BigInteger.ONE, TEST_APP, TEST_ENV, TEST_VER, Instant.now(), "test", "test", "test", "test", "test");
+                1L, TEST_APP, TEST_ENV, TEST_VER, Instant.now(), "test", "test", "test", "test", "test", 1L);
     }
 
-    private static Set<FullRelease> testFullReleases() {
-        return Set.of(
+    private static List<FullRelease> testFullReleases() {
+        return List.of(
                 testFullRelease(),
-                new FullRelease(
-                        BigInteger.TWO, TEST_APP, TEST_ENV, TEST_VER, Instant.now(), null, null, null, null, null));
+                new FullRelease(2L, TEST_APP, TEST_ENV, TEST_VER, Instant.now(), null, null, null, null, null, 2L));
     }
 }
@@ -3,13 +3,19 @@ package de.iu.bniebes.service.internal;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import de.iu.bniebes.model.db.Release;
+import de.iu.bniebes.configuration.ReleaseIdCacheConfiguration;
+import de.iu.bniebes.model.OptInfo;
+import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.model.db.OptInfoValue;
+import de.iu.bniebes.model.db.UpsertedRelease;
+import de.iu.bniebes.model.response.ReleaseEvent;
 import de.iu.bniebes.model.result.Result;
 import de.iu.bniebes.service.external.db.ReleaseDBService;
 import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
-import de.iu.bniebes.util.TimestampUtils;
-import java.math.BigInteger;
+import de.iu.bniebes.util.ZuluEpochMicros;
 import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -23,12 +29,27 @@ class ReleaseCreationServiceTest {
     private final ReleaseDBService mockReleaseDBService = mock(ReleaseDBService.class);
     private final ReleaseOptInfoDBService mockReleaseOptInfoDBService = mock(ReleaseOptInfoDBService.class);
     private final InputSanitizationService spyInputSanitizationService = spy(new InputSanitizationService());
-    private final ReleaseCreationService releaseCreationService =
-            new ReleaseCreationService(mockReleaseDBService, mockReleaseOptInfoDBService, spyInputSanitizationService);
+    private final CacheInvalidationService mockCacheInvalidationService = mock(CacheInvalidationService.class);
+    private final ReleaseReadModelService mockReleaseReadModelService = mock(ReleaseReadModelService.class);
+    private final ReleaseEventService mockReleaseEventService = mock(ReleaseEventService.class);
+    private final ReleaseCreationService releaseCreationService = new ReleaseCreationService(
+            mockReleaseDBService,
+            mockReleaseOptInfoDBService,
+            spyInputSanitizationService,
+            mockCacheInvalidationService,
+            new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(1024)),
+            mockReleaseReadModelService,
+            mockReleaseEventService);
 
     @BeforeEach
     void resetMocks() {
-        reset(mockReleaseDBService);
+        reset(mockReleaseDBService, mockCacheInvalidationService, mockReleaseReadModelService, mockReleaseEventService);
+        when(mockReleaseOptInfoDBService.upsertAll(anyCollection())).thenReturn(Result.of(List.of()));
+    }
+
+    private static FullRelease fullRelease(final long id, final String releaseName, final long revision) {
+        return new FullRelease(
+                id, TEST_APP, TEST_ENV, TEST_VER, Instant.now(), releaseName, null, null, null, null, revision);
     }
 
     @Nested
@@ -37,10 +58,17 @@ class ReleaseCreationServiceTest {
         @Test
         void create() {
             when(mockReleaseDBService.insert(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(BigInteger.ONE));
+                    .thenReturn(Result.of(fullRelease(1L, null, 1L)));
 
             final var result = releaseCreationService.create(TEST_APP, TEST_ENV, TEST_VER);
             verify(mockReleaseDBService, times(1)).insert(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any());
+            verify(mockCacheInvalidationService, times(1)).invalidate(TEST_APP, TEST_ENV);
+            verify(mockReleaseReadModelService, times(1))
+                    .put(argThat(fullRelease -> fullRelease.id() == 1L && TEST_APP.equals(fullRelease.application())));
+            verify(mockReleaseEventService, times(1))
+                    .publish(argThat(event -> ReleaseEvent.CREATED.equals(event.type())
+                            && TEST_VER.equals(event.version())
+                            && Objects.nonNull(event.zuluEpochMicros())));
             assertTrue(result.isPresent());
         }
 
@@ -51,6 +79,7 @@ class ReleaseCreationServiceTest {
 
             final var result = releaseCreationService.create(TEST_APP, TEST_ENV, TEST_VER);
             verify(mockReleaseDBService, times(1)).insert(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any());
+            verifyNoInteractions(mockReleaseEventService);
             assertTrue(result.isError());
         }
     }
@@ -58,15 +87,15 @@ class ReleaseCreationServiceTest {
     @Nested
     class CreateOrUpdateTests {
 
-        private static final BigInteger TEST_TIMESTAMP = BigInteger.valueOf(1724704455312088L);
-        private static final Instant TEST_TIMESTAMP_INSTANT = TimestampUtils.instantOf(TEST_TIMESTAMP);
-        private static final BigInteger TEST_ID = BigInteger.ONE;
+        private static final long TEST_TIMESTAMP = 1724704455312088L;
+        private static final Instant TEST_TIMESTAMP_INSTANT = ZuluEpochMicros.toInstant(TEST_TIMESTAMP);
+        private static final long TEST_ID = 1L;
         private static final String NO_OPT_INFO = "";
         private static final String EMPTY_OPT_INFO = "{}";
 
         @Test
         void createOrUpdate_releaseDBError() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
                     .thenReturn(Result.error());
 
             final var result = assertDoesNotThrow(() ->
@@ -79,10 +108,8 @@ class ReleaseCreationServiceTest {
 
         @Test
         void createOrUpdate_creatRelease_NoOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(Result.empty());
-            when(mockReleaseDBService.insert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(Result.of(TEST_ID));
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(createdResult());
 
             final var result = assertDoesNotThrow(() ->
                     releaseCreationService.createOrUpdate(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, NO_OPT_INFO));
@@ -90,16 +117,17 @@ class ReleaseCreationServiceTest {
             assertTrue(result.get().created());
             assertFalse(result.get().jsonResponse().isBlank());
 
+            verify(mockCacheInvalidationService, times(1)).invalidate(TEST_APP, TEST_ENV);
+            verify(mockReleaseEventService, times(1))
+                    .publish(ReleaseEvent.created(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP));
             verifyNoInteractions(spyInputSanitizationService);
             verifyNoInteractions(mockReleaseOptInfoDBService);
         }
 
         @Test
         void createOrUpdate_creatRelease_EmptyOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(Result.empty());
-            when(mockReleaseDBService.insert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(Result.of(TEST_ID));
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(createdResult());
 
             final var result = assertDoesNotThrow(() -> releaseCreationService.createOrUpdate(
                     TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, EMPTY_OPT_INFO));
@@ -113,10 +141,8 @@ class ReleaseCreationServiceTest {
 
         @Test
         void createOrUpdate_createRelease_FullOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(Result.empty());
-            when(mockReleaseDBService.insert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(Result.of(TEST_ID));
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(createdResult());
 
             final var result = assertDoesNotThrow(() ->
                     releaseCreationService.createOrUpdate(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, fullOptInfo()));
@@ -129,10 +155,8 @@ class ReleaseCreationServiceTest {
 
         @Test
         void createOrUpdate_createRelease_PartialOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(Result.empty());
-            when(mockReleaseDBService.insert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(Result.of(TEST_ID));
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(createdResult());
 
             final var result = assertDoesNotThrow(() -> releaseCreationService.createOrUpdate(
                     TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, partialOptInfo()));
@@ -143,10 +167,37 @@ class ReleaseCreationServiceTest {
             verifyPartialOptInfo();
         }
 
+        @Test
+        void createOrUpdate_createRelease_OptInfoDBError() {
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(createdResult());
+            when(mockReleaseOptInfoDBService.upsertAll(anyCollection())).thenReturn(Result.error());
+
+            final var result = assertDoesNotThrow(() ->
+                    releaseCreationService.createOrUpdate(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, fullOptInfo()));
+            assertTrue(result.isError());
+        }
+
+        @Test
+        void createOrUpdate_cachedRelease_FullOptInfo() {
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(createdResult());
+
+            assertDoesNotThrow(() ->
+                    releaseCreationService.createOrUpdate(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, NO_OPT_INFO));
+            final var result = assertDoesNotThrow(() ->
+                    releaseCreationService.createOrUpdate(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, fullOptInfo()));
+            assertTrue(result.isPresent());
+            assertFalse(result.get().created());
+
+            verify(mockReleaseDBService, times(1)).upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT);
+            verifyFullOptInfo();
+        }
+
         @Test
         void createOrUpdate_updateRelease_FullOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(releaseResult());
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(existingResult());
 
             final var result = assertDoesNotThrow(() ->
                     releaseCreationService.createOrUpdate(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, fullOptInfo()));
@@ -155,13 +206,31 @@ class ReleaseCreationServiceTest {
             assertFalse(result.get().jsonResponse().isBlank());
 
             verify(mockReleaseDBService, never()).insert(any(), any(), any(), any());
+            verify(mockReleaseEventService, times(1))
+                    .publish(ReleaseEvent.updated(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP));
             verifyFullOptInfo();
         }
 
+        @Test
+        void createOrUpdate_updateRelease_ReadModel() {
+            final var existing = fullRelease(TEST_ID, null, 2L);
+            final var updated = fullRelease(TEST_ID, "name", 3L);
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(Result.of(new UpsertedRelease(TEST_ID, false, existing)));
+            when(mockReleaseOptInfoDBService.upsertAll(anyCollection())).thenReturn(Result.of(List.of(updated)));
+
+            final var result = assertDoesNotThrow(() -> releaseCreationService.createOrUpdate(
+                    TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, partialOptInfo()));
+            assertTrue(result.isPresent());
+
+            verify(mockReleaseReadModelService, times(1)).put(existing);
+            verify(mockReleaseReadModelService, times(1)).putAll(List.of(updated));
+        }
+
         @Test
         void createOrUpdate_updateRelease_PartialOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(releaseResult());
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(existingResult());
 
             final var result = assertDoesNotThrow(() -> releaseCreationService.createOrUpdate(
                     TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, partialOptInfo()));
@@ -175,8 +244,8 @@ class ReleaseCreationServiceTest {
 
         @Test
         void createOrUpdate_createOrUpdate_updateRelease_NoOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(releaseResult());
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(existingResult());
 
             final var result = assertDoesNotThrow(() ->
                     releaseCreationService.createOrUpdate(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, NO_OPT_INFO));
@@ -185,14 +254,15 @@ class ReleaseCreationServiceTest {
             assertFalse(result.get().jsonResponse().isBlank());
 
             verify(mockReleaseDBService, never()).insert(any(), any(), any(), any());
+            verifyNoInteractions(mockReleaseEventService);
             verifyNoInteractions(spyInputSanitizationService);
             verifyNoInteractions(mockReleaseOptInfoDBService);
         }
 
         @Test
         void createOrUpdate_createOrUpdate_updateRelease_EmptyOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(releaseResult());
+            when(mockReleaseDBService.upsert(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
+                    .thenReturn(existingResult());
 
             final var result = assertDoesNotThrow(() -> releaseCreationService.createOrUpdate(
                     TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, EMPTY_OPT_INFO));
@@ -207,9 +277,6 @@ class ReleaseCreationServiceTest {
 
         @Test
         void createOrUpdate_createOrUpdate_updateRelease_InvalidJsonOptInfo() {
-            when(mockReleaseDBService.release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT))
-                    .thenReturn(releaseResult());
-
             final var invalidJson =
                     """
                     {
@@ -221,7 +288,7 @@ class ReleaseCreationServiceTest {
                     releaseCreationService.createOrUpdate(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP, invalidJson));
             assertTrue(result.isError());
 
-            verify(mockReleaseDBService, never()).insert(any(), any(), any(), any());
+            verify(mockReleaseDBService, never()).upsert(any(), any(), any(), any());
             verifyNoInteractions(spyInputSanitizationService);
             verifyNoInteractions(mockReleaseOptInfoDBService);
         }
@@ -240,11 +307,13 @@ class ReleaseCreationServiceTest {
 
         private void verifyFullOptInfo() {
             verify(spyInputSanitizationService, times(5)).safeString(any());
-            verify(mockReleaseOptInfoDBService, times(1)).insertReleaseName(TEST_ID, "name");
-            verify(mockReleaseOptInfoDBService, times(1)).insertDescription(TEST_ID, "desc");
-            verify(mockReleaseOptInfoDBService, times(1)).insertChanges(TEST_ID, "change");
-            verify(mockReleaseOptInfoDBService, times(1)).insertResponsibility(TEST_ID, "resp");
-            verify(mockReleaseOptInfoDBService, times(1)).insertBuildLocation(TEST_ID, "loc");
+            verify(mockReleaseOptInfoDBService, times(1))
+                    .upsertAll(List.of(
+                            new OptInfoValue(TEST_ID, OptInfo.RELEASE_NAME, "name"),
+                            new OptInfoValue(TEST_ID, OptInfo.DESCRIPTION, "desc"),
+                            new OptInfoValue(TEST_ID, OptInfo.CHANGES, "change"),
+                            new OptInfoValue(TEST_ID, OptInfo.RESPONSIBILITY, "resp"),
+                            new OptInfoValue(TEST_ID, OptInfo.BUILD_LOCATION, "loc")));
         }
 
         private String partialOptInfo() {
@@ -258,15 +327,18 @@ class ReleaseCreationServiceTest {
 
         private void verifyPartialOptInfo() {
             verify(spyInputSanitizationService, times(2)).safeString(any());
-            verify(mockReleaseOptInfoDBService, times(1)).insertReleaseName(TEST_ID, "name");
-            verify(mockReleaseOptInfoDBService, never()).insertDescription(TEST_ID, "desc");
-            verify(mockReleaseOptInfoDBService, never()).insertChanges(TEST_ID, "change");
-            verify(mockReleaseOptInfoDBService, times(1)).insertResponsibility(TEST_ID, "resp");
-            verify(mockReleaseOptInfoDBService, never()).insertBuildLocation(TEST_ID, "loc");
+            verify(mockReleaseOptInfoDBService, times(1))
+                    .upsertAll(List.of(
+                            new OptInfoValue(TEST_ID, OptInfo.RELEASE_NAME, "name"),
+                            new OptInfoValue(TEST_ID, OptInfo.RESPONSIBILITY, "resp")));
+        }
+
+        private Result<UpsertedRelease> createdResult() {
+            return Result.of(new UpsertedRelease(TEST_ID, true, fullRelease(TEST_ID, null, 1L)));
         }
 
-        private Result<Release> releaseResult() {
-            return Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, TEST_TIMESTAMP_INSTANT, TEST_ID));
+        private Result<UpsertedRelease> existingResult() {
+            return Result.of(new UpsertedRelease(TEST_ID, false, fullRelease(TEST_ID, null, 2L)));
         }
     }
 }
@@ -0,0 +1,32 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ReleaseETagServiceTest {
+
+    private static final String TEST_JSON = "{\"application\":\"test-app\",\"environment\":\"test-env\"}";
+    private static final String OTHER_JSON = "{\"application\":\"test-app\",\"environment\":\"other-env\"}";
+
+    private final ReleaseETagService releaseETagService = new ReleaseETagService();
+
+    @Test
+    void sameBody() {
+        final var etag = releaseETagService.of(TEST_JSON);
+
+        assertTrue(etag.matches("^\"[0-9a-f]{32}\"$"));
+        assertEquals(etag, releaseETagService.of(TEST_JSON.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void otherBody() {
+        assertNotEquals(releaseETagService.of(TEST_JSON), releaseETagService.of(OTHER_JSON));
+    }
+
+    @Test
+    void otherInstance() {
+        assertEquals(releaseETagService.of(TEST_JSON), new ReleaseETagService().of(TEST_JSON));
+    }
+}
@@ -0,0 +1,97 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.configuration.StreamConfiguration;
+import de.iu.bniebes.model.response.ReleaseEvent;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class ReleaseEventServiceTest {
+
+    private static final String TEST_APP = "test-app";
+    private static final String TEST_ENV = "test-env";
+    private static final String TEST_VER = "test-ver";
+    private static final long TEST_ZEU = 1724704455312088L;
+
+    private final ReleaseEventService releaseEventService = new ReleaseEventService(new StreamConfiguration(2, 3, 10L));
+
+    @Test
+    void publish() throws Exception {
+        try (final var all = releaseEventService.subscribe(null, null).orElseThrow();
+                final var app = releaseEventService.subscribe(TEST_APP, null).orElseThrow();
+                final var env = releaseEventService.subscribe(TEST_APP, TEST_ENV).orElseThrow()) {
+            releaseEventService.publish(ReleaseEvent.created(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU));
+
+            final var frame = new String(all.next(), StandardCharsets.UTF_8);
+            assertTrue(frame.startsWith("event: created\ndata: {"));
+            assertTrue(frame.contains("\"version\":\"test-ver\""));
+            assertTrue(frame.endsWith("}\n\n"));
+            assertArrayEquals(frame.getBytes(StandardCharsets.UTF_8), app.next());
+            assertArrayEquals(frame.getBytes(StandardCharsets.UTF_8), env.next());
+            assertEquals(3L, releaseEventService.metrics().delivered());
+        }
+        assertEquals(0L, releaseEventService.metrics().subscribers());
+    }
+
+    @Test
+    void publish_NotMatching() throws Exception {
+        try (final var otherApp = releaseEventService.subscribe("other-app", null).orElseThrow();
+                final var otherEnv = releaseEventService.subscribe(TEST_APP, "other-env").orElseThrow()) {
+            releaseEventService.publish(ReleaseEvent.created(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU));
+
+            assertNull(otherApp.next());
+            assertNull(otherEnv.next());
+            assertEquals(1L, releaseEventService.metrics().published());
+            assertEquals(0L, releaseEventService.metrics().delivered());
+        }
+    }
+
+    @Test
+    void publish_Changed_All() throws Exception {
+        try (final var app = releaseEventService.subscribe(TEST_APP, TEST_ENV).orElseThrow();
+                final var otherApp = releaseEventService.subscribe("other-app", null).orElseThrow()) {
+            releaseEventService.publish(ReleaseEvent.changed(null, null));
+
+            assertTrue(new String(app.next(), StandardCharsets.UTF_8).startsWith("event: changed\n"));
+            assertTrue(new String(otherApp.next(), StandardCharsets.UTF_8).startsWith("event: changed\n"));
+        }
+    }
+
+    @Test
+    void publish_SlowSubscriber_Dropped() throws Exception {
+        try (final var slow = releaseEventService.subscribe(TEST_APP, null).orElseThrow()) {
+            for (int i = 0; i < 3; i++) {
+                releaseEventService.publish(ReleaseEvent.created(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU + i));
+            }
+
+            assertNotNull(slow.next());
+            assertTrue(slow.dropped());
+            final var metrics = releaseEventService.metrics();
+            assertEquals(0L, metrics.subscribers());
+            assertEquals(2L, metrics.delivered());
+            assertEquals(1L, metrics.dropped());
+        }
+    }
+
+    @Test
+    void subscribe_Maximum() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(releaseEventService.subscribe(TEST_APP, null).isPresent());
+        }
+
+        assertTrue(releaseEventService.subscribe(TEST_APP, null).isEmpty());
+        assertEquals(1L, releaseEventService.metrics().rejected());
+    }
+
+    @Test
+    void close() throws Exception {
+        final var subscription = releaseEventService.subscribe(TEST_APP, null).orElseThrow();
+
+        releaseEventService.close();
+
+        assertNotNull(subscription.next());
+        assertTrue(subscription.dropped());
+        assertEquals(0L, releaseEventService.metrics().subscribers());
+    }
+}
@@ -0,0 +1,64 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.iu.bniebes.model.parameter.BulkFormat;
+import de.iu.bniebes.model.parameter.ExportParameters;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReleaseExportDBService;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ReleaseExportServiceTest {
+
+    private static final ExportParameters TEST_PARAMETERS =
+            new ExportParameters(null, null, null, null, BulkFormat.NDJSON);
+
+    private final ReleaseExportDBService mockReleaseExportDBService = mock(ReleaseExportDBService.class);
+    private final ReleaseExportService releaseExportService = new ReleaseExportService(mockReleaseExportDBService);
+
+    private final ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+    private final AtomicInteger opened = new AtomicInteger();
+
+    @Test
+    void export() {
+        when(mockReleaseExportDBService.export(eq(TEST_PARAMETERS), any())).thenAnswer(invocation -> {
+            final OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("{}\n".getBytes(StandardCharsets.UTF_8));
+            outputStream.write("{}\n".getBytes(StandardCharsets.UTF_8));
+            return Result.of(2L);
+        });
+
+        final var result = releaseExportService.export(TEST_PARAMETERS, this::openResponseStream);
+        assertEquals(Result.of(2L), result);
+        assertEquals(1, opened.get());
+        assertEquals("{}\n{}\n", responseStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void export_NothingWritten() {
+        when(mockReleaseExportDBService.export(eq(TEST_PARAMETERS), any())).thenReturn(Result.of(0L));
+
+        final var result = releaseExportService.export(TEST_PARAMETERS, this::openResponseStream);
+        assertTrue(result.isEmpty());
+        assertEquals(0, opened.get());
+    }
+
+    @Test
+    void export_DBError() {
+        when(mockReleaseExportDBService.export(eq(TEST_PARAMETERS), any())).thenReturn(Result.error());
+
+        final var result = releaseExportService.export(TEST_PARAMETERS, this::openResponseStream);
+        assertTrue(result.isError());
+        assertEquals(0, opened.get());
+    }
+
+    private OutputStream openResponseStream() {
+        opened.incrementAndGet();
+        return responseStream;
+    }
+}
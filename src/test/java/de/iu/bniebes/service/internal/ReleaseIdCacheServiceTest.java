@@ -0,0 +1,60 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.configuration.ReleaseIdCacheConfiguration;
+import java.util.OptionalLong;
+import org.junit.jupiter.api.Test;
+
+class ReleaseIdCacheServiceTest {
+
+    private static final String TEST_APP = "test-app";
+    private static final String TEST_ENV = "test-env";
+    private static final String TEST_VER = "test-ver";
+    private static final long TEST_ZEU = 1724704455312088L;
+
+    private final ReleaseIdCacheService releaseIdCacheService =
+            new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(1000));
+
+    @Test
+    void get() {
+        releaseIdCacheService.put(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU, 42L);
+
+        assertEquals(OptionalLong.of(42L), releaseIdCacheService.get(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU));
+        assertEquals(1L, releaseIdCacheService.metrics().hits());
+    }
+
+    @Test
+    void get_OtherKey() {
+        releaseIdCacheService.put(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU, 42L);
+
+        assertTrue(releaseIdCacheService.get(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU + 1).isEmpty());
+        assertTrue(releaseIdCacheService.get(TEST_APP, TEST_ENV, "other-ver", TEST_ZEU).isEmpty());
+        assertEquals(2L, releaseIdCacheService.metrics().misses());
+    }
+
+    @Test
+    void slots_PowerOfTwo() {
+        assertEquals(1024, releaseIdCacheService.metrics().slots());
+        assertEquals(1, new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(1)).metrics().slots());
+    }
+
+    @Test
+    void disabled() {
+        final var disabledReleaseIdCacheService = new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(0));
+        disabledReleaseIdCacheService.put(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU, 42L);
+
+        assertTrue(disabledReleaseIdCacheService.get(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU).isEmpty());
+    }
+
+    @Test
+    void put_Collision() {
+        final var singleSlotReleaseIdCacheService = new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(1));
+        singleSlotReleaseIdCacheService.put(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU, 1L);
+        singleSlotReleaseIdCacheService.put(TEST_APP, TEST_ENV, "other-ver", TEST_ZEU, 2L);
+
+        assertTrue(singleSlotReleaseIdCacheService.get(TEST_APP, TEST_ENV, TEST_VER, TEST_ZEU).isEmpty());
+        assertEquals(
+                OptionalLong.of(2L), singleSlotReleaseIdCacheService.get(TEST_APP, TEST_ENV, "other-ver", TEST_ZEU));
+    }
+}
@@ -0,0 +1,146 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.model.db.ImportedReleases;
+import de.iu.bniebes.model.db.ReleaseImport;
+import de.iu.bniebes.model.parameter.BulkFormat;
+import de.iu.bniebes.model.response.ReleaseImportResponse;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReleaseImportDBService;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ReleaseImportServiceTest {
+
+    private static final long TEST_ZEU = 1724704455312088L;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ReleaseImportDBService mockReleaseImportDBService = mock(ReleaseImportDBService.class);
+    private final ReleaseImportService releaseImportService = new ReleaseImportService(
+            mockReleaseImportDBService, new InputSanitizationService(), mock(CacheInvalidationService.class));
+
+    private final List<ReleaseImport> imported = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        imported.clear();
+        when(mockReleaseImportDBService.importReleases(any())).thenAnswer(invocation -> {
+            final Iterator<ReleaseImport> releaseImports = invocation.getArgument(0);
+            releaseImports.forEachRemaining(imported::add);
+            return Result.of(new ImportedReleases(imported.size(), imported.size()));
+        });
+    }
+
+    @Nested
+    class NdjsonTests {
+
+        @Test
+        void importReleases() throws Exception {
+            final var body =
+                    """
+                    {"application":"app","environment":"env","version":"1.0.0","zuluEpochMicros":1724704455312088,"releaseName":"name"}
+
+                    {"application":"app","environment":"env","version":"1.0.1","zuluEpochMicros":"1724704455312089"}
+                    """;
+
+            final var result = releaseImportService.importReleases(stream(body), BulkFormat.NDJSON);
+            assertTrue(result.isPresent());
+            final var response = mapper.readValue(result.get(), ReleaseImportResponse.class);
+            assertEquals(2L, response.imported());
+            assertEquals(0L, response.rejected());
+
+            assertEquals(2, imported.size());
+            assertEquals(
+                    new ReleaseImport(
+                            "app", "env", "1.0.0", ZuluEpochMicros.toInstant(TEST_ZEU), "name", null, null, null, null),
+                    imported.getFirst());
+            assertEquals("1.0.1", imported.getLast().version());
+        }
+
+        @Test
+        void importReleases_RejectedLines() throws Exception {
+            final var body =
+                    """
+                    {"application":"app","environment":"env","version":"1.0.0","zuluEpochMicros":1724704455312088}
+                    {"application":"app<script>","environment":"env","version":"1.0.0","zuluEpochMicros":1}
+                    not json
+                    {"application":"app","environment":"env","version":"1.0.0"}
+                    {"application":"app","environment":"env","version":"1.0.0","zuluEpochMicros":1,"changes":"$(rm)"}
+                    """;
+
+            final var result = releaseImportService.importReleases(stream(body), BulkFormat.NDJSON);
+            assertTrue(result.isPresent());
+            final var response = mapper.readValue(result.get(), ReleaseImportResponse.class);
+            assertEquals(1L, response.imported());
+            assertEquals(4L, response.rejected());
+            assertEquals(List.of(2L, 3L, 4L, 5L), response.rejectedLines());
+        }
+
+        @Test
+        void importReleases_DBError() {
+            when(mockReleaseImportDBService.importReleases(any())).thenReturn(Result.error());
+
+            final var result = releaseImportService.importReleases(stream(""), BulkFormat.NDJSON);
+            assertTrue(result.isError());
+        }
+    }
+
+    @Nested
+    class CsvTests {
+
+        @Test
+        void importReleases() throws Exception {
+            final var body =
+                    """
+                    version,application,environment,zuluEpochMicros,description
+                    1.0.0,app,env,1724704455312088,"first, release"
+                    1.0.1,app,env,1724704455312088,
+                    1.0.2,app,env,"1724704455312088
+                    """;
+
+            final var result = releaseImportService.importReleases(stream(body), BulkFormat.CSV);
+            assertTrue(result.isPresent());
+            final var response = mapper.readValue(result.get(), ReleaseImportResponse.class);
+            assertEquals(2L, response.imported());
+            assertEquals(List.of(4L), response.rejectedLines());
+
+            assertEquals("first, release", imported.getFirst().description());
+            assertNull(imported.getLast().description());
+        }
+
+        @Test
+        void importReleases_MissingColumns() {
+            final var body = """
+                    application,environment,version
+                    app,env,1.0.0
+                    """;
+
+            final var result = releaseImportService.importReleases(stream(body), BulkFormat.CSV);
+            assertTrue(result.isEmpty());
+            verify(mockReleaseImportDBService, never()).importReleases(any());
+        }
+
+        @Test
+        void csvValues() {
+            assertEquals(
+                    List.of("a", "b, c", "d \"e\"", ""),
+                    ReleaseImportService.csvValues("a,\"b, c\",\"d \"\"e\"\"\",").get());
+            assertTrue(ReleaseImportService.csvValues("a,\"b").isEmpty());
+        }
+    }
+
+    private InputStream stream(final String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.configuration.ListCacheConfiguration;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
+import org.junit.jupiter.api.Test;
+
+class ReleaseListCacheServiceTest {
+
+    private static final String TEST_APP = "test-app";
+    private static final String TEST_ENV = "test-env";
+    private static final String TEST_ETAG = "\"test-etag\"";
+
+    private final ReleaseListCacheService releaseListCacheService =
+            new ReleaseListCacheService(new ListCacheConfiguration(10L, 6L));
+
+    @Test
+    void put() {
+        final var releaseQuery = ReleaseQuery.byApplication(TEST_APP);
+        final var cachedList = cachedList(4);
+
+        releaseListCacheService.put(releaseQuery, cachedList, releaseListCacheService.generation());
+
+        assertSame(cachedList, releaseListCacheService.get(releaseQuery).orElseThrow());
+        assertEquals(4L, releaseListCacheService.metrics().bytes());
+    }
+
+    @Test
+    void put_Oversized() {
+        final var releaseQuery = ReleaseQuery.byApplication(TEST_APP);
+
+        releaseListCacheService.put(releaseQuery, cachedList(7), releaseListCacheService.generation());
+
+        assertTrue(releaseListCacheService.get(releaseQuery).isEmpty());
+        assertEquals(1L, releaseListCacheService.metrics().oversized());
+    }
+
+    @Test
+    void put_StaleGeneration() {
+        final var releaseQuery = ReleaseQuery.byApplication(TEST_APP);
+        final var loadGeneration = releaseListCacheService.generation();
+        releaseListCacheService.invalidate("other-app", TEST_ENV);
+
+        releaseListCacheService.put(releaseQuery, cachedList(4), loadGeneration);
+
+        assertTrue(releaseListCacheService.get(releaseQuery).isEmpty());
+    }
+
+    @Test
+    void put_EvictLeastRecentlyUsed() {
+        final var first = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, "env-1");
+        final var second = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, "env-2");
+        final var third = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, "env-3");
+
+        releaseListCacheService.put(first, cachedList(4), releaseListCacheService.generation());
+        releaseListCacheService.put(second, cachedList(4), releaseListCacheService.generation());
+        releaseListCacheService.get(first);
+        releaseListCacheService.put(third, cachedList(4), releaseListCacheService.generation());
+
+        assertTrue(releaseListCacheService.get(first).isPresent());
+        assertTrue(releaseListCacheService.get(second).isEmpty());
+        assertTrue(releaseListCacheService.get(third).isPresent());
+        assertEquals(8L, releaseListCacheService.metrics().bytes());
+        assertEquals(1L, releaseListCacheService.metrics().evictions());
+    }
+
+    @Test
+    void gzip() {
+        final var releaseQuery = ReleaseQuery.byApplication(TEST_APP);
+        releaseListCacheService.put(releaseQuery, cachedList(4), releaseListCacheService.generation());
+        final var gzip = new byte[2];
+
+        assertSame(gzip, releaseListCacheService.gzip(releaseQuery, json -> gzip).orElseThrow().gzip());
+        assertSame(gzip, releaseListCacheService.gzip(releaseQuery, json -> fail()).orElseThrow().gzip());
+        assertEquals(TEST_ETAG, releaseListCacheService.gzip(releaseQuery, json -> fail()).orElseThrow().etag());
+        assertSame(gzip, releaseListCacheService.get(releaseQuery).orElseThrow().gzip());
+        assertEquals(6L, releaseListCacheService.metrics().bytes());
+    }
+
+    @Test
+    void gzip_NotCached() {
+        final var releaseQuery = ReleaseQuery.byApplication(TEST_APP);
+
+        assertTrue(releaseListCacheService.gzip(releaseQuery, json -> fail()).isEmpty());
+        releaseListCacheService.put(releaseQuery, cachedList(4), releaseListCacheService.generation());
+        assertTrue(releaseListCacheService.gzip(releaseQuery, json -> null).isEmpty());
+        assertEquals(0L, releaseListCacheService.metrics().hits());
+    }
+
+    @Test
+    void cached() {
+        final var releaseQuery = ReleaseQuery.byApplication(TEST_APP);
+
+        assertTrue(releaseListCacheService.cached(releaseQuery).isEmpty());
+        releaseListCacheService.put(releaseQuery, cachedList(4), releaseListCacheService.generation());
+        assertEquals(TEST_ETAG, releaseListCacheService.cached(releaseQuery).orElseThrow().etag());
+        assertEquals(1L, releaseListCacheService.metrics().hits());
+        assertEquals(0L, releaseListCacheService.metrics().misses());
+    }
+
+    @Test
+    void invalidate() {
+        final var byApplication = ReleaseQuery.byApplication(TEST_APP);
+        final var byEnvironment = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, TEST_ENV);
+        final var byOtherEnvironment = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, "other-env");
+
+        releaseListCacheService.put(byApplication, cachedList(2), releaseListCacheService.generation());
+        releaseListCacheService.put(byEnvironment, cachedList(2), releaseListCacheService.generation());
+        releaseListCacheService.put(byOtherEnvironment, cachedList(2), releaseListCacheService.generation());
+
+        releaseListCacheService.invalidate(TEST_APP, TEST_ENV);
+
+        assertTrue(releaseListCacheService.get(byApplication).isEmpty());
+        assertTrue(releaseListCacheService.get(byEnvironment).isEmpty());
+        assertTrue(releaseListCacheService.get(byOtherEnvironment).isPresent());
+        assertEquals(2L, releaseListCacheService.metrics().bytes());
+    }
+
+    @Test
+    void cacheable() {
+        assertFalse(releaseListCacheService.cacheable(ReleaseQuery.all()));
+        assertTrue(releaseListCacheService.cacheable(ReleaseQuery.byApplication(TEST_APP)));
+        assertFalse(new ReleaseListCacheService(new ListCacheConfiguration(0L, 0L))
+                .cacheable(ReleaseQuery.byApplication(TEST_APP)));
+    }
+
+    private static ReleaseListCacheService.CachedList cachedList(final int bytes) {
+        return new ReleaseListCacheService.CachedList(new byte[bytes], 1L, TEST_ETAG);
+    }
+}
@@ -0,0 +1,100 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.model.parameter.ReleaseKey;
+import de.iu.bniebes.model.response.ReleaseMultiGetResponse;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReleaseReader;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReleaseMultiGetServiceTest {
+
+    private static final long TEST_ZEU = 1724704455312088L;
+    private static final FullRelease TEST_RELEASE = new FullRelease(
+            1L, "app", "env", "1.0.0", ZuluEpochMicros.toInstant(TEST_ZEU), "name", null, null, null, null, 1L);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ReleaseReader mockReleaseReader = mock(ReleaseReader.class);
+    private final ReleaseMultiGetService releaseMultiGetService =
+            new ReleaseMultiGetService(mockReleaseReader, new InputSanitizationService());
+
+    @Test
+    void multiGet() throws Exception {
+        final var releaseKeys = List.of(
+                new ReleaseKey("app", "env", "1.0.0", ZuluEpochMicros.toInstant(TEST_ZEU)),
+                new ReleaseKey("app", "env", "1.0.1", ZuluEpochMicros.toInstant(TEST_ZEU + 1)));
+        when(mockReleaseReader.fullReleases(releaseKeys)).thenReturn(Result.of(Arrays.asList(TEST_RELEASE, null)));
+        final var body =
+                """
+                {"keys":[
+                  {"application":"app","environment":"env","version":"1.0.0","zuluEpochMicros":1724704455312088},
+                  {"application":"app","environment":"env","version":"1.0.1","zuluEpochMicros":"1724704455312089"}
+                ]}
+                """;
+
+        final var result = releaseMultiGetService.multiGet(stream(body));
+
+        assertTrue(result.isPresent());
+        final var response = mapper.readValue(result.get(), ReleaseMultiGetResponse.class);
+        assertEquals(2, response.releases().size());
+        assertEquals("1.0.0", response.releases().get(0).version());
+        assertEquals("name", response.releases().get(0).releaseName());
+        assertNull(response.releases().get(1));
+        assertEquals(List.of(1), response.missing());
+    }
+
+    @Test
+    void multiGet_InvalidKey() {
+        final var body =
+                """
+                {"keys":[{"application":"app","environment":"env","version":"<script>","zuluEpochMicros":1}]}
+                """;
+
+        assertTrue(releaseMultiGetService.multiGet(stream(body)).isEmpty());
+        verifyNoInteractions(mockReleaseReader);
+    }
+
+    @Test
+    void multiGet_Malformed() {
+        assertTrue(releaseMultiGetService.multiGet(stream("{\"keys\":")).isEmpty());
+        assertTrue(releaseMultiGetService.multiGet(stream("{\"keys\":[]}")).isEmpty());
+        assertTrue(releaseMultiGetService.multiGet(stream("{}")).isEmpty());
+        verifyNoInteractions(mockReleaseReader);
+    }
+
+    @Test
+    void multiGet_TooManyKeys() {
+        final var key = "{\"application\":\"app\",\"environment\":\"env\",\"version\":\"1.0.0\",\"zuluEpochMicros\":1}";
+        final var body = "{\"keys\":[%s]}"
+                .formatted(String.join(",", Collections.nCopies(ReleaseMultiGetService.MAX_KEYS + 1, key)));
+
+        assertTrue(releaseMultiGetService.multiGet(stream(body)).isEmpty());
+        verifyNoInteractions(mockReleaseReader);
+    }
+
+    @Test
+    void multiGet_Error() {
+        when(mockReleaseReader.fullReleases(any())).thenReturn(Result.error());
+        final var body =
+                """
+                {"keys":[{"application":"app","environment":"env","version":"1.0.0","zuluEpochMicros":1}]}
+                """;
+
+        assertTrue(releaseMultiGetService.multiGet(stream(body)).isError());
+    }
+
+    private static InputStream stream(final String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -3,14 +3,15 @@ package de.iu.bniebes.service.internal;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import de.iu.bniebes.configuration.ReleaseIdCacheConfiguration;
 import de.iu.bniebes.model.OptInfo;
-import de.iu.bniebes.model.db.Release;
+import de.iu.bniebes.model.db.FullRelease;
 import de.iu.bniebes.model.parameter.AllParameters;
+import de.iu.bniebes.model.response.ReleaseEvent;
 import de.iu.bniebes.model.result.Result;
 import de.iu.bniebes.service.external.db.ReleaseDBService;
 import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
-import de.iu.bniebes.util.TimestampUtils;
-import java.math.BigInteger;
+import de.iu.bniebes.util.ZuluEpochMicros;
 import java.time.Instant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -22,18 +23,36 @@ class ReleaseOptInfoServiceTest {
     private static final String TEST_ENV = "test-env";
     private static final String TEST_VER = "test-ver";
     private static final Instant TEST_INSTANT = Instant.now();
-    private static final BigInteger TEST_TS = TimestampUtils.zuluEpochMicrosOf(TEST_INSTANT);
+    private static final long TEST_TS = ZuluEpochMicros.of(TEST_INSTANT);
     private static final AllParameters TEST_ALL_PARAMETERS = new AllParameters(TEST_APP, TEST_ENV, TEST_VER, TEST_TS);
-    private static final BigInteger TEST_ID = BigInteger.ONE;
+    private static final long TEST_ID = 1L;
 
     private final ReleaseDBService mockReleaseDBService = mock(ReleaseDBService.class);
     private final ReleaseOptInfoDBService mockReleaseOptInfoDBService = mock(ReleaseOptInfoDBService.class);
-    private final ReleaseOptInfoService releaseOptInfoService =
-            new ReleaseOptInfoService(mockReleaseDBService, mockReleaseOptInfoDBService);
+    private final CacheInvalidationService mockCacheInvalidationService = mock(CacheInvalidationService.class);
+    private final ReleaseReadModelService mockReleaseReadModelService = mock(ReleaseReadModelService.class);
+    private final ReleaseEventService mockReleaseEventService = mock(ReleaseEventService.class);
+    private final ReleaseOptInfoService releaseOptInfoService = new ReleaseOptInfoService(
+            mockReleaseDBService,
+            mockReleaseOptInfoDBService,
+            mockCacheInvalidationService,
+            new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(1024)),
+            mockReleaseReadModelService,
+            mockReleaseEventService);
 
     @BeforeEach
     void resetMocks() {
-        reset(mockReleaseDBService, mockReleaseOptInfoDBService);
+        reset(
+                mockReleaseDBService,
+                mockReleaseOptInfoDBService,
+                mockCacheInvalidationService,
+                mockReleaseReadModelService,
+                mockReleaseEventService);
+    }
+
+    private static FullRelease fullRelease(final String releaseName) {
+        return new FullRelease(
+                TEST_ID, TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT, releaseName, null, null, null, null, 1L);
     }
 
     @Nested
@@ -42,8 +61,8 @@ class ReleaseOptInfoServiceTest {
         @Test
         void optInfo() {
             final var releaseName = "test-release-name";
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT, TEST_ID)));
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(TEST_ID));
             when(mockReleaseOptInfoDBService.stringValueById(TEST_ID, OptInfo.RELEASE_NAME))
                     .thenReturn(Result.of(releaseName));
 
@@ -53,9 +72,38 @@ class ReleaseOptInfoServiceTest {
             assertTrue(result.get().contains(releaseName));
         }
 
+        @Test
+        void optInfo_readModel() {
+            final var releaseName = "test-release-name";
+            when(mockReleaseReadModelService.readable()).thenReturn(true);
+            when(mockReleaseReadModelService.fullRelease(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT))
+                    .thenReturn(Result.of(fullRelease(releaseName)));
+
+            final var result =
+                    assertDoesNotThrow(() -> releaseOptInfoService.optInfo(TEST_ALL_PARAMETERS, OptInfo.RELEASE_NAME));
+            assertTrue(result.isPresent());
+            assertTrue(result.get().contains(releaseName));
+            assertTrue(releaseOptInfoService.optInfo(TEST_ALL_PARAMETERS, OptInfo.DESCRIPTION).isEmpty());
+            verifyNoInteractions(mockReleaseDBService, mockReleaseOptInfoDBService);
+        }
+
+        @Test
+        void optInfo_releaseIdCached() {
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(TEST_ID));
+            when(mockReleaseOptInfoDBService.stringValueById(TEST_ID, OptInfo.CHANGES))
+                    .thenReturn(Result.of("test-changes"));
+
+            assertTrue(releaseOptInfoService.optInfo(TEST_ALL_PARAMETERS, OptInfo.CHANGES).isPresent());
+            assertTrue(releaseOptInfoService.optInfo(TEST_ALL_PARAMETERS, OptInfo.CHANGES).isPresent());
+
+            verify(mockReleaseDBService, times(1)).releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any());
+            verify(mockReleaseOptInfoDBService, times(2)).stringValueById(TEST_ID, OptInfo.CHANGES);
+        }
+
         @Test
         void optInfo_releaseNotFound() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
                     .thenReturn(Result.empty());
 
             final var result =
@@ -67,7 +115,7 @@ class ReleaseOptInfoServiceTest {
 
         @Test
         void optInfo_releaseDBError() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
                     .thenReturn(Result.error());
 
             final var result =
@@ -79,8 +127,8 @@ class ReleaseOptInfoServiceTest {
 
         @Test
         void optInfo_optInfoNotFound() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT, TEST_ID)));
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(TEST_ID));
             when(mockReleaseOptInfoDBService.stringValueById(TEST_ID, OptInfo.RELEASE_NAME))
                     .thenReturn(Result.empty());
 
@@ -91,8 +139,8 @@ class ReleaseOptInfoServiceTest {
 
         @Test
         void optInfo_optInfoDBError() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT, TEST_ID)));
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(TEST_ID));
             when(mockReleaseOptInfoDBService.stringValueById(TEST_ID, OptInfo.RELEASE_NAME))
                     .thenReturn(Result.error());
 
@@ -107,20 +155,24 @@ class ReleaseOptInfoServiceTest {
 
         @Test
         void deleteOptInfo() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT, TEST_ID)));
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(TEST_ID));
             when(mockReleaseOptInfoDBService.deleteValueById(TEST_ID, OptInfo.RELEASE_NAME))
-                    .thenReturn(Result.of(true));
+                    .thenReturn(Result.of(fullRelease(null)));
 
             final var result = assertDoesNotThrow(
                     () -> releaseOptInfoService.deleteOptInfo(TEST_ALL_PARAMETERS, OptInfo.RELEASE_NAME));
             assertTrue(result.isPresent());
             assertTrue(result.get());
+            verify(mockCacheInvalidationService, times(1)).invalidate(TEST_APP, TEST_ENV);
+            verify(mockReleaseReadModelService, times(1)).put(fullRelease(null));
+            verify(mockReleaseEventService, times(1))
+                    .publish(ReleaseEvent.deleted(TEST_APP, TEST_ENV, TEST_VER, TEST_TS, OptInfo.RELEASE_NAME));
         }
 
         @Test
         void deleteOptInfo_releaseNotFound() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
                     .thenReturn(Result.empty());
 
             final var result = assertDoesNotThrow(
@@ -131,7 +183,7 @@ class ReleaseOptInfoServiceTest {
 
         @Test
         void deleteOptInfo_releaseDBError() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
                     .thenReturn(Result.error());
 
             final var result = assertDoesNotThrow(
@@ -142,20 +194,21 @@ class ReleaseOptInfoServiceTest {
 
         @Test
         void deleteOptInfo_optInfoNotFound() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT, TEST_ID)));
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(TEST_ID));
             when(mockReleaseOptInfoDBService.deleteValueById(TEST_ID, OptInfo.RELEASE_NAME))
                     .thenReturn(Result.empty());
 
             final var result = assertDoesNotThrow(
                     () -> releaseOptInfoService.deleteOptInfo(TEST_ALL_PARAMETERS, OptInfo.RELEASE_NAME));
             assertTrue(result.isEmpty());
+            verifyNoInteractions(mockReleaseEventService);
         }
 
         @Test
         void deleteOptInfo_optInfoDBError() {
-            when(mockReleaseDBService.release(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
-                    .thenReturn(Result.of(new Release(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT, TEST_ID)));
+            when(mockReleaseDBService.releaseId(eq(TEST_APP), eq(TEST_ENV), eq(TEST_VER), any()))
+                    .thenReturn(Result.of(TEST_ID));
             when(mockReleaseOptInfoDBService.deleteValueById(TEST_ID, OptInfo.RELEASE_NAME))
                     .thenReturn(Result.error());
 
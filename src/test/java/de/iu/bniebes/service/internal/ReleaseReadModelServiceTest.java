@@ -0,0 +1,402 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import de.iu.bniebes.configuration.ReadModelConfiguration;
+import de.iu.bniebes.model.db.FullRelease;
+import de.iu.bniebes.model.parameter.FilterParameters;
+import de.iu.bniebes.model.parameter.PageParameters;
+import de.iu.bniebes.model.parameter.ReleaseCursor;
+import de.iu.bniebes.model.parameter.ReleaseKey;
+import de.iu.bniebes.model.parameter.ReleaseOrder;
+import de.iu.bniebes.model.parameter.ReleaseQuery;
+import de.iu.bniebes.model.result.Result;
+import de.iu.bniebes.service.external.db.ReadConsistency;
+import de.iu.bniebes.service.external.db.ReleaseDBService;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReleaseReadModelServiceTest {
+
+    private static final String TEST_APP = "test-app";
+    private static final String TEST_ENV = "test-env";
+    private static final String OTHER_ENV = "other-env";
+    private static final String TEST_VER = "test-ver";
+    private static final Instant TEST_INSTANT = Instant.parse("2024-08-26T20:34:15.312088Z");
+
+    private static final FullRelease FIRST = fullRelease(1L, TEST_ENV, TEST_INSTANT);
+    private static final FullRelease SECOND = fullRelease(2L, OTHER_ENV, TEST_INSTANT.plusSeconds(1L));
+    private static final FullRelease THIRD = fullRelease(3L, TEST_ENV, TEST_INSTANT.plusSeconds(2L));
+
+    private final ReleaseDBService mockSource = mock(ReleaseDBService.class);
+    private final ReleaseDBService mockFallback = mock(ReleaseDBService.class);
+    private final ReleaseSnapshotService mockSnapshotService = mock(ReleaseSnapshotService.class);
+    private final ReleaseReadModelService readModelService = new ReleaseReadModelService(
+            new ReadModelConfiguration(true, "", 0L), mockSource, mockFallback, mockSnapshotService);
+
+    @TempDir
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        when(mockSource.writeHorizon()).thenReturn(Result.of(10L));
+        when(mockSource.forEachFullReleaseWrittenSince(anyLong(), any())).thenReturn(Result.empty());
+        when(mockSource.forEachFullRelease(eq(ReleaseQuery.all()), any())).thenAnswer(invocation -> {
+            final Consumer<FullRelease> consumer = invocation.getArgument(1);
+            List.of(THIRD, FIRST, SECOND).forEach(consumer);
+            return Result.of(3L);
+        });
+    }
+
+    @AfterEach
+    void clearReadConsistency() {
+        ReadConsistency.clear();
+    }
+
+    @Test
+    void notLoaded_Fallback() {
+        when(mockFallback.currentReleaseByApplication(TEST_APP)).thenReturn(Result.of(FIRST));
+
+        assertEquals(Result.of(FIRST), readModelService.currentReleaseByApplication(TEST_APP));
+        assertFalse(readModelService.readable());
+        assertEquals(1L, readModelService.metrics().fallbackReads());
+    }
+
+    @Test
+    void reload() {
+        readModelService.reload();
+
+        assertTrue(readModelService.readable());
+        assertEquals(
+                Result.of(SECOND),
+                readModelService.fullRelease(TEST_APP, OTHER_ENV, TEST_VER, SECOND.releaseTimestamp()));
+        assertTrue(readModelService
+                .fullRelease(TEST_APP, TEST_ENV, TEST_VER, SECOND.releaseTimestamp())
+                .isEmpty());
+        assertEquals(Result.of(THIRD), readModelService.currentReleaseByApplication(TEST_APP));
+        assertEquals(
+                Result.of(SECOND), readModelService.currentReleaseByApplicationAndEnvironment(TEST_APP, OTHER_ENV));
+        assertTrue(readModelService.currentReleaseByApplication("other-app").isEmpty());
+        assertEquals(3L, readModelService.metrics().releases());
+        verifyNoInteractions(mockFallback);
+    }
+
+    @Test
+    void fullReleases() {
+        readModelService.reload();
+
+        final var missing = new ReleaseKey(TEST_APP, TEST_ENV, TEST_VER, SECOND.releaseTimestamp());
+        final var result = readModelService.fullReleases(List.of(
+                new ReleaseKey(TEST_APP, OTHER_ENV, TEST_VER, SECOND.releaseTimestamp()),
+                missing,
+                new ReleaseKey(TEST_APP, TEST_ENV, TEST_VER, FIRST.releaseTimestamp())));
+
+        assertEquals(Result.of(Arrays.asList(SECOND, null, FIRST)), result);
+        verifyNoInteractions(mockFallback);
+    }
+
+    @Test
+    void fullReleases_NotLoaded_Fallback() {
+        final var releaseKeys = List.of(new ReleaseKey(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT));
+        when(mockFallback.fullReleases(releaseKeys)).thenReturn(Result.of(List.of(FIRST)));
+
+        assertEquals(Result.of(List.of(FIRST)), readModelService.fullReleases(releaseKeys));
+    }
+
+    @Test
+    void fullReleasesPage() {
+        readModelService.reload();
+
+        final var firstPage = readModelService.fullReleasesPage(page(ReleaseQuery.byApplication(TEST_APP), 2, null));
+        assertEquals(Result.of(List.of(FIRST, SECOND, THIRD)), firstPage);
+
+        final var nextPage = readModelService.fullReleasesPage(
+                page(ReleaseQuery.byApplication(TEST_APP), 2, ReleaseCursor.of(SECOND)));
+        assertEquals(Result.of(List.of(THIRD)), nextPage);
+
+        final var environmentPage = readModelService.fullReleasesPage(
+                page(ReleaseQuery.byApplicationAndEnvironment(TEST_APP, TEST_ENV), 1, null));
+        assertEquals(Result.of(List.of(FIRST, THIRD)), environmentPage);
+    }
+
+    @Test
+    void fullReleasesPage_Filtered() {
+        readModelService.reload();
+        final var byApplication = ReleaseQuery.byApplication(TEST_APP);
+        final var descending = byApplication.filter(new FilterParameters(null, null, null, ReleaseOrder.DESC));
+        final var window = byApplication.filter(
+                new FilterParameters(null, SECOND.releaseTimestamp(), THIRD.releaseTimestamp(), null));
+
+        assertEquals(
+                Result.of(List.of(THIRD, SECOND, FIRST)), readModelService.fullReleasesPage(page(descending, 2, null)));
+        assertEquals(
+                Result.of(List.of(FIRST)),
+                readModelService.fullReleasesPage(page(descending, 2, ReleaseCursor.of(SECOND))));
+        assertEquals(Result.of(List.of(SECOND)), readModelService.fullReleasesPage(page(window, 10, null)));
+        assertEquals(
+                Result.of(List.of(SECOND)),
+                readModelService.fullReleasesPage(page(window, 10, ReleaseCursor.of(FIRST))));
+        assertEquals(
+                Result.of(List.of()),
+                readModelService.fullReleasesPage(page(window, 10, ReleaseCursor.of(SECOND))));
+        assertEquals(
+                Result.of(List.of()),
+                readModelService.fullReleasesPage(page(
+                        byApplication.filter(new FilterParameters(
+                                null, THIRD.releaseTimestamp(), SECOND.releaseTimestamp(), ReleaseOrder.DESC)),
+                        10,
+                        null)));
+    }
+
+    @Test
+    void forEachFullRelease_Filtered() {
+        readModelService.reload();
+        final var otherVersion = new FullRelease(
+                4L, TEST_APP, TEST_ENV, "other-ver", TEST_INSTANT.plusSeconds(3L), null, null, null, null, null, 4L);
+        readModelService.put(otherVersion);
+        final var streamed = new ArrayList<FullRelease>();
+
+        final var byVersion = ReleaseQuery.byApplication(TEST_APP)
+                .filter(new FilterParameters(TEST_VER, null, null, ReleaseOrder.DESC));
+        assertEquals(Result.of(3L), readModelService.forEachFullRelease(byVersion, streamed::add));
+        assertEquals(List.of(THIRD, SECOND, FIRST), streamed);
+
+        streamed.clear();
+        final var byOtherVersion = ReleaseQuery.byApplicationAndEnvironment(TEST_APP, TEST_ENV)
+                .filter(new FilterParameters("other-ver", null, null, null));
+        assertEquals(Result.of(1L), readModelService.forEachFullRelease(byOtherVersion, streamed::add));
+        assertEquals(List.of(otherVersion), streamed);
+    }
+
+    @Test
+    void forEachFullRelease() {
+        readModelService.reload();
+        final var streamed = new ArrayList<FullRelease>();
+
+        assertEquals(Result.of(3L), readModelService.forEachFullRelease(ReleaseQuery.all(), streamed::add));
+        assertEquals(List.of(FIRST, SECOND, THIRD), streamed);
+        assertTrue(readModelService
+                .forEachFullRelease(ReleaseQuery.byApplication("other-app"), streamed::add)
+                .isEmpty());
+    }
+
+    @Test
+    void forEachFullRelease_ConsumerError() {
+        readModelService.reload();
+
+        final var result = readModelService.forEachFullRelease(ReleaseQuery.all(), fullRelease -> {
+            throw new IllegalStateException();
+        });
+        assertTrue(result.isError());
+    }
+
+    @Test
+    void put() {
+        readModelService.reload();
+        final var fourth = fullRelease(4L, TEST_ENV, TEST_INSTANT.plusSeconds(3L));
+
+        readModelService.put(fourth);
+
+        assertEquals(Result.of(fourth), readModelService.currentReleaseByApplicationAndEnvironment(TEST_APP, TEST_ENV));
+        assertEquals(1L, readModelService.metrics().updates());
+    }
+
+    @Test
+    void putAll() {
+        readModelService.reload();
+        final var named = withReleaseName(FIRST, "test-release-name", 11L);
+        final var unknown = fullRelease(99L, TEST_ENV, TEST_INSTANT.plusSeconds(3L));
+
+        readModelService.putAll(List.of(named, unknown));
+        readModelService.putAll(List.of(withReleaseName(FIRST, "stale", 10L)));
+
+        assertEquals(Result.of(named), readModelService.fullRelease(TEST_APP, TEST_ENV, TEST_VER, TEST_INSTANT));
+        assertEquals(
+                Result.of(List.of(named, SECOND, THIRD, unknown)),
+                readModelService.fullReleasesPage(page(ReleaseQuery.byApplication(TEST_APP), 4, null)));
+    }
+
+    @Test
+    void put_OutOfOrder() {
+        readModelService.reload();
+        final var created = fullRelease(4L, TEST_ENV, TEST_INSTANT.plusSeconds(3L));
+        final var named = withReleaseName(created, "test-release-name", created.revision() + 1L);
+
+        readModelService.putAll(List.of(named));
+        readModelService.put(created);
+
+        assertEquals(Result.of(named), readModelService.currentReleaseByApplicationAndEnvironment(TEST_APP, TEST_ENV));
+    }
+
+    @Test
+    void put_DuringReload() {
+        readModelService.reload();
+        final var fourth = fullRelease(4L, TEST_ENV, TEST_INSTANT.plusSeconds(3L));
+        when(mockSource.forEachFullRelease(eq(ReleaseQuery.all()), any())).thenAnswer(invocation -> {
+            final Consumer<FullRelease> consumer = invocation.getArgument(1);
+            readModelService.put(fourth);
+            List.of(THIRD, FIRST, SECOND).forEach(consumer);
+            return Result.of(3L);
+        });
+
+        readModelService.reload();
+
+        assertEquals(Result.of(fourth), readModelService.currentReleaseByApplicationAndEnvironment(TEST_APP, TEST_ENV));
+    }
+
+    @Test
+    void reload_ApplicationAndEnvironment() {
+        readModelService.reload();
+        final var described = new FullRelease(
+                THIRD.id(), TEST_APP, TEST_ENV, TEST_VER, THIRD.releaseTimestamp(), null, "desc", null, null, null, 5L);
+        when(mockSource.forEachFullRelease(eq(ReleaseQuery.byApplicationAndEnvironment(TEST_APP, TEST_ENV)), any()))
+                .thenAnswer(invocation -> {
+                    final Consumer<FullRelease> consumer = invocation.getArgument(1);
+                    consumer.accept(described);
+                    return Result.of(1L);
+                });
+
+        readModelService.reload(TEST_APP, TEST_ENV);
+
+        assertEquals(Result.of(described), readModelService.currentReleaseByApplication(TEST_APP));
+    }
+
+    @Test
+    void reload_Error() {
+        readModelService.reload();
+        when(mockSource.forEachFullRelease(eq(ReleaseQuery.byApplicationAndEnvironment(TEST_APP, TEST_ENV)), any()))
+                .thenReturn(Result.error());
+        when(mockFallback.currentReleaseByApplication(TEST_APP)).thenReturn(Result.of(FIRST));
+
+        readModelService.reload(TEST_APP, TEST_ENV);
+
+        assertFalse(readModelService.readable());
+        assertEquals(Result.of(FIRST), readModelService.currentReleaseByApplication(TEST_APP));
+        assertEquals(1L, readModelService.metrics().reloadErrors());
+    }
+
+    @Test
+    void readConsistencyBypass() {
+        readModelService.reload();
+        ReadConsistency.requireLsn("0/16B3748");
+        when(mockFallback.currentReleaseByApplication(TEST_APP)).thenReturn(Result.of(FIRST));
+
+        assertEquals(Result.of(FIRST), readModelService.currentReleaseByApplication(TEST_APP));
+    }
+
+    @Test
+    void resync() {
+        readModelService.reload();
+        final var fourth = fullRelease(4L, TEST_ENV, TEST_INSTANT.plusSeconds(3L));
+        when(mockSource.writeHorizon()).thenReturn(Result.of(12L));
+        when(mockSource.forEachFullReleaseWrittenSince(eq(10L), any())).thenAnswer(invocation -> {
+            final Consumer<FullRelease> consumer = invocation.getArgument(1);
+            consumer.accept(fourth);
+            return Result.of(1L);
+        });
+
+        readModelService.resync();
+
+        assertEquals(Result.of(fourth), readModelService.currentReleaseByApplication(TEST_APP));
+        verify(mockSource, times(1)).forEachFullRelease(eq(ReleaseQuery.all()), any());
+        verifyNoInteractions(mockSnapshotService);
+    }
+
+    @Test
+    void resync_NotLoaded() {
+        readModelService.resync();
+
+        assertTrue(readModelService.readable());
+        assertEquals(3L, readModelService.metrics().releases());
+        verify(mockSource, never()).forEachFullReleaseWrittenSince(anyLong(), any());
+    }
+
+    @Test
+    void resync_Error() {
+        readModelService.reload();
+        when(mockSource.forEachFullReleaseWrittenSince(eq(10L), any())).thenReturn(Result.error());
+
+        readModelService.resync();
+
+        assertFalse(readModelService.readable());
+        assertEquals(1L, readModelService.metrics().reloadErrors());
+    }
+
+    @Test
+    void snapshotAndRestore() {
+        final var configuration = new ReadModelConfiguration(
+                true, directory.resolve("read-model.snapshot").toString(), Long.MAX_VALUE);
+        final var snapshotService =
+                new ReleaseSnapshotService(Path.of(configuration.snapshotPath()), new StringDictionaryService());
+        try (final var writingReadModelService =
+                new ReleaseReadModelService(configuration, mockSource, mockFallback, snapshotService)) {
+            writingReadModelService.reload();
+            writingReadModelService.snapshot();
+            assertEquals(1L, writingReadModelService.metrics().snapshots());
+        }
+
+        final var fourth = fullRelease(4L, TEST_ENV, TEST_INSTANT.plusSeconds(3L));
+        when(mockSource.forEachFullReleaseWrittenSince(eq(10L), any())).thenAnswer(invocation -> {
+            final Consumer<FullRelease> consumer = invocation.getArgument(1);
+            consumer.accept(fourth);
+            return Result.of(1L);
+        });
+        clearInvocations(mockSource);
+        try (final var restoringReadModelService =
+                new ReleaseReadModelService(configuration, mockSource, mockFallback, snapshotService)) {
+            restoringReadModelService.resync();
+
+            assertEquals(4L, restoringReadModelService.metrics().releases());
+            assertEquals(Result.of(fourth), restoringReadModelService.currentReleaseByApplication(TEST_APP));
+            assertEquals(
+                    Result.of(SECOND),
+                    restoringReadModelService.currentReleaseByApplicationAndEnvironment(TEST_APP, OTHER_ENV));
+            verify(mockSource, never()).forEachFullRelease(any(), any());
+        }
+    }
+
+    @Test
+    void disabled() {
+        final var disabledReadModelService = new ReleaseReadModelService(
+                new ReadModelConfiguration(false, "", 0L), mockSource, mockFallback, mockSnapshotService);
+
+        disabledReadModelService.reload();
+        disabledReadModelService.put(FIRST);
+
+        assertFalse(disabledReadModelService.readable());
+        verifyNoInteractions(mockSource);
+    }
+
+    private static ReleaseQuery page(final ReleaseQuery releaseQuery, final int limit, final ReleaseCursor after) {
+        return releaseQuery.page(new PageParameters(limit, after));
+    }
+
+    private static FullRelease withReleaseName(
+            final FullRelease fullRelease, final String releaseName, final long revision) {
+        return new FullRelease(
+                fullRelease.id(),
+                fullRelease.application(),
+                fullRelease.environment(),
+                fullRelease.version(),
+                fullRelease.releaseTimestamp(),
+                releaseName,
+                null,
+                null,
+                null,
+                null,
+                revision);
+    }
+
+    private static FullRelease fullRelease(final long id, final String environment, final Instant releaseTimestamp) {
+        return new FullRelease(id, TEST_APP, environment, TEST_VER, releaseTimestamp, null, null, null, null, null, id);
+    }
+}
@@ -0,0 +1,91 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import de.iu.bniebes.model.db.FullRelease;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReleaseSnapshotServiceTest {
+
+    private static final Instant TEST_INSTANT = Instant.parse("2024-08-26T20:34:15.312088Z");
+    private static final List<FullRelease> TEST_RELEASES = List.of(
+            new FullRelease(1L, "test-app", "test-env", "1.0.0", TEST_INSTANT, null, null, null, null, null, 0L),
+            new FullRelease(
+                    2L,
+                    "test-app",
+                    "prod",
+                    "1.0.1",
+                    TEST_INSTANT.plusSeconds(1L),
+                    "release-name",
+                    "déscription ✓",
+                    "c".repeat(70_000),
+                    "responsibility",
+                    "build-location",
+                    7L));
+
+    private final StringDictionaryService stringDictionaryService = new StringDictionaryService();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void writeAndRead() {
+        final var snapshotService =
+                new ReleaseSnapshotService(directory.resolve("data/read-model.snapshot"), stringDictionaryService);
+        assertTrue(snapshotService.write(42L, TEST_RELEASES));
+
+        final var restored = new ArrayList<FullRelease>();
+        final var result = snapshotService.read(restored::add);
+
+        assertEquals(42L, result.get());
+        assertEquals(TEST_RELEASES, restored);
+    }
+
+    @Test
+    void write_ReplacesPrevious() {
+        final var snapshotService =
+                new ReleaseSnapshotService(directory.resolve("read-model.snapshot"), stringDictionaryService);
+        assertTrue(snapshotService.write(1L, TEST_RELEASES));
+        assertTrue(snapshotService.write(2L, TEST_RELEASES.subList(0, 1)));
+
+        final var restored = new ArrayList<FullRelease>();
+        assertEquals(2L, snapshotService.read(restored::add).get());
+        assertEquals(TEST_RELEASES.subList(0, 1), restored);
+        assertFalse(Files.exists(directory.resolve("read-model.snapshot.tmp")));
+    }
+
+    @Test
+    void read_NotPresent() {
+        final var snapshotService =
+                new ReleaseSnapshotService(directory.resolve("read-model.snapshot"), stringDictionaryService);
+
+        assertTrue(snapshotService.read(fullRelease -> fail()).isEmpty());
+    }
+
+    @Test
+    void read_Corrupted() throws IOException {
+        final var path = directory.resolve("read-model.snapshot");
+        final var snapshotService = new ReleaseSnapshotService(path, stringDictionaryService);
+        assertTrue(snapshotService.write(42L, TEST_RELEASES));
+        final var bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(path, bytes);
+
+        assertTrue(snapshotService.read(fullRelease -> fail()).isError());
+    }
+
+    @Test
+    void read_Truncated() throws IOException {
+        final var path = directory.resolve("read-model.snapshot");
+        Files.write(path, new byte[] {1, 2, 3});
+
+        assertTrue(new ReleaseSnapshotService(path, stringDictionaryService).read(fullRelease -> fail()).isError());
+    }
+}
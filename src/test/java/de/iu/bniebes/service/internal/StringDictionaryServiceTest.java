@@ -0,0 +1,21 @@
+package de.iu.bniebes.service.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class StringDictionaryServiceTest {
+
+    private final StringDictionaryService stringDictionaryService = new StringDictionaryService();
+
+    @Test
+    void versions_DoNotEvictApplications() {
+        final var application = stringDictionaryService.application(new String("test-app"));
+        for (int i = 0; i < StringDictionaryService.VERSIONS * 2; i++) {
+            stringDictionaryService.version("1.0." + i);
+        }
+
+        assertSame(application, stringDictionaryService.application(new String("test-app")));
+        assertNotSame(application, stringDictionaryService.environment(new String("test-app")));
+    }
+}
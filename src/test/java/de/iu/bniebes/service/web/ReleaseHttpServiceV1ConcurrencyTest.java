@@ -0,0 +1,195 @@
+package de.iu.bniebes.service.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import de.iu.bniebes.configuration.CacheConfiguration;
+import de.iu.bniebes.configuration.CompressionConfiguration;
+import de.iu.bniebes.configuration.ListCacheConfiguration;
+import de.iu.bniebes.configuration.ReadModelConfiguration;
+import de.iu.bniebes.configuration.ReleaseIdCacheConfiguration;
+import de.iu.bniebes.service.external.db.DBClientService;
+import de.iu.bniebes.service.external.db.ReleaseChangeDBService;
+import de.iu.bniebes.service.external.db.ReleaseDBService;
+import de.iu.bniebes.service.external.db.ReleaseExportDBService;
+import de.iu.bniebes.service.external.db.ReleaseImportDBService;
+import de.iu.bniebes.service.external.db.ReleaseOptInfoDBService;
+import de.iu.bniebes.service.external.db.helper.DBTestHelper;
+import de.iu.bniebes.service.internal.CacheInvalidationService;
+import de.iu.bniebes.service.internal.CompressionService;
+import de.iu.bniebes.service.internal.CurrentReleaseCacheService;
+import de.iu.bniebes.service.internal.InputSanitizationService;
+import de.iu.bniebes.service.internal.ReadConsistencyService;
+import de.iu.bniebes.service.internal.ReleaseAccessService;
+import de.iu.bniebes.service.internal.ReleaseCreationService;
+import de.iu.bniebes.service.internal.ReleaseETagService;
+import de.iu.bniebes.service.internal.ReleaseEventService;
+import de.iu.bniebes.service.internal.ReleaseExportService;
+import de.iu.bniebes.service.internal.ReleaseIdCacheService;
+import de.iu.bniebes.service.internal.ReleaseImportService;
+import de.iu.bniebes.service.internal.ReleaseListCacheService;
+import de.iu.bniebes.service.internal.ReleaseMultiGetService;
+import de.iu.bniebes.service.internal.ReleaseReadModelService;
+import de.iu.bniebes.service.internal.ReleaseSnapshotService;
+import de.iu.bniebes.service.internal.StringDictionaryService;
+import de.iu.bniebes.util.ZuluEpochMicros;
+import io.helidon.webserver.WebServer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+@EnabledIfSystemProperty(named = "test.condition.pgsql", matches = "true")
+class ReleaseHttpServiceV1ConcurrencyTest {
+
+    private static final int PARALLEL_REQUESTS = 32;
+
+    private static WebServer webServer;
+
+    @BeforeAll
+    static void startWebServer() {
+        final Jdbi jdbi = DBTestHelper.createTestJdbi();
+        final var releaseDBService = new ReleaseDBService(jdbi, new StringDictionaryService());
+        final var inputSanitizationService = new InputSanitizationService();
+        final var currentReleaseCacheService = new CurrentReleaseCacheService(new CacheConfiguration(0, 0L, 0L, 0L));
+        final var releaseListCacheService = new ReleaseListCacheService(new ListCacheConfiguration(0L, 0L));
+        final var releaseIdCacheService = new ReleaseIdCacheService(new ReleaseIdCacheConfiguration(0));
+        final var releaseReadModelService = new ReleaseReadModelService(
+                new ReadModelConfiguration(false, "", 0L),
+                releaseDBService,
+                releaseDBService,
+                mock(ReleaseSnapshotService.class));
+        final var releaseETagService = new ReleaseETagService();
+        final var compressionService = new CompressionService(new CompressionConfiguration(true, 1024));
+        final var releaseEventService = mock(ReleaseEventService.class);
+        final var cacheInvalidationService = new CacheInvalidationService(
+                currentReleaseCacheService,
+                releaseListCacheService,
+                releaseReadModelService,
+                new ReleaseChangeDBService(jdbi),
+                releaseEventService);
+        final var releaseHttpServiceV1 = new ReleaseHttpServiceV1(
+                inputSanitizationService,
+                new ReleaseCreationService(
+                        releaseDBService,
+                        new ReleaseOptInfoDBService(jdbi, new StringDictionaryService()),
+                        inputSanitizationService,
+                        cacheInvalidationService,
+                        releaseIdCacheService,
+                        releaseReadModelService,
+                        releaseEventService),
+                new ReleaseAccessService(
+                        releaseDBService,
+                        releaseDBService,
+                        currentReleaseCacheService,
+                        releaseListCacheService,
+                        releaseIdCacheService,
+                        compressionService,
+                        releaseETagService),
+                releaseETagService,
+                compressionService,
+                new ReadConsistencyService(mock(DBClientService.class)),
+                new ReleaseImportService(
+                        new ReleaseImportDBService(jdbi), inputSanitizationService, cacheInvalidationService),
+                new ReleaseExportService(new ReleaseExportDBService(jdbi)),
+                new ReleaseMultiGetService(releaseDBService, inputSanitizationService));
+        webServer = WebServer.builder()
+                .port(0)
+                .routing(routing -> routing.register("/v1/release", releaseHttpServiceV1))
+                .build()
+                .start();
+    }
+
+    @AfterAll
+    static void stopWebServer() {
+        webServer.stop();
+    }
+
+    @Test
+    void createOrUpdate_ParallelIdenticalRequests() throws Exception {
+        final var zeu = ZuluEpochMicros.of(Instant.now());
+        final var uri = URI.create("http://localhost:%d/v1/release/test-concurrency/test/1.0.0/%s"
+                .formatted(webServer.port(), zeu));
+        final var body =
+                """
+                {
+                    "releaseName": "concurrency",
+                    "description": "parallel"
+                }
+                """;
+
+        final var startGate = new CountDownLatch(1);
+        final var statusCodes = new ArrayList<Future<Integer>>(PARALLEL_REQUESTS);
+        try (final var httpClient = HttpClient.newHttpClient();
+                final var vtx = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < PARALLEL_REQUESTS; i++) {
+                statusCodes.add(vtx.submit(() -> {
+                    startGate.await();
+                    final var request = HttpRequest.newBuilder(uri)
+                            .PUT(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    return httpClient
+                            .send(request, HttpResponse.BodyHandlers.discarding())
+                            .statusCode();
+                }));
+            }
+            startGate.countDown();
+
+            var created = 0;
+            for (final var statusCode : statusCodes) {
+                final var code = statusCode.get();
+                assertTrue(code == 200 || code == 201, "Unexpected status " + code);
+                if (code == 201) created++;
+            }
+            assertEquals(1, created);
+        }
+    }
+
+    @Test
+    void get_NotModified() throws Exception {
+        final var zeu = ZuluEpochMicros.of(Instant.now());
+        final var uri = URI.create("http://localhost:%d/v1/release/test-etag/test/1.0.0/%s"
+                .formatted(webServer.port(), zeu));
+        try (final var httpClient = HttpClient.newHttpClient()) {
+            final var created = httpClient.send(
+                    HttpRequest.newBuilder(uri).PUT(HttpRequest.BodyPublishers.ofString("")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            assertEquals(201, created.statusCode());
+
+            final var first =
+                    httpClient.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, first.statusCode());
+            final var etag = first.headers().firstValue("ETag").orElseThrow();
+
+            final var unchanged = httpClient.send(
+                    HttpRequest.newBuilder(uri).header("If-None-Match", etag).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(304, unchanged.statusCode());
+            assertEquals(etag, unchanged.headers().firstValue("ETag").orElseThrow());
+
+            final var updated = httpClient.send(
+                    HttpRequest.newBuilder(uri)
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"description\": \"changed\"}"))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            assertEquals(200, updated.statusCode());
+
+            final var changed = httpClient.send(
+                    HttpRequest.newBuilder(uri).header("If-None-Match", etag).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, changed.statusCode());
+            assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+            assertTrue(changed.body().contains("changed"));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package de.iu.bniebes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.helidon.http.HeaderNames;
+import io.helidon.http.ServerRequestHeaders;
+import io.helidon.webserver.http.ServerRequest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ResponseUtilTest {
+
+    @Test
+    void acceptsGzip() {
+        assertTrue(ResponseUtil.acceptsGzip(request("gzip")));
+        assertTrue(ResponseUtil.acceptsGzip(request("br, GZIP;q=0.8")));
+        assertTrue(ResponseUtil.acceptsGzip(request("deflate", "*")));
+    }
+
+    @Test
+    void acceptsGzip_NotAccepted() {
+        assertFalse(ResponseUtil.acceptsGzip(request()));
+        assertFalse(ResponseUtil.acceptsGzip(request("deflate, br")));
+        assertFalse(ResponseUtil.acceptsGzip(request("gzip;q=0")));
+        assertFalse(ResponseUtil.acceptsGzip(request("gzip;q=invalid")));
+    }
+
+    private static ServerRequest request(final String... acceptEncoding) {
+        final var request = mock(ServerRequest.class);
+        final var headers = mock(ServerRequestHeaders.class);
+        when(request.headers()).thenReturn(headers);
+        when(headers.values(HeaderNames.ACCEPT_ENCODING)).thenReturn(List.of(acceptEncoding));
+        return request;
+    }
+}
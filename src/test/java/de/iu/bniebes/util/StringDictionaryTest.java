@@ -0,0 +1,34 @@
+package de.iu.bniebes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class StringDictionaryTest {
+
+    @Test
+    void canonical() {
+        final var stringDictionary = new StringDictionary(4);
+        final var first = stringDictionary.canonical(new String("dictionary-app"));
+        final var second = stringDictionary.canonical(new String("dictionary-app"));
+
+        assertEquals("dictionary-app", first);
+        assertSame(first, second);
+        assertNull(stringDictionary.canonical(null));
+        assertEquals(1, stringDictionary.size());
+    }
+
+    @Test
+    void canonical_EvictsUnusedGeneration() {
+        final var stringDictionary = new StringDictionary(2);
+        final var evicted = stringDictionary.canonical(new String("evicted"));
+        final var kept = stringDictionary.canonical(new String("kept"));
+        stringDictionary.canonical("first");
+        assertSame(kept, stringDictionary.canonical(new String("kept")));
+        stringDictionary.canonical("second");
+
+        assertSame(kept, stringDictionary.canonical(new String("kept")));
+        assertNotSame(evicted, stringDictionary.canonical(new String("evicted")));
+        assertTrue(stringDictionary.size() <= 4);
+    }
+}
@@ -0,0 +1,46 @@
+package de.iu.bniebes.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+
+class ZuluEpochMicrosTest {
+
+    @Test
+    void test() {
+        final var instant = Instant.now();
+        final var zuluEpochMicros = ZuluEpochMicros.of(instant);
+        final var result = ZuluEpochMicros.toInstant(zuluEpochMicros);
+        assertEquals(instant.truncatedTo(ChronoUnit.MICROS), result);
+    }
+
+    @Test
+    void parse() {
+        assertEquals(0L, ZuluEpochMicros.parse("0"));
+        assertEquals(1724704455312088L, ZuluEpochMicros.parse("1724704455312088"));
+        assertEquals(Long.MAX_VALUE, ZuluEpochMicros.parse(String.valueOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void parse_Invalid() {
+        assertEquals(ZuluEpochMicros.INVALID, ZuluEpochMicros.parse(null));
+        assertEquals(ZuluEpochMicros.INVALID, ZuluEpochMicros.parse(""));
+        assertEquals(ZuluEpochMicros.INVALID, ZuluEpochMicros.parse("-1"));
+        assertEquals(ZuluEpochMicros.INVALID, ZuluEpochMicros.parse("12a"));
+        assertEquals(ZuluEpochMicros.INVALID, ZuluEpochMicros.parse("9223372036854775808"));
+        assertEquals(ZuluEpochMicros.INVALID, ZuluEpochMicros.parse("10000000000000000000"));
+    }
+
+    @Test
+    void toInstant() {
+        assertEquals(Instant.parse("2024-08-26T20:34:15.312088Z"), ZuluEpochMicros.toInstant(1724704455312088L));
+    }
+
+    @Test
+    void appendTo() {
+        final var instant = Instant.parse("2024-08-26T20:34:15.312088999Z");
+        assertEquals("1724704455312088", ZuluEpochMicros.appendTo(new StringBuilder(), instant).toString());
+    }
+}